@@ -2,7 +2,10 @@ package com.example.pages;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.By;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import com.example.base.BasePage;
+import com.example.utils.ElementProbe;
 import com.example.utils.LocatorParser;
 import com.example.utils.ConfigReader;
 
@@ -107,21 +110,34 @@ public class Login extends BasePage {
 
     /**
      * Perform complete login action
-     * Enters username, password, and clicks submit button
+     * Fills username and password in one go (BasePage.fillForm) and clicks submit button
      * This is a high-level action method combining multiple steps
      * 
      * @param username Username to login with
      * @param password Password to login with
      */
     public void login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        Map<By, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameField, username);
+        credentials.put(passwordField, password);
+        fillForm(credentials);
         clickSubmitButton();
         System.out.println("Login performed with username: " + username);
     }
 
     // ========== PAGE VERIFICATION/ASSERTION METHODS ==========
 
+    /**
+     * Wait for the outcome of a login attempt
+     * Watches the success and error messages together and returns as soon as either is
+     * visible, so a failed login is not left waiting for the success message to time out
+     * 
+     * @return successMessage or errorMessage locator, or null if neither appeared
+     */
+    private By waitForLoginOutcome() {
+        return waitUntilAny(ElementProbe.State.VISIBLE, successMessage, errorMessage);
+    }
+
     /**
      * Check if login was successful
      * Verifies if the success message element is displayed
@@ -129,7 +145,7 @@ public class Login extends BasePage {
      * @return true if login successful (success message visible), false otherwise
      */
     public boolean isLoginSuccessful() {
-        return isElementDisplayed(successMessage);
+        return successMessage.equals(waitForLoginOutcome());
     }
 
     /**
@@ -139,17 +155,17 @@ public class Login extends BasePage {
      * @return true if error message is displayed, false otherwise
      */
     public boolean isErrorMessageDisplayed() {
-        return isElementDisplayed(errorMessage);
+        return errorMessage.equals(waitForLoginOutcome());
     }
 
     /**
      * Verify if currently on login page
-     * Checks if both username and password fields are present
+     * Checks if both username and password fields are present, with one wait
      * Useful for page verification at start of test
      * 
      * @return true if on login page, false otherwise
      */
     public boolean isOnLoginPage() {
-        return isElementPresent(usernameField) && isElementPresent(passwordField);
+        return waitUntilAll(ElementProbe.State.PRESENT, usernameField, passwordField);
     }
 }
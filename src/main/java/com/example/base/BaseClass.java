@@ -5,6 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import com.example.utils.WebDriverFactory;
 import com.example.utils.TestDataManager;
+import com.example.utils.FailureDiagnostics;
+import com.example.utils.ScreencastRecorder;
+import com.example.utils.RunTracer;
 
 /**
  * BaseClass - Base Test Class
@@ -15,11 +18,12 @@ import com.example.utils.TestDataManager;
  * All test classes should extend this class
  * 
  * Features:
- * - Automatic browser initialization using WebDriverFactory
+ * - Automatic browser initialization using WebDriverFactory (pre-warmed sessions when planned)
  * - Test data management through TestDataManager
  * - Implicit and explicit wait configuration
  * - Browser navigation utilities
- * - Resource cleanup after each test
+ * - Resource cleanup after each test (browser quit runs in the background)
+ * - Setup, login and teardown recorded in the run timeline and as JFR events (RunTracer)
  */
 public class BaseClass {
     protected WebDriver driver;
@@ -33,20 +37,27 @@ public class BaseClass {
      */
     @BeforeEach
     public void setUp() {
+        long spanStart = RunTracer.start("setup");
         // Initialize BASE_URL from test data manager
         BASE_URL = TestDataManager.getBaseURL();
         
-        // Initialize browser using factory pattern
+        // Initialize browser using factory pattern (pre-warmed session when available)
+        long setupStart = System.currentTimeMillis();
         String browserType = TestDataManager.getBrowserType();
-        driver = WebDriverFactory.createDriver(browserType);
+        long acquireStart = RunTracer.start("setup");
+        driver = WebDriverFactory.acquireDriver(browserType);
+        RunTracer.complete("acquireDriver", "setup", acquireStart, browserType);
+        startRecording();
         
         // Maximize window for better visibility
         driver.manage().window().maximize();
+        WebDriverFactory.recordTimeToFirstCommand(System.currentTimeMillis() - setupStart);
         
         // Set implicit wait for all element operations
         driver.manage().timeouts().implicitlyWait(java.time.Duration.ofSeconds(TestDataManager.getImplicitWait()));
         
         System.out.println("Browser setup completed - Environment: " + TestDataManager.getEnvironment());
+        RunTracer.complete("setUp", "setup", spanStart, browserType);
     }
 
     /**
@@ -56,8 +67,10 @@ public class BaseClass {
      */
     @AfterEach
     public void tearDown() {
+        long spanStart = RunTracer.start("setup");
         // Close the browser
         quitDriver();
+        RunTracer.complete("tearDown", "setup", spanStart, null);
     }
 
     /**
@@ -84,8 +97,12 @@ public class BaseClass {
      * @param url URL to navigate to
      */
     public void launchBrowser(String browserType, String url) {
+        // Release the current browser first so switching browsers does not leak a session
+        quitDriver();
+        
         // Create new driver with specified browser type
-        driver = WebDriverFactory.createDriver(browserType);
+        driver = WebDriverFactory.acquireDriver(browserType);
+        startRecording();
         driver.manage().window().maximize();
         driver.manage().timeouts().implicitlyWait(java.time.Duration.ofSeconds(TestDataManager.getImplicitWait()));
         driver.get(url);
@@ -106,15 +123,27 @@ public class BaseClass {
      * Quit driver - Closes all windows and ends session
      * Should be called in tearDown() or when test is complete
      * Resets driver reference to null
+     * The quit itself runs on a background virtual thread (AsyncTaskExecutor)
+     * so the next test's setup can start while the old browser shuts down;
+     * in matrix mode the session goes back to its browser lane's pool instead
      */
     public void quitDriver() {
         if (driver != null) {
-            driver.quit();
+            WebDriver closingDriver = driver;
             driver = null;
-            System.out.println("Browser closed successfully");
+            WebDriverFactory.releaseDriver(closingDriver);
         }
     }
 
+    /**
+     * Start the on-failure recorders (network/console buffers, screencast) for this test's session
+     * Nothing is written unless the test fails
+     */
+    private void startRecording() {
+        FailureDiagnostics.startTest(driver);
+        ScreencastRecorder.startTest(driver);
+    }
+
     /**
      * Close current window only
      * Useful when working with multiple windows/tabs
@@ -136,6 +165,7 @@ public class BaseClass {
      * @return Login page object after successful login
      */
     public com.example.pages.Login setupAndLogin() {
+        long spanStart = RunTracer.start("setup");
         // Initialize BASE_URL if not already initialized
         if (BASE_URL == null) {
             BASE_URL = TestDataManager.getBaseURL();
@@ -143,9 +173,12 @@ public class BaseClass {
         
         // Initialize driver if not already initialized
         if (driver == null) {
+            long setupStart = System.currentTimeMillis();
             String browserType = TestDataManager.getBrowserType();
-            driver = WebDriverFactory.createDriver(browserType);
+            driver = WebDriverFactory.acquireDriver(browserType);
+            startRecording();
             driver.manage().window().maximize();
+            WebDriverFactory.recordTimeToFirstCommand(System.currentTimeMillis() - setupStart);
             driver.manage().timeouts().implicitlyWait(java.time.Duration.ofSeconds(TestDataManager.getImplicitWait()));
         }
 
@@ -169,6 +202,7 @@ public class BaseClass {
         loginPage.customWait(TestDataManager.getPageWait());
 
         System.out.println("Login completed successfully");
+        RunTracer.complete("setupAndLogin", "setup", spanStart, TestDataManager.getEnvironment());
         return loginPage;
     }
 }
\ No newline at end of file
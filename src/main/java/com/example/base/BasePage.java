@@ -7,6 +7,22 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.time.Duration;
 import com.example.utils.ConfigReader;
+import com.example.utils.TestImpactTracker;
+import com.example.utils.RunTracer;
+import com.example.utils.AdaptiveTimeouts;
+import com.example.utils.ElementCache;
+import com.example.utils.ElementProbe;
+import com.example.utils.FormFiller;
+import com.example.utils.NetworkThrottling;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * BasePage Class
@@ -21,11 +37,24 @@ import com.example.utils.ConfigReader;
  * - Consistent error handling across all pages
  * - Easy maintenance and code reusability
  * - Automatic wait handling for all element operations
+ * - Every action and wait recorded in the run timeline and as a JFR event (RunTracer)
+ * - Explicit waits use per-locator timeouts learned from past runs (AdaptiveTimeouts)
+ * - Optional element cache: handles reused per locator instead of located again (ElementCache)
+ * - Many locators checked or waited for with one browser command (ElementProbe)
+ * - Whole forms filled with one script call, or real keystrokes per environment (FormFiller)
+ * - Page load timings recorded per throttling profile in throttled tests (NetworkThrottling)
  */
 public class BasePage {
     protected WebDriver driver;
     protected WebDriverWait wait;
     private int explicitWait = ConfigReader.getExplicitWait();
+    private ElementCache elementCache;
+    private FormFiller.Mode formFillMode = FormFiller.getMode();
+
+    private static final Predicate<WebElement> CLICKABLE = element -> element.isDisplayed() && element.isEnabled();
+    private static final Predicate<WebElement> VISIBLE = WebElement::isDisplayed;
+    // Any call on a handle detects staleness
+    private static final Predicate<WebElement> PRESENT = element -> element.getTagName() != null;
 
     /**
      * Constructor for BasePage
@@ -36,6 +65,62 @@ public class BasePage {
     public BasePage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
+        this.elementCache = ElementCache.isEnabled() ? new ElementCache(driver) : null;
+        TestImpactTracker.recordClass(getClass());
+        NetworkThrottling.recordPageLoad(driver, getClass().getSimpleName());
+    }
+
+    // ========== ELEMENT CACHE ==========
+
+    /**
+     * Turn the element cache on or off for this page, overriding element.cache.enabled
+     * 
+     * @param enabled true to reuse element handles on this page
+     */
+    protected void setElementCacheEnabled(boolean enabled) {
+        elementCache = enabled ? (elementCache != null ? elementCache : new ElementCache(driver)) : null;
+    }
+
+    /**
+     * Forget cached elements, e.g. after the page re-rendered without a URL change
+     */
+    protected void invalidateElementCache() {
+        if (elementCache != null) {
+            elementCache.invalidate();
+        }
+    }
+
+    /**
+     * Run an action on an element, taking it from the cache when it is ready there
+     * and waiting for the condition otherwise; a cached handle that goes stale during
+     * the action is dropped and the element is found again once
+     */
+    private <T> T withElement(By locator, ExpectedCondition<WebElement> condition, String description,
+                              Predicate<WebElement> ready, Function<WebElement, T> action) {
+        try {
+            return action.apply(locate(locator, condition, description, ready));
+        } catch (StaleElementReferenceException e) {
+            if (elementCache == null) {
+                throw e;
+            }
+            elementCache.evictStale(locator);
+            return action.apply(locate(locator, condition, description, ready));
+        }
+    }
+
+    private WebElement locate(By locator, ExpectedCondition<WebElement> condition, String description,
+                              Predicate<WebElement> ready) {
+        if (elementCache != null) {
+            WebElement cached = elementCache.lookup(locator, ready);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        WebElement element = waitUntil(condition, description, locator);
+        if (elementCache != null) {
+            elementCache.put(locator, element);
+        }
+        return element;
     }
 
     // ========== ELEMENT CLICK OPERATIONS ==========
@@ -48,12 +133,20 @@ public class BasePage {
      * @param locator By object representing the element to click
      */
     public void clickElement(By locator) {
+        long spanStart = RunTracer.start("action");
         try {
-            WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
-            element.click();
+            withElement(locator, ExpectedConditions.elementToBeClickable(locator), "clickable", CLICKABLE, element -> {
+                element.click();
+                return null;
+            });
+            if (elementCache != null) {
+                elementCache.navigationPossible();
+            }
             System.out.println("Element clicked: " + locator);
         } catch (Exception e) {
             System.out.println("Failed to click element: " + locator + " Error: " + e.getMessage());
+        } finally {
+            RunTracer.complete("clickElement", "action", spanStart, String.valueOf(locator));
         }
     }
 
@@ -68,16 +161,55 @@ public class BasePage {
      * @param text Text to send to the element
      */
     public void sendKeys(By locator, String text) {
+        long spanStart = RunTracer.start("action");
         try {
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            element.clear();
-            element.sendKeys(text);
+            withElement(locator, ExpectedConditions.visibilityOfElementLocated(locator), "visible", VISIBLE, element -> {
+                element.clear();
+                element.sendKeys(text);
+                return null;
+            });
             System.out.println("Text sent to element: " + locator + " Text: " + text);
         } catch (Exception e) {
             System.out.println("Failed to send keys to element: " + locator + " Error: " + e.getMessage());
+        } finally {
+            RunTracer.complete("sendKeys", "action", spanStart, String.valueOf(locator));
+        }
+    }
+
+    /**
+     * Fill several fields at once
+     * In SCRIPT mode one script call sets every value and fires input/change events;
+     * fields it cannot fill yet, and every field in KEYS mode, go through sendKeys
+     * 
+     * @param values Text per field locator, filled in iteration order
+     */
+    public void fillForm(Map<By, String> values) {
+        long spanStart = RunTracer.start("action");
+        FormFiller.Mode mode = formFillMode;
+        long fillStart = System.nanoTime();
+        try {
+            Collection<By> typed = mode == FormFiller.Mode.SCRIPT ? FormFiller.fillByScript(driver, values) : values.keySet();
+            for (By locator : typed) {
+                sendKeys(locator, values.get(locator));
+            }
+            FormFiller.record(mode, values.size(), System.nanoTime() - fillStart);
+            System.out.println("Form filled (" + mode.name().toLowerCase() + "): " + values.keySet());
+        } catch (Exception e) {
+            System.out.println("Failed to fill form: " + values.keySet() + " Error: " + e.getMessage());
+        } finally {
+            RunTracer.complete("fillForm", "action", spanStart, mode + " " + values.keySet());
         }
     }
 
+    /**
+     * Choose how this page fills forms, overriding form.fill.mode
+     * 
+     * @param mode SCRIPT for one script call, KEYS for real keystrokes
+     */
+    protected void setFormFillMode(FormFiller.Mode mode) {
+        formFillMode = mode;
+    }
+
     // ========== TEXT RETRIEVAL OPERATIONS ==========
 
     /**
@@ -88,14 +220,17 @@ public class BasePage {
      * @return Text content of the element, or empty string if operation fails
      */
     public String getText(By locator) {
+        long spanStart = RunTracer.start("action");
         try {
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            String text = element.getText();
+            String text = withElement(locator, ExpectedConditions.visibilityOfElementLocated(locator), "visible", VISIBLE,
+                    WebElement::getText);
             System.out.println("Text retrieved from element: " + locator + " Text: " + text);
             return text;
         } catch (Exception e) {
             System.out.println("Failed to get text from element: " + locator + " Error: " + e.getMessage());
             return "";
+        } finally {
+            RunTracer.complete("getText", "action", spanStart, String.valueOf(locator));
         }
     }
 
@@ -109,12 +244,15 @@ public class BasePage {
      * @return true if element is displayed, false otherwise
      */
     public boolean isElementDisplayed(By locator) {
+        long spanStart = RunTracer.start("action");
         try {
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-            return element.isDisplayed();
+            return withElement(locator, ExpectedConditions.visibilityOfElementLocated(locator), "visible", VISIBLE,
+                    WebElement::isDisplayed);
         } catch (Exception e) {
             System.out.println("Element not displayed: " + locator);
             return false;
+        } finally {
+            RunTracer.complete("isElementDisplayed", "action", spanStart, String.valueOf(locator));
         }
     }
 
@@ -127,13 +265,84 @@ public class BasePage {
      */
     public boolean isElementPresent(By locator) {
         try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            locate(locator, ExpectedConditions.presenceOfElementLocated(locator), "present", PRESENT);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
 
+    // ========== MULTI-LOCATOR PROBES ==========
+
+    /**
+     * Check presence and visibility of several elements with one browser command
+     * 
+     * @param locators Locators to check
+     * @return State per locator (ABSENT, PRESENT or VISIBLE), in the given order
+     */
+    public Map<By, ElementProbe.State> probeElements(By... locators) {
+        long spanStart = RunTracer.start("action");
+        try {
+            return ElementProbe.probe(driver, Arrays.asList(locators));
+        } finally {
+            RunTracer.complete("probeElements", "action", spanStart, Arrays.toString(locators));
+        }
+    }
+
+    /**
+     * Wait until the first of several elements reaches a state, e.g. a success or an
+     * error message after submitting a form; the browser does the waiting, so this is
+     * one WebDriver command however many locators and however long the wait (plus a
+     * one-off script timeout command on a session's first wait, see ElementProbe)
+     * 
+     * @param state State to wait for (PRESENT is also satisfied by VISIBLE)
+     * @param locators Locators to watch
+     * @return First locator (in the given order) in that state, or null on timeout
+     */
+    public By waitUntilAny(ElementProbe.State state, By... locators) {
+        Map<By, ElementProbe.State> states = waitForStates(state, false, locators);
+        for (Map.Entry<By, ElementProbe.State> entry : states.entrySet()) {
+            if (entry.getValue().satisfies(state)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Wait until every one of several elements reaches a state, with one WebDriver command
+     * 
+     * @param state State to wait for (PRESENT is also satisfied by VISIBLE)
+     * @param locators Locators to watch
+     * @return true if all of them reached it before the timeout
+     */
+    public boolean waitUntilAll(ElementProbe.State state, By... locators) {
+        return ElementProbe.isSatisfied(waitForStates(state, true, locators), state, true);
+    }
+
+    // Timeout learned per locator set like single-locator waits (AdaptiveTimeouts)
+    private Map<By, ElementProbe.State> waitForStates(ElementProbe.State state, boolean all, By... locators) {
+        long spanStart = RunTracer.start("wait");
+        List<By> watched = Arrays.asList(locators);
+        String description = (all ? "all " : "any ") + state.name().toLowerCase();
+        String locatorText = watched.toString();
+        AdaptiveTimeouts timeouts = AdaptiveTimeouts.getInstance();
+        long timeoutMs = timeouts.getTimeoutMs(description, locatorText);
+        long waitStart = System.currentTimeMillis();
+        try {
+            Map<By, ElementProbe.State> states = ElementProbe.waitFor(driver, watched, state, all, timeoutMs);
+            if (ElementProbe.isSatisfied(states, state, all)) {
+                timeouts.recordSuccess(description, locatorText, System.currentTimeMillis() - waitStart);
+                return states;
+            }
+            timeouts.recordTimeout(description, locatorText, timeoutMs);
+            System.out.println("Timed out waiting for " + description + " of " + locatorText + ": " + states.values());
+            return states;
+        } finally {
+            RunTracer.complete("wait " + description, "wait", spanStart, locatorText);
+        }
+    }
+
     // ========== ELEMENT WAIT OPERATIONS ==========
 
     /**
@@ -144,7 +353,7 @@ public class BasePage {
      */
     public void waitForElementToDisappear(By locator) {
         try {
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            waitUntil(ExpectedConditions.invisibilityOfElementLocated(locator), "invisible", locator);
             System.out.println("Element disappeared: " + locator);
         } catch (Exception e) {
             System.out.println("Element did not disappear: " + locator);
@@ -179,10 +388,13 @@ public class BasePage {
      * Primarily used for page load waits between actions
      */
     public void waitForPageLoad() {
+        long spanStart = RunTracer.start("wait");
         try {
             Thread.sleep(1000);
         } catch (InterruptedException e) {
             e.printStackTrace();
+        } finally {
+            RunTracer.complete("waitForPageLoad", "wait", spanStart, null);
         }
     }
 
@@ -193,10 +405,45 @@ public class BasePage {
      * @param milliseconds Duration to wait in milliseconds
      */
     public void customWait(long milliseconds) {
+        long spanStart = RunTracer.start("wait");
         try {
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
             e.printStackTrace();
+        } finally {
+            RunTracer.complete("customWait", "wait", spanStart, milliseconds + " ms");
+        }
+    }
+
+    /**
+     * Explicit wait recorded as a "wait" span, so time spent polling the page
+     * is visible separately from the action itself in the run timeline
+     * Uses the timeout AdaptiveTimeouts learned for this locator (explicitWait when unknown)
+     * and records how long the condition took; a wait failing at a learned timeout fails
+     * early and widens that timeout for the next waits
+     *
+     * @param condition Condition to wait for
+     * @param description Short name of the condition (clickable, visible, ...)
+     * @param locator Locator the condition applies to
+     * @return Result of the condition
+     */
+    protected <T> T waitUntil(ExpectedCondition<T> condition, String description, By locator) {
+        long spanStart = RunTracer.start("wait");
+        AdaptiveTimeouts timeouts = AdaptiveTimeouts.getInstance();
+        String locatorText = String.valueOf(locator);
+        long timeoutMs = timeouts.getTimeoutMs(description, locatorText);
+        WebDriverWait locatorWait = timeoutMs == explicitWait * 1000L
+                ? wait : new WebDriverWait(driver, Duration.ofMillis(timeoutMs));
+        long waitStart = System.currentTimeMillis();
+        try {
+            T result = locatorWait.until(condition);
+            timeouts.recordSuccess(description, locatorText, System.currentTimeMillis() - waitStart);
+            return result;
+        } catch (TimeoutException e) {
+            timeouts.recordTimeout(description, locatorText, timeoutMs);
+            throw e;
+        } finally {
+            RunTracer.complete("wait " + description, "wait", spanStart, String.valueOf(locator));
         }
     }
 }
@@ -0,0 +1,250 @@
+package com.example.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptive Timeouts
+ * Learns how long each locator takes to become present/visible/clickable per environment
+ * and derives a per-locator explicit-wait timeout from it, so a real failure gives up
+ * after a few times the usual wait instead of the full worst-case explicit wait
+ *
+ * Features:
+ * - Keeps the most recent successful wait times per environment, condition and locator
+ * - Timeout = p99 x safety factor, clamped between the configured floor and {env}.explicitWait
+ * - Locators with too few samples (or never seen) use {env}.explicitWait unchanged
+ * - Persisted across runs as a properties file (one line per locator) so CI can cache it
+ * - A wait that fails at a learned timeout restarts the locator's history with one sample at
+ *   {env}.explicitWait (its real time is unknown but at least the timeout), so a locator that
+ *   got slower widens back to {env}.explicitWait until it has shown 100 quick waits again
+ * - Reports how many locators were tightened and the wait time saved on failing waits
+ *
+ * Line format:
+ *   dev|visible|By.id: user-name=120,95,180,...   (most recent wait times in ms)
+ *
+ * Configuration:
+ *   adaptive.timeouts.enabled=true
+ *   adaptive.timeouts.file=test-reports/locator-timings.properties
+ *   adaptive.timeouts.window=200        (samples kept per locator)
+ *   adaptive.timeouts.min.samples=20    (samples needed before a timeout is tightened)
+ *   adaptive.timeouts.safety.factor=3.0
+ *   adaptive.timeouts.floor.ms=2000
+ *
+ * Usage (BasePage does this for every explicit wait):
+ *   long timeoutMs = AdaptiveTimeouts.getInstance().getTimeoutMs("visible", locator.toString());
+ *   ... wait ...
+ *   AdaptiveTimeouts.getInstance().recordSuccess("visible", locator.toString(), elapsedMs);
+ *   ... or, on timeout ...
+ *   AdaptiveTimeouts.getInstance().recordTimeout("visible", locator.toString(), timeoutMs);
+ */
+public class AdaptiveTimeouts {
+
+    private static AdaptiveTimeouts instance;
+
+    private final File file;
+    private final boolean enabled = ConfigReader.getBooleanProperty("adaptive.timeouts.enabled", true);
+    private final int window = ConfigReader.getIntProperty("adaptive.timeouts.window", 200);
+    private final int minSamples = ConfigReader.getIntProperty("adaptive.timeouts.min.samples", 20);
+    private final double safetyFactor = Double.parseDouble(
+            ConfigReader.getOverridableProperty("adaptive.timeouts.safety.factor", "3.0"));
+    private final long floorMs = ConfigReader.getIntProperty("adaptive.timeouts.floor.ms", 2000);
+    private final Map<String, Deque<Long>> samples = new TreeMap<>();
+    private final Map<String, Long> tightened = new TreeMap<>();
+    private int tightenedWaits = 0;
+    private int tightenedTimeouts = 0;
+    private long savedMs = 0;
+
+    AdaptiveTimeouts(File file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Get the shared history for this run
+     * Saved at JVM shutdown
+     *
+     * @return History backed by adaptive.timeouts.file
+     */
+    public static synchronized AdaptiveTimeouts getInstance() {
+        if (instance == null) {
+            AdaptiveTimeouts created = new AdaptiveTimeouts(new File(
+                    ConfigReader.getOverridableProperty("adaptive.timeouts.file", "test-reports/locator-timings.properties")));
+            if (created.enabled) {
+                Runtime.getRuntime().addShutdownHook(new Thread(created::save));
+            }
+            instance = created;
+        }
+        return instance;
+    }
+
+    /**
+     * Timeout for waiting on a locator in the current environment
+     *
+     * @param condition Wait condition (present, visible, clickable, invisible)
+     * @param locator Locator as text
+     * @return Learned timeout in ms, or {env}.explicitWait when unknown or disabled
+     */
+    public synchronized long getTimeoutMs(String condition, String locator) {
+        long defaultMs = ConfigReader.getExplicitWait() * 1000L;
+        if (!enabled) {
+            return defaultMs;
+        }
+        String key = key(condition, locator);
+        Deque<Long> history = samples.get(key);
+        if (history == null || history.size() < minSamples) {
+            return defaultMs;
+        }
+        long timeoutMs = Math.max(floorMs, Math.min(defaultMs, (long) Math.ceil(percentile(history, 0.99) * safetyFactor)));
+        if (timeoutMs < defaultMs) {
+            tightened.put(key, timeoutMs);
+            tightenedWaits++;
+        }
+        return timeoutMs;
+    }
+
+    /**
+     * Record how long a successful wait took
+     *
+     * @param condition Wait condition
+     * @param locator Locator as text
+     * @param elapsedMs Time until the condition was met
+     */
+    public synchronized void recordSuccess(String condition, String locator, long elapsedMs) {
+        if (!enabled) {
+            return;
+        }
+        Deque<Long> history = samples.computeIfAbsent(key(condition, locator), k -> new ArrayDeque<>());
+        history.addLast(elapsedMs);
+        while (history.size() > window) {
+            history.removeFirst();
+        }
+    }
+
+    /**
+     * Record a wait that ran into its timeout
+     * With a tightened timeout the difference to {env}.explicitWait is time saved, and the
+     * locator's history restarts with the wait as a sample at {env}.explicitWait (the clamp):
+     * the real time is unknown but no shorter than the timeout. That sample is the p99 until
+     * 100 newer samples outrank it, so the next waits use {env}.explicitWait again
+     *
+     * @param condition Wait condition
+     * @param locator Locator as text
+     * @param timeoutMs Timeout the wait used
+     */
+    public synchronized void recordTimeout(String condition, String locator, long timeoutMs) {
+        long defaultMs = ConfigReader.getExplicitWait() * 1000L;
+        if (!enabled || timeoutMs >= defaultMs) {
+            return;
+        }
+        tightenedTimeouts++;
+        savedMs += defaultMs - timeoutMs;
+        Deque<Long> history = samples.computeIfAbsent(key(condition, locator), k -> new ArrayDeque<>());
+        history.clear();
+        history.addLast(defaultMs);
+        tightened.remove(key(condition, locator));
+        System.out.println("✗ Wait for " + condition + " " + locator + " failed at its learned timeout of "
+                + timeoutMs + "ms (explicitWait " + defaultMs + "ms) - widening it for the next waits");
+    }
+
+    /**
+     * Short summary for the report's system info
+     *
+     * @return Summary, or null when disabled or nothing was learned yet
+     */
+    public synchronized String getSummary() {
+        if (!enabled || (samples.isEmpty() && tightened.isEmpty())) {
+            return null;
+        }
+        return tightened.size() + " of " + samples.size() + " locator(s) tightened, " + tightenedWaits
+                + " wait(s) used a learned timeout, " + tightenedTimeouts + " failed early saving "
+                + String.format(Locale.ROOT, "%.1f", savedMs / 1000.0) + "s against explicitWait";
+    }
+
+    /**
+     * Print the tightened locators with their learned timeouts
+     */
+    public synchronized void printReport() {
+        if (tightened.isEmpty()) {
+            return;
+        }
+        System.out.println("\n=== Adaptive Timeouts (default " + ConfigReader.getExplicitWait() + "s) ===");
+        for (Map.Entry<String, Long> entry : tightened.entrySet()) {
+            Deque<Long> history = samples.get(entry.getKey());
+            System.out.println(String.format(Locale.ROOT, "  %-60s p99=%5dms  timeout=%6dms  (%d samples)",
+                    entry.getKey(), history == null ? 0 : percentile(history, 0.99), entry.getValue(),
+                    history == null ? 0 : history.size()));
+        }
+        System.out.println("✓ " + getSummary());
+    }
+
+    // Nearest-rank percentile of the recent samples
+    static long percentile(Deque<Long> history, double percentile) {
+        long[] sorted = history.stream().mapToLong(Long::longValue).sorted().toArray();
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static String key(String condition, String locator) {
+        return ConfigReader.getEnvironment() + "|" + condition + "|" + locator;
+    }
+
+    private void load() {
+        if (!enabled || !file.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (FileInputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("✗ Could not read locator timings: " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                List<Long> values = new ArrayList<>();
+                for (String part : properties.getProperty(key).split(",")) {
+                    if (!part.isBlank()) {
+                        values.add(Long.parseLong(part.trim()));
+                    }
+                }
+                Deque<Long> history = new ArrayDeque<>(values.subList(Math.max(0, values.size() - window), values.size()));
+                if (!history.isEmpty()) {
+                    samples.put(key, history);
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("✗ Ignoring malformed locator timing line for " + key);
+            }
+        }
+    }
+
+    synchronized void save() {
+        if (samples.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (Map.Entry<String, Deque<Long>> entry : samples.entrySet()) {
+            properties.setProperty(entry.getKey(),
+                    entry.getValue().stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Recent wait times (ms) per environment|condition|locator");
+        } catch (IOException e) {
+            System.err.println("✗ Could not save locator timings: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.utils;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Async Task Executor
+ * Runs blocking I/O (browser quit, screenshot writes, report generation, Slack posts)
+ * on virtual threads so the test thread can move on to the next test's setup
+ *
+ * Features:
+ * - One virtual thread per task (no pool sizing needed for I/O-bound work)
+ * - Falls back to running inline when disabled or after shutdown
+ * - Tracks time offloaded from test threads and reports it as an estimated saving
+ *   (offloaded minus waited time, not measured wall time: background tasks still compete
+ *   for CPU and browser; compare suite time with async.io.enabled=false for a real figure)
+ * - Drains pending tasks at JVM shutdown so no quit/report work is lost
+ * - Each task shows up as a span on its own thread in the run timeline (RunTracer)
+ *
+ * Configuration:
+ *   async.io.enabled=true   (set to false to run everything inline for comparison)
+ *
+ * Usage:
+ *   AsyncTaskExecutor.run("quit browser", () -> driver.quit());
+ *   CompletableFuture<WebDriver> next = AsyncTaskExecutor.supply("create driver", () -> createDriver());
+ */
+public class AsyncTaskExecutor {
+
+    private static final boolean enabled = ConfigReader.getBooleanProperty("async.io.enabled", true);
+    private static final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-io-", 0).factory());
+    private static final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger completedTasks = new AtomicInteger(0);
+    private static final AtomicLong blockingNanos = new AtomicLong(0);
+    private static final AtomicLong offloadedNanos = new AtomicLong(0);
+    private static final AtomicLong waitedNanos = new AtomicLong(0);
+    private static volatile boolean shutdown = false;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncTaskExecutor::shutdown));
+    }
+
+    private AsyncTaskExecutor() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Run a blocking task in the background
+     * Errors are logged, never thrown back to the test thread
+     *
+     * @param name Short description used in log messages
+     * @param task Work to run
+     */
+    public static void run(String name, Runnable task) {
+        supply(name, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run a blocking task in the background and expose its result
+     *
+     * @param name Short description used in log messages
+     * @param task Work to run
+     * @return Future completed with the task result, or exceptionally if it failed
+     */
+    public static <T> CompletableFuture<T> supply(String name, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!enabled || shutdown) {
+            execute(name, task, future, false);
+            return future;
+        }
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+        try {
+            executor.execute(() -> execute(name, task, future, true));
+        } catch (RuntimeException e) {
+            // Executor closed concurrently - do the work on the caller's thread
+            execute(name, task, future, false);
+        }
+        return future;
+    }
+
+    // Run the task, complete its future and account offloaded time for background runs
+    private static <T> void execute(String name, Callable<T> task, CompletableFuture<T> future, boolean background) {
+        long started = System.nanoTime();
+        try {
+            future.complete(task.call());
+        } catch (Throwable t) {
+            System.err.println("✗ Background task '" + name + "' failed: " + t.getMessage());
+            future.completeExceptionally(t);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            blockingNanos.addAndGet(elapsed);
+            if (background) {
+                offloadedNanos.addAndGet(elapsed);
+            }
+            completedTasks.incrementAndGet();
+            RunTracer.complete(name, "async", started, null);
+        }
+    }
+
+    /**
+     * Block until every task submitted so far has finished
+     *
+     * @param timeout Maximum time to wait
+     * @param unit Unit of the timeout
+     * @return true if all tasks finished, false on timeout
+     */
+    public static boolean awaitPending(long timeout, TimeUnit unit) {
+        long started = System.nanoTime();
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get(timeout, unit);
+            return true;
+        } catch (ExecutionException e) {
+            // Failures were already logged by the task wrapper
+            return true;
+        } catch (TimeoutException e) {
+            System.err.println("✗ Timed out waiting for " + pending.size() + " background task(s)");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waitedNanos.addAndGet(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Drain pending tasks and stop accepting new ones
+     * Later submissions run inline on the caller's thread
+     */
+    public static synchronized void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        awaitPending(2, TimeUnit.MINUTES);
+        shutdown = true;
+        executor.shutdown();
+        if (completedTasks.get() > 0) {
+            System.out.println("✓ " + getSavingsSummary());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get time spent in background tasks that test threads did not have to wait for
+     * An estimate of the suite time saved, not a measurement of it
+     *
+     * @return Estimated saved milliseconds (offloaded work minus time spent waiting for it)
+     */
+    public static long getSavedMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(offloadedNanos.get() - waitedNanos.get()));
+    }
+
+    /**
+     * Build a one-line summary of offloaded work for logs and reports
+     *
+     * @return Summary text
+     */
+    public static String getSavingsSummary() {
+        return "Async I/O: " + completedTasks.get() + " task(s), "
+                + TimeUnit.NANOSECONDS.toMillis(blockingNanos.get()) + " ms of blocking work, "
+                + "~" + getSavedMillis() + " ms estimated saving on test threads (offloaded minus waited)"
+                + (enabled ? "" : " (disabled - ran inline)");
+    }
+}
@@ -2,6 +2,8 @@ package com.example.utils;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -13,6 +15,10 @@ import java.util.Properties;
 public class ConfigReader {
     private static Properties properties;
     private static String environment;
+    // Browser chosen for the current thread (cross-browser matrix lanes)
+    private static final ThreadLocal<String> browserOverride = new ThreadLocal<>();
+    // Load messages held back in startup-optimized mode until the report is created
+    private static final List<String> startupNotes = new ArrayList<>();
 
     // Static block to load properties when class is initialized
     static {
@@ -25,6 +31,7 @@ public class ConfigReader {
      * Sets the default environment to 'dev' if not specified
      * Also loads config.local.properties if it exists (for sensitive data like Slack webhooks)
      * Local properties override main config properties
+     * With startup.fast=true the load messages are deferred (see printStartupNotes)
      * Handles IO exceptions with appropriate error messages
      */
     private static void loadProperties() {
@@ -42,23 +49,35 @@ public class ConfigReader {
                 FileInputStream localFis = new FileInputStream(localConfigPath);
                 properties.load(localFis); // This will override properties from main config
                 localFis.close();
-                System.out.println("✓ Loaded local configuration overrides from config.local.properties");
+                startupNotes.add("✓ Loaded local configuration overrides from config.local.properties");
             } catch (IOException localEx) {
                 // Local config is optional, so just log a note if not found
-                System.out.println("ℹ No local config file found (this is optional)");
+                startupNotes.add("ℹ No local config file found (this is optional)");
             }
             
             environment = properties.getProperty("environment", "dev");
-            System.out.println("Environment: " + environment);
+            startupNotes.add("Environment: " + environment);
+            if (!Boolean.parseBoolean(System.getProperty("startup.fast", properties.getProperty("startup.fast", "false")).trim())) {
+                printStartupNotes();
+            }
         } catch (IOException e) {
             System.out.println("Error loading config.properties file: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Print the configuration load messages that have not been printed yet
+     * Called right after loading, or on first use of the report in startup-optimized mode
+     */
+    public static synchronized void printStartupNotes() {
+        startupNotes.forEach(System.out::println);
+        startupNotes.clear();
+    }
+
     // ===== URL Methods =====
     public static String getBaseURL() {
-        String url = properties.getProperty(environment + ".url");
+        String url = read(environment + ".url", null);
         if (url == null || url.isEmpty()) {
             System.out.println("URL not found for environment: " + environment);
             return "https://practicetestautomation.com/practice-test-login/";
@@ -71,68 +90,90 @@ public class ConfigReader {
      * @return Myntra URL configured for the active environment
      */
     public static String getMyntraURL() {
-        String url = properties.getProperty(environment + ".myntra.url", "https://www.myntra.com/");
+        String url = read(environment + ".myntra.url", "https://www.myntra.com/");
         return url;
     }
 
     // ===== Browser Methods =====
     public static String getBrowser() {
-        return properties.getProperty(environment + ".browser", "chrome");
+        String override = browserOverride.get();
+        if (override != null) {
+            return override;
+        }
+        return read(environment + ".browser", "chrome");
+    }
+
+    /**
+     * Use a specific browser for everything running on the current thread
+     * Pass null to fall back to the environment's configured browser
+     * 
+     * @param browser Browser type (chrome, firefox, edge) or null
+     */
+    public static void setThreadBrowser(String browser) {
+        if (browser == null) {
+            browserOverride.remove();
+        } else {
+            browserOverride.set(browser);
+        }
+    }
+
+    public static boolean isHeadless() {
+        return Boolean.parseBoolean(getOverridableProperty(environment + ".headless", "false"));
     }
 
     // ===== Wait Time Methods =====
     public static int getImplicitWait() {
-        String wait = properties.getProperty(environment + ".implicitWait", "10");
+        String wait = read(environment + ".implicitWait", "10");
         return Integer.parseInt(wait);
     }
 
     public static int getExplicitWait() {
-        String wait = properties.getProperty(environment + ".explicitWait", "15");
+        String wait = read(environment + ".explicitWait", "15");
         return Integer.parseInt(wait);
     }
 
     public static long getPageWait() {
-        String wait = properties.getProperty(environment + ".page.wait", "2000");
+        String wait = read(environment + ".page.wait", "2000");
         return Long.parseLong(wait);
     }
 
     // ===== Valid Credentials Methods =====
     public static String getValidUsername() {
-        return properties.getProperty(environment + ".valid.username", "student");
+        return read(environment + ".valid.username", "student");
     }
 
     public static String getValidPassword() {
-        return properties.getProperty(environment + ".valid.password", "Password123");
+        return read(environment + ".valid.password", "Password123");
     }
 
     // ===== Invalid Credentials Methods =====
     public static String getInvalidUsername() {
-        return properties.getProperty(environment + ".invalid.username", "invalidUser");
+        return read(environment + ".invalid.username", "invalidUser");
     }
 
     public static String getInvalidPassword() {
-        return properties.getProperty(environment + ".invalid.password", "invalidPassword");
+        return read(environment + ".invalid.password", "invalidPassword");
     }
 
     // ===== Locator Methods =====
     public static String getUsernameLocator() {
-        return properties.getProperty(environment + ".username.locator", "id:username");
+        return read(environment + ".username.locator", "id:username");
     }
 
     public static String getPasswordLocator() {
-        return properties.getProperty(environment + ".password.locator", "id:password");
+        return read(environment + ".password.locator", "id:password");
     }
 
     public static String getSubmitLocator() {
-        return properties.getProperty(environment + ".submit.locator", "id:submit");
+        return read(environment + ".submit.locator", "id:submit");
     }
 
     public static String getSuccessLocator() {
-        return properties.getProperty(environment + ".success.locator", "className:post-title");
+        return read(environment + ".success.locator", "className:post-title");
     }
 
     public static String getErrorLocator() {
-        return properties.getProperty(environment + ".error.locator", "id:error");
+        return read(environment + ".error.locator", "id:error");
     }
 
     // ===== Environment Methods =====
@@ -147,10 +188,36 @@ public class ConfigReader {
 
     // ===== Generic Property Methods =====
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return read(key, null);
     }
 
     public static String getProperty(String key, String defaultValue) {
+        return read(key, defaultValue);
+    }
+
+    /**
+     * Get a property that can be overridden from the command line
+     * A JVM system property (-Dkey=value) wins over config.properties
+     * 
+     * @param key Property key to retrieve
+     * @param defaultValue Default value if the property is not set anywhere
+     * @return System property, config property, or default value (in that order)
+     */
+    public static String getOverridableProperty(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
+
+    public static int getIntProperty(String key, int defaultValue) {
+        return Integer.parseInt(getOverridableProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getOverridableProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
+    // Test data and locator reads are test inputs for change-impact selection
+    private static String read(String key, String defaultValue) {
+        TestImpactTracker.recordConfigKey(key);
         return properties.getProperty(key, defaultValue);
     }
 }
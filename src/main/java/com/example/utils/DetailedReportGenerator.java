@@ -5,6 +5,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -16,7 +17,7 @@ import java.util.List;
 public class DetailedReportGenerator {
 
     private static final String REPORT_PATH = "test-reports/";
-    private static List<TestCaseDetail> testCaseDetails = new ArrayList<>();
+    private static final List<TestCaseDetail> testCaseDetails = Collections.synchronizedList(new ArrayList<>());
 
     public static class TestCaseDetail {
         public String testName;
@@ -47,19 +48,48 @@ public class DetailedReportGenerator {
      * Generate detailed HTML report
      */
     public static void generateDetailedReport() {
+        // Work on a snapshot - tests may keep adding details while the report is written
+        List<TestCaseDetail> snapshot;
+        synchronized (testCaseDetails) {
+            snapshot = new ArrayList<>(testCaseDetails);
+        }
+        generateDetailedReport(snapshot);
+    }
+
+    /**
+     * Generate detailed HTML report for details collected elsewhere
+     * Used by the work queue coordinator and the shard merger, which must not
+     * touch the details of a run in progress in the same JVM
+     *
+     * @param snapshot Test case details to report
+     */
+    public static void generateDetailedReport(List<TestCaseDetail> snapshot) {
+        generateDetailedReport(snapshot, REPORT_PATH);
+    }
+
+    /**
+     * Generate detailed HTML report and results file in the given directory
+     *
+     * @param snapshot Test case details to report
+     * @param reportDir Output directory
+     */
+    public static void generateDetailedReport(List<TestCaseDetail> snapshot, String reportDir) {
         try {
-            new File(REPORT_PATH).mkdirs();
+            new File(reportDir).mkdirs();
             
             String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String reportFileName = REPORT_PATH + "DetailedReport_" + timestamp + ".html";
+            String reportFileName = new File(reportDir, "DetailedReport_" + timestamp + ".html").getPath();
             
-            String htmlContent = generateHtmlContent();
+            String htmlContent = generateHtmlContent(snapshot);
             
             FileWriter writer = new FileWriter(reportFileName);
             writer.write(htmlContent);
             writer.close();
             
             System.out.println("✓ Detailed Report generated: " + reportFileName);
+
+            // Same rows, machine-readable, for ShardReportMerger
+            writeResultsFile(snapshot, new File(reportDir, "TestResults_" + timestamp + ".tsv").getPath());
         } catch (IOException e) {
             System.err.println("✗ Error generating detailed report: " + e.getMessage());
         }
@@ -68,7 +98,7 @@ public class DetailedReportGenerator {
     /**
      * Generate HTML content for detailed report
      */
-    private static String generateHtmlContent() {
+    private static String generateHtmlContent(List<TestCaseDetail> testCaseDetails) {
         StringBuilder tableRows = new StringBuilder();
         int passCount = 0;
         int failCount = 0;
@@ -313,6 +343,20 @@ public class DetailedReportGenerator {
                 "</html>";
     }
 
+    /**
+     * Write test case details as tab-separated lines
+     * Columns: test name, status, execution time (ms), started at, ended at (HH:mm:ss)
+     */
+    private static void writeResultsFile(List<TestCaseDetail> details, String fileName) throws IOException {
+        try (FileWriter writer = new FileWriter(fileName)) {
+            writer.write("# testName\tstatus\texecutionTimeMs\tstartTime\tendTime\n");
+            for (TestCaseDetail detail : details) {
+                writer.write(detail.testName.replace('\t', ' ') + "\t" + detail.status + "\t" + detail.executionTime
+                        + "\t" + detail.startTime + "\t" + detail.endTime + "\n");
+            }
+        }
+    }
+
     /**
      * Format execution time
      */
@@ -0,0 +1,153 @@
+package com.example.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Element Cache
+ * Per-page cache of WebElement handles keyed by locator (one per BasePage), so a page
+ * that uses the same element twice - isOnLoginPage() then enterUsername() - locates it once
+ *
+ * Features:
+ * - Opt-in: element.cache.enabled=true, or BasePage.setElementCacheEnabled() per page
+ * - A cached handle is checked (isDisplayed/isEnabled) instead of located again, saving the
+ *   findElement round trip; a StaleElementReferenceException drops it and BasePage finds
+ *   the element again
+ * - Cleared when the URL changed: checked once on the first lookup after a click, while
+ *   full page loads are caught by the stale check
+ * - Hits, misses, stale re-finds and invalidations across all pages in the report
+ *
+ * Configuration:
+ *   element.cache.enabled=false
+ */
+public class ElementCache {
+
+    private static final AtomicLong hits = new AtomicLong(0);
+    private static final AtomicLong misses = new AtomicLong(0);
+    private static final AtomicLong staleRefinds = new AtomicLong(0);
+    private static final AtomicLong invalidations = new AtomicLong(0);
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private final WebDriver driver;
+    private String url;
+    private boolean urlCheckPending = false;
+
+    /**
+     * Constructor for ElementCache
+     *
+     * @param driver Driver the cached elements belong to
+     */
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Check whether page objects cache elements by default
+     *
+     * @return true if element.cache.enabled is set
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("element.cache.enabled", false);
+    }
+
+    /**
+     * Get a cached element that is ready for use
+     *
+     * @param locator Locator the element was found with
+     * @param ready Check run on the cached handle (e.g. displayed and enabled)
+     * @return Cached element, or null if none is cached, it is not ready yet or it went stale
+     */
+    public WebElement lookup(By locator, Predicate<WebElement> ready) {
+        checkUrl();
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            try {
+                if (ready.test(element)) {
+                    hits.incrementAndGet();
+                    return element;
+                }
+            } catch (StaleElementReferenceException e) {
+                staleRefinds.incrementAndGet();
+                elements.remove(locator);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Cache an element found on the current page
+     *
+     * @param locator Locator the element was found with
+     * @param element Element handle
+     */
+    public void put(By locator, WebElement element) {
+        if (url == null) {
+            url = driver.getCurrentUrl();
+        }
+        elements.put(locator, element);
+    }
+
+    /**
+     * Drop an element whose handle went stale while it was being used
+     *
+     * @param locator Locator of the stale element
+     */
+    public void evictStale(By locator) {
+        if (elements.remove(locator) != null) {
+            staleRefinds.incrementAndGet();
+        }
+    }
+
+    /**
+     * Note that the page may have navigated (after a click)
+     * The URL is compared on the next lookup instead of right away
+     */
+    public void navigationPossible() {
+        urlCheckPending = true;
+    }
+
+    /**
+     * Drop every cached element
+     */
+    public void invalidate() {
+        if (!elements.isEmpty()) {
+            invalidations.incrementAndGet();
+            elements.clear();
+        }
+        url = null;
+    }
+
+    private void checkUrl() {
+        if (!urlCheckPending || elements.isEmpty()) {
+            return;
+        }
+        urlCheckPending = false;
+        if (!driver.getCurrentUrl().equals(url)) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Hit rate summary for logs and the report
+     *
+     * @return Summary, or null if no page used the cache
+     */
+    public static String getSummary() {
+        long hit = hits.get();
+        long lookups = hit + misses.get();
+        if (lookups == 0) {
+            return null;
+        }
+        return String.format(Locale.ROOT, "%d of %d lookups cached (%.0f%%, findElement round trips saved), %d stale re-find(s), %d invalidation(s)",
+                hit, lookups, hit * 100.0 / lookups, staleRefinds.get(), invalidations.get());
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Element Probe
+ * Checks presence/visibility of many locators with one browser command, and waits until
+ * any or all of them reach a state with the browser doing the waiting (see BasePage.probeElements,
+ * waitUntilAny, waitUntilAll)
+ *
+ * Features:
+ * - One executeScript per probe, whatever the number of locators
+ * - Waits run as one executeAsyncScript: a MutationObserver (plus a short in-page poll for
+ *   style-only changes) re-checks in the browser and answers as soon as the condition holds,
+ *   so a wait costs one WebDriver command instead of one per locator per poll
+ * - The session's script timeout is raised once, on its first wait, to cover the explicit wait
+ *   (one extra command per session, never per wait); it is not restored afterwards
+ * - Falls back to polling with one probe per poll if the page navigates during the wait,
+ *   and to findElements for locators that cannot be evaluated in the page (e.g. ByChained)
+ * - Visibility follows isDisplayed() closely: rendered box, not display:none/visibility:hidden,
+ *   not opacity 0
+ *
+ * Usage:
+ *   Map<By, ElementProbe.State> states = ElementProbe.probe(driver, List.of(success, error));
+ *   Map<By, ElementProbe.State> outcome = ElementProbe.waitFor(driver, List.of(success, error), State.VISIBLE, false, 10000);
+ */
+public class ElementProbe {
+
+    /**
+     * State of a locator's first matching element
+     */
+    public enum State {
+        ABSENT, PRESENT, VISIBLE;
+
+        /**
+         * Check whether this state satisfies a wanted state (VISIBLE also counts as PRESENT)
+         *
+         * @param wanted State being waited for
+         * @return true if satisfied
+         */
+        public boolean satisfies(State wanted) {
+            return wanted == PRESENT ? this != ABSENT : this == wanted;
+        }
+    }
+
+    // find({using, value}) and visible(element), shared with FormFiller
+    static final String LOCATOR_FUNCTIONS = String.join("\n",
+            "function find(l) {",
+            "  switch (l.using) {",
+            "    case 'css selector': return document.querySelector(l.value);",
+            "    case 'xpath': return document.evaluate(l.value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;",
+            "    case 'tag name': return document.getElementsByTagName(l.value)[0] || null;",
+            "    default:",
+            "      var links = document.getElementsByTagName('a');",
+            "      for (var i = 0; i < links.length; i++) {",
+            "        var text = (links[i].innerText || '').trim();",
+            "        if (l.using === 'link text' ? text === l.value : text.indexOf(l.value) >= 0) { return links[i]; }",
+            "      }",
+            "      return null;",
+            "  }",
+            "}",
+            "function visible(e) {",
+            "  if (!(e.offsetWidth || e.offsetHeight || e.getClientRects().length)) { return false; }",
+            "  var style = window.getComputedStyle(e);",
+            "  return style.visibility !== 'hidden' && style.visibility !== 'collapse' && style.opacity !== '0';",
+            "}");
+
+    // arguments: locators [{using, value}], wanted state, "any"/"all", timeout ms
+    private static final String FUNCTIONS = String.join("\n",
+            "var locators = arguments[0], wanted = arguments[1], mode = arguments[2], timeoutMs = arguments[3];",
+            LOCATOR_FUNCTIONS,
+            "function states() {",
+            "  return locators.map(function (l) { var e = find(l); return !e ? 'ABSENT' : visible(e) ? 'VISIBLE' : 'PRESENT'; });",
+            "}",
+            "function satisfied(s) {",
+            "  var ok = s.map(function (x) { return wanted === 'PRESENT' ? x !== 'ABSENT' : x === wanted; });",
+            "  return mode === 'any' ? ok.some(Boolean) : ok.every(Boolean);",
+            "}");
+
+    private static final String PROBE_SCRIPT = FUNCTIONS + "\nreturn states();";
+
+    // Async: answers through the callback WebDriver appends to the arguments
+    private static final String WAIT_SCRIPT = FUNCTIONS + "\n" + String.join("\n",
+            "var done = arguments[arguments.length - 1];",
+            "var current = states();",
+            "if (satisfied(current)) { done(current); return; }",
+            "var finished = false, observer, poll, timer;",
+            "function finish(force) {",
+            "  if (finished) { return; }",
+            "  var s = states();",
+            "  if (!force && !satisfied(s)) { return; }",
+            "  finished = true; observer.disconnect(); clearInterval(poll); clearTimeout(timer);",
+            "  done(s);",
+            "}",
+            "observer = new MutationObserver(function () { finish(false); });",
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});",
+            "poll = setInterval(function () { finish(false); }, 100);",
+            "timer = setTimeout(function () { finish(true); }, timeoutMs);");
+
+    // Script timeout this class set per session (weak keys: quit sessions are dropped)
+    private static final Map<WebDriver, Long> scriptTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 5000;
+
+    private ElementProbe() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * State of every locator, read with one browser command
+     *
+     * @param driver Driver of the page
+     * @param locators Locators to check
+     * @return State per locator, in the given order
+     */
+    public static Map<By, State> probe(WebDriver driver, List<By> locators) {
+        return run(driver, locators, State.PRESENT, false, 0);
+    }
+
+    /**
+     * Wait until any (or all) of the locators reach a state
+     *
+     * @param driver Driver of the page
+     * @param locators Locators to watch
+     * @param wanted State to wait for (PRESENT is also satisfied by VISIBLE)
+     * @param all true to wait for every locator, false for the first one
+     * @param timeoutMs Maximum wait
+     * @return States when the condition held or the timeout expired
+     */
+    public static Map<By, State> waitFor(WebDriver driver, List<By> locators, State wanted, boolean all, long timeoutMs) {
+        return run(driver, locators, wanted, all, timeoutMs);
+    }
+
+    /**
+     * Check whether a probe result satisfies the condition
+     *
+     * @param states Probe result
+     * @param wanted Wanted state
+     * @param all true if every locator must satisfy it
+     * @return true if satisfied
+     */
+    public static boolean isSatisfied(Map<By, State> states, State wanted, boolean all) {
+        return all ? states.values().stream().allMatch(state -> state.satisfies(wanted))
+                : states.values().stream().anyMatch(state -> state.satisfies(wanted));
+    }
+
+    private static Map<By, State> run(WebDriver driver, List<By> locators, State wanted, boolean all, long timeoutMs) {
+        List<Map<String, String>> remote = toScriptLocators(locators);
+        if (remote == null || !(driver instanceof JavascriptExecutor)) {
+            return pollWithFindElements(driver, locators, wanted, all, timeoutMs);
+        }
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        if (timeoutMs > 0) {
+            ensureScriptTimeout(driver, timeoutMs + SCRIPT_TIMEOUT_MARGIN_MS);
+            try {
+                return toStates(locators, ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, remote, wanted.name(),
+                        all ? "all" : "any", timeoutMs));
+            } catch (WebDriverException e) {
+                // The page navigated away under the observer: poll the new page until the deadline
+                System.out.println("Element probe wait restarted after: " + e.getClass().getSimpleName());
+            }
+        }
+        while (true) {
+            Map<By, State> states = toStates(locators, ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT,
+                    remote, wanted.name(), all ? "all" : "any", 0));
+            if (isSatisfied(states, wanted, all) || System.currentTimeMillis() >= deadline) {
+                return states;
+            }
+            sleep();
+        }
+    }
+
+    // Raise the session's script timeout only when it is below what this wait needs; sized for
+    // the explicit wait so later waits on the same session send no timeouts command at all
+    private static void ensureScriptTimeout(WebDriver driver, long neededMs) {
+        Long current = scriptTimeouts.get(driver);
+        if (current != null && current >= neededMs) {
+            return;
+        }
+        long timeoutMs = Math.max(neededMs, ConfigReader.getExplicitWait() * 1000L + SCRIPT_TIMEOUT_MARGIN_MS);
+        driver.manage().timeouts().scriptTimeout(Duration.ofMillis(timeoutMs));
+        scriptTimeouts.put(driver, timeoutMs);
+    }
+
+    // Locators in their W3C form ({using, value}); null if one of them has none
+    static List<Map<String, String>> toScriptLocators(List<By> locators) {
+        List<Map<String, String>> remote = new ArrayList<>();
+        for (By locator : locators) {
+            if (!(locator instanceof By.Remotable)) {
+                return null;
+            }
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            Map<String, String> entry = new LinkedHashMap<>();
+            entry.put("using", parameters.using());
+            entry.put("value", String.valueOf(parameters.value()));
+            remote.add(entry);
+        }
+        return remote;
+    }
+
+    private static Map<By, State> toStates(List<By> locators, Object result) {
+        Map<By, State> states = new LinkedHashMap<>();
+        List<?> values = result instanceof List ? (List<?>) result : List.of();
+        for (int i = 0; i < locators.size(); i++) {
+            states.put(locators.get(i), i < values.size() ? State.valueOf(String.valueOf(values.get(i))) : State.ABSENT);
+        }
+        return states;
+    }
+
+    // One findElements (and isDisplayed) per locator per poll: only for locators the page cannot evaluate
+    private static Map<By, State> pollWithFindElements(WebDriver driver, List<By> locators, State wanted, boolean all, long timeoutMs) {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            Map<By, State> states = new LinkedHashMap<>();
+            for (By locator : locators) {
+                List<WebElement> found = driver.findElements(locator);
+                states.put(locator, found.isEmpty() ? State.ABSENT : found.get(0).isDisplayed() ? State.VISIBLE : State.PRESENT);
+            }
+            if (isSatisfied(states, wanted, all) || System.currentTimeMillis() >= deadline) {
+                return states;
+            }
+            sleep();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(250);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for elements", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Fail-Fast Extension for JUnit 5
+ * Tracks time to first failure and, when enabled, skips the rest of the run
+ * once too many critical (P0 or SMOKE) tests have failed
+ *
+ * Features:
+ * - Time to first failure measured from the start of the test plan, shown in the report
+ * - Critical failures counted after retries (FlakyTestRetryExtension), so a
+ *   flaky pass does not abort the run
+ * - Remaining tests are reported as skipped with the fail-fast reason
+ * - Counted per lane (the lane browser): a MatrixRunner lane that fails fast does not
+ *   skip the other browsers, and each lane's clock starts with its own test plan
+ * - Works best with RiskBasedOrderer, which runs P0 and likely-to-fail tests first
+ *
+ * Registered for every test class through extension auto-detection
+ * (META-INF/services/org.junit.jupiter.api.extension.Extension), and as a launcher
+ * listener (META-INF/services/org.junit.platform.launcher.TestExecutionListener)
+ * that starts the clock
+ *
+ * Configuration:
+ *   failfast.enabled=false
+ *   failfast.max.critical.failures=1
+ */
+public class FailFastExtension implements ExecutionCondition, TestWatcher, TestExecutionListener {
+
+    /**
+     * Counters of one lane
+     */
+    private static class Lane {
+        final AtomicLong runStart = new AtomicLong(0);
+        final AtomicLong firstFailureMs = new AtomicLong(-1);
+        final AtomicReference<String> firstFailedTest = new AtomicReference<>();
+        final AtomicInteger criticalFailures = new AtomicInteger(0);
+        final AtomicInteger skippedByFailFast = new AtomicInteger(0);
+    }
+
+    // Keyed by lane browser; sorted so the summary lists lanes in a stable order
+    private static final Map<String, Lane> lanes = new ConcurrentSkipListMap<>();
+
+    /**
+     * Start the lane's clock with its first test plan
+     * Called on the thread that executes the plan, i.e. the lane thread in matrix runs;
+     * a work queue worker runs one plan per test and keeps counting across them
+     */
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        getLane().runStart.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        Lane lane = getLane();
+        // Outside the launcher (no testPlanExecutionStarted) the first evaluation starts the clock
+        lane.runStart.compareAndSet(0, System.currentTimeMillis());
+        if (context.getTestMethod().isEmpty() || !isAborted(lane)) {
+            return ConditionEvaluationResult.enabled("fail-fast not triggered");
+        }
+        lane.skippedByFailFast.incrementAndGet();
+        return ConditionEvaluationResult.disabled("Fail-fast: " + lane.criticalFailures.get()
+                + " critical (P0/SMOKE) test(s) failed, first: " + lane.firstFailedTest.get());
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        Lane lane = getLane();
+        String testName = context.getRequiredTestClass().getSimpleName() + " - " + context.getDisplayName();
+        if (lane.firstFailureMs.compareAndSet(-1, System.currentTimeMillis() - lane.runStart.get())) {
+            lane.firstFailedTest.set(testName);
+            System.out.println("✗ First failure after " + lane.firstFailureMs.get() / 1000.0 + "s: " + testName);
+        }
+        Set<String> tags = context.getTags();
+        if (tags.contains(Tags.P0) || tags.contains(Tags.SMOKE)) {
+            int failures = lane.criticalFailures.incrementAndGet();
+            if (isEnabled() && failures == getMaxCriticalFailures()) {
+                System.out.println("✗ Fail-fast: " + failures + " critical test(s) failed - skipping the remaining tests"
+                        + (lanes.size() > 1 ? " on " + getLaneKey() : ""));
+            }
+        }
+    }
+
+    /**
+     * Check whether the remaining tests of the current lane are being skipped
+     *
+     * @return true if fail-fast is enabled and the lane reached the critical failure limit
+     */
+    public static boolean isAborted() {
+        return isAborted(getLane());
+    }
+
+    /**
+     * Start counting afresh for a new run in the same JVM (TestRunnerDaemon)
+     */
+    public static void reset() {
+        lanes.clear();
+    }
+
+    /**
+     * Time from the start of the run to the first failed test of the current lane
+     *
+     * @return Milliseconds, or -1 if nothing failed
+     */
+    public static long getTimeToFirstFailureMs() {
+        return getLane().firstFailureMs.get();
+    }
+
+    /**
+     * Short summary for the report's system info, one entry per lane in matrix runs
+     *
+     * @return Time to first failure and fail-fast outcome
+     */
+    public static String getSummary() {
+        if (lanes.size() <= 1) {
+            return getSummary(lanes.isEmpty() ? new Lane() : lanes.values().iterator().next());
+        }
+        return lanes.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + getSummary(entry.getValue()))
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String getSummary(Lane lane) {
+        long ttff = lane.firstFailureMs.get();
+        String summary = ttff < 0 ? "No failures" : String.format(Locale.ROOT, "%.1fs (%s)", ttff / 1000.0, lane.firstFailedTest.get());
+        if (isAborted(lane)) {
+            summary += ", fail-fast skipped " + lane.skippedByFailFast.get() + " test(s)";
+        }
+        return summary;
+    }
+
+    // Matrix lanes run on their own thread with their browser set by MatrixRunner
+    private static String getLaneKey() {
+        return ConfigReader.getBrowser();
+    }
+
+    private static Lane getLane() {
+        return lanes.computeIfAbsent(getLaneKey(), key -> new Lane());
+    }
+
+    private static boolean isAborted(Lane lane) {
+        return isEnabled() && lane.criticalFailures.get() >= getMaxCriticalFailures();
+    }
+
+    private static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("failfast.enabled", false);
+    }
+
+    private static int getMaxCriticalFailures() {
+        return Math.max(1, ConfigReader.getIntProperty("failfast.max.critical.failures", 1));
+    }
+}
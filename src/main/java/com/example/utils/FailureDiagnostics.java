@@ -0,0 +1,381 @@
+package com.example.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Failure Diagnostics
+ * Always-on, bounded collection of network and console events per browser session,
+ * written to disk only when a test fails
+ *
+ * Features:
+ * - Chrome/Edge: CDP Network, Runtime and Log events on the session's DevTools connection
+ * - Firefox: BiDi network and log events (the session is created with webSocketUrl)
+ * - Fixed-size ring buffers per session: the oldest requests/messages are dropped first,
+ *   and long URLs and messages are truncated, so memory stays bounded
+ * - On failure: network.har, console.log and dom.html (serialized DOM) written on a
+ *   background thread into test-reports/diagnostics/{test}_{timestamp}/
+ * - Passing tests cause no disk I/O; Grid sessions are not recorded
+ *
+ * Configuration:
+ *   diagnostics.enabled=true
+ *   diagnostics.network.entries=200
+ *   diagnostics.console.entries=200
+ *
+ * Usage:
+ *   FailureDiagnostics.startTest(driver);                       // BaseClass.setUp
+ *   String dir = FailureDiagnostics.captureOnFailure(driver, name); // ExtentReportListener on failure
+ */
+public class FailureDiagnostics {
+
+    private static final String DIAGNOSTICS_DIR = "test-reports/diagnostics/";
+    private static final int MAX_TEXT_LENGTH = 2000;
+    private static final Json JSON = new Json();
+    private static final Map<WebDriver, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * One request as it will appear in the HAR file
+     */
+    private static class NetworkEntry {
+        final String method;
+        final String url;
+        final long startedMs;
+        double startMonotonic;
+        long status;
+        String statusText = "";
+        String mimeType = "";
+        String protocol = "";
+        String error;
+        long durationMs = -1;
+        long size = -1;
+
+        NetworkEntry(String method, String url, long startedMs) {
+            this.method = method;
+            this.url = url;
+            this.startedMs = startedMs;
+        }
+    }
+
+    /**
+     * Ring buffers of one browser session
+     */
+    private static class Recorder {
+        private final int maxConsole;
+        private final ArrayDeque<String> console = new ArrayDeque<>();
+        private final LinkedHashMap<String, NetworkEntry> requests;
+        private final List<AutoCloseable> bidiModules = new ArrayList<>();
+
+        Recorder(int maxRequests, int maxConsole) {
+            this.maxConsole = maxConsole;
+            this.requests = new LinkedHashMap<String, NetworkEntry>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, NetworkEntry> eldest) {
+                    return size() > maxRequests;
+                }
+            };
+        }
+
+        synchronized void clear() {
+            console.clear();
+            requests.clear();
+        }
+
+        synchronized void addRequest(String id, NetworkEntry entry) {
+            requests.put(id, entry);
+        }
+
+        synchronized void updateRequest(String id, java.util.function.Consumer<NetworkEntry> update) {
+            NetworkEntry entry = requests.get(id);
+            if (entry != null) {
+                update.accept(entry);
+            }
+        }
+
+        synchronized void addConsole(String line) {
+            if (console.size() >= maxConsole) {
+                console.pollFirst();
+            }
+            console.addLast(truncate(line));
+        }
+
+        synchronized List<String> consoleSnapshot() {
+            return new ArrayList<>(console);
+        }
+
+        synchronized List<NetworkEntry> requestSnapshot() {
+            return new ArrayList<>(requests.values());
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("diagnostics.enabled", true);
+    }
+
+    /**
+     * Start collecting for a new test on this session
+     * Attaches listeners the first time a session is seen and empties its buffers
+     *
+     * @param driver Session the test will use
+     */
+    public static void startTest(WebDriver driver) {
+        if (driver == null || !isEnabled() || GridSessionFactory.isRemote()) {
+            return;
+        }
+        Recorder recorder = recorders.computeIfAbsent(driver, FailureDiagnostics::attach);
+        recorder.clear();
+    }
+
+    /**
+     * Stop collecting for a session that is being quit
+     *
+     * @param driver Session to forget
+     */
+    public static void detach(WebDriver driver) {
+        Recorder recorder = driver != null ? recorders.remove(driver) : null;
+        if (recorder != null) {
+            for (AutoCloseable module : recorder.bidiModules) {
+                try {
+                    module.close();
+                } catch (Exception e) {
+                    // Session is going away anyway
+                }
+            }
+        }
+    }
+
+    /**
+     * Materialize the buffers and a DOM snapshot for a failed test
+     * The DOM is read on the calling thread (browser still open); files are written in the background
+     *
+     * @param driver Session of the failed test
+     * @param testName Name used for the output folder
+     * @return Folder relative to the project root, or null if nothing was collected
+     */
+    public static String captureOnFailure(WebDriver driver, String testName) {
+        Recorder recorder = driver != null ? recorders.get(driver) : null;
+        if (recorder == null) {
+            return null;
+        }
+        List<String> console = recorder.consoleSnapshot();
+        List<NetworkEntry> requests = recorder.requestSnapshot();
+        String dom;
+        String pageUrl;
+        try {
+            pageUrl = driver.getCurrentUrl();
+            dom = driver.getPageSource();
+        } catch (Exception e) {
+            pageUrl = "unavailable";
+            dom = "<!-- DOM snapshot failed: " + e.getMessage() + " -->";
+        }
+
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss_SSS").format(new Date());
+        String folder = DIAGNOSTICS_DIR + testName.replaceAll("[^a-zA-Z0-9-_\\.]", "_") + "_" + timestamp + "/";
+        Path dir = Paths.get(System.getProperty("user.dir")).resolve(folder);
+        String domSnapshot = "<!-- " + pageUrl + " -->\n" + dom;
+        AsyncTaskExecutor.run("write diagnostics", () -> {
+            try {
+                Files.createDirectories(dir);
+                Files.write(dir.resolve("network.har"), toHar(requests).getBytes(StandardCharsets.UTF_8));
+                Files.write(dir.resolve("console.log"), console, StandardCharsets.UTF_8);
+                Files.write(dir.resolve("dom.html"), domSnapshot.getBytes(StandardCharsets.UTF_8));
+                System.out.println("✓ Failure diagnostics saved: " + dir);
+            } catch (IOException e) {
+                System.err.println("✗ Error saving failure diagnostics: " + e.getMessage());
+            }
+        });
+        return folder;
+    }
+
+    // ========== LISTENERS ==========
+
+    private static Recorder attach(WebDriver driver) {
+        Recorder recorder = new Recorder(ConfigReader.getIntProperty("diagnostics.network.entries", 200),
+                ConfigReader.getIntProperty("diagnostics.console.entries", 200));
+        try {
+            if (driver instanceof HasDevTools) {
+                attachCdp(((HasDevTools) driver).getDevTools(), recorder);
+            } else if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+                attachBiDi(driver, recorder);
+            }
+        } catch (Exception e) {
+            System.out.println("Failure diagnostics unavailable for this session: " + e.getMessage());
+        }
+        return recorder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void attachCdp(DevTools devTools, Recorder recorder) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(event("Network.requestWillBeSent"), e -> {
+            Map<String, Object> request = (Map<String, Object>) e.get("request");
+            NetworkEntry entry = new NetworkEntry(String.valueOf(request.get("method")),
+                    truncate(String.valueOf(request.get("url"))), (long) (number(e, "wallTime") * 1000));
+            entry.startMonotonic = number(e, "timestamp");
+            recorder.addRequest(String.valueOf(e.get("requestId")), entry);
+        });
+        devTools.addListener(event("Network.responseReceived"), e -> {
+            Map<String, Object> response = (Map<String, Object>) e.get("response");
+            recorder.updateRequest(String.valueOf(e.get("requestId")), entry -> {
+                entry.status = (long) number(response, "status");
+                entry.statusText = String.valueOf(response.getOrDefault("statusText", ""));
+                entry.mimeType = String.valueOf(response.getOrDefault("mimeType", ""));
+                entry.protocol = String.valueOf(response.getOrDefault("protocol", ""));
+            });
+        });
+        devTools.addListener(event("Network.loadingFinished"), e ->
+                recorder.updateRequest(String.valueOf(e.get("requestId")), entry -> {
+                    entry.durationMs = (long) ((number(e, "timestamp") - entry.startMonotonic) * 1000);
+                    entry.size = (long) number(e, "encodedDataLength");
+                }));
+        devTools.addListener(event("Network.loadingFailed"), e ->
+                recorder.updateRequest(String.valueOf(e.get("requestId")), entry -> {
+                    entry.durationMs = (long) ((number(e, "timestamp") - entry.startMonotonic) * 1000);
+                    entry.error = String.valueOf(e.get("errorText"));
+                }));
+        devTools.addListener(event("Runtime.consoleAPICalled"), e -> {
+            StringBuilder text = new StringBuilder();
+            for (Map<String, Object> arg : (List<Map<String, Object>>) e.getOrDefault("args", Collections.emptyList())) {
+                Object value = arg.containsKey("value") ? arg.get("value") : arg.get("description");
+                text.append(value).append(' ');
+            }
+            recorder.addConsole(formatTime((long) number(e, "timestamp")) + " console." + e.get("type") + ": " + text.toString().trim());
+        });
+        devTools.addListener(event("Runtime.exceptionThrown"), e -> {
+            Map<String, Object> details = (Map<String, Object>) e.get("exceptionDetails");
+            Map<String, Object> exception = (Map<String, Object>) details.get("exception");
+            recorder.addConsole(formatTime((long) number(e, "timestamp")) + " exception: "
+                    + (exception != null ? exception.get("description") : details.get("text")));
+        });
+        devTools.addListener(event("Log.entryAdded"), e -> {
+            Map<String, Object> entry = (Map<String, Object>) e.get("entry");
+            recorder.addConsole(formatTime((long) number(entry, "timestamp")) + " " + entry.get("level") + " ["
+                    + entry.get("source") + "]: " + entry.get("text") + (entry.get("url") != null ? " (" + entry.get("url") + ")" : ""));
+        });
+        devTools.send(command("Network.enable", Collections.singletonMap("maxPostDataSize", 0)));
+        devTools.send(command("Runtime.enable", Collections.emptyMap()));
+        devTools.send(command("Log.enable", Collections.emptyMap()));
+    }
+
+    private static void attachBiDi(WebDriver driver, Recorder recorder) {
+        LogInspector logInspector = new LogInspector(driver);
+        logInspector.onConsoleEntry(entry -> recorder.addConsole(formatTime(entry.getTimestamp()) + " console."
+                + entry.getMethod() + ": " + entry.getText()));
+        logInspector.onJavaScriptException(entry -> recorder.addConsole(formatTime(entry.getTimestamp())
+                + " exception: " + entry.getText()));
+        Network network = new Network(driver);
+        network.onBeforeRequestSent(event -> recorder.addRequest(event.getRequest().getRequestId(),
+                new NetworkEntry(event.getRequest().getMethod(), truncate(event.getRequest().getUrl()), event.getTimestamp())));
+        network.onResponseCompleted(event -> recorder.updateRequest(event.getRequest().getRequestId(), entry -> {
+            entry.status = event.getResponseData().getStatus();
+            entry.statusText = event.getResponseData().getStatusText();
+            entry.mimeType = event.getResponseData().getMimeType();
+            entry.protocol = event.getResponseData().getProtocol();
+            entry.size = event.getResponseData().getBodySize();
+            entry.durationMs = event.getTimestamp() - entry.startedMs;
+        }));
+        network.onFetchError(event -> recorder.updateRequest(event.getRequest().getRequestId(), entry -> {
+            entry.error = event.getErrorText();
+            entry.durationMs = event.getTimestamp() - entry.startedMs;
+        }));
+        recorder.bidiModules.add(logInspector);
+        recorder.bidiModules.add(network);
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static Command<Map<String, Object>> command(String method, Map<String, Object> params) {
+        return new Command<>(method, params, Json.MAP_TYPE);
+    }
+
+    // ========== OUTPUT ==========
+
+    // Minimal HAR 1.2 document: only fields the ring buffer keeps
+    private static String toHar(List<NetworkEntry> requests) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+        for (NetworkEntry request : requests) {
+            Map<String, Object> req = new LinkedHashMap<>();
+            req.put("method", request.method);
+            req.put("url", request.url);
+            req.put("httpVersion", request.protocol);
+            req.put("cookies", Collections.emptyList());
+            req.put("headers", Collections.emptyList());
+            req.put("queryString", Collections.emptyList());
+            req.put("headersSize", -1);
+            req.put("bodySize", -1);
+
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("size", request.size);
+            content.put("mimeType", request.mimeType);
+            Map<String, Object> res = new LinkedHashMap<>();
+            res.put("status", request.status);
+            res.put("statusText", request.error != null ? request.error : request.statusText);
+            res.put("httpVersion", request.protocol);
+            res.put("cookies", Collections.emptyList());
+            res.put("headers", Collections.emptyList());
+            res.put("content", content);
+            res.put("redirectURL", "");
+            res.put("headersSize", -1);
+            res.put("bodySize", request.size);
+
+            Map<String, Object> timings = new LinkedHashMap<>();
+            timings.put("send", 0);
+            timings.put("wait", Math.max(request.durationMs, 0));
+            timings.put("receive", 0);
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("startedDateTime", iso.format(new Date(request.startedMs)));
+            entry.put("time", Math.max(request.durationMs, 0));
+            entry.put("request", req);
+            entry.put("response", res);
+            entry.put("cache", Collections.emptyMap());
+            entry.put("timings", timings);
+            entries.add(entry);
+        }
+        Map<String, Object> creator = new LinkedHashMap<>();
+        creator.put("name", "selenium-automation FailureDiagnostics");
+        creator.put("version", "1.0");
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", creator);
+        log.put("entries", entries);
+        return JSON.toJson(Collections.singletonMap("log", log));
+    }
+
+    private static double number(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static String formatTime(long epochMs) {
+        return new SimpleDateFormat("HH:mm:ss.SSS").format(new Date(epochMs));
+    }
+
+    private static String truncate(String text) {
+        return text != null && text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) + "..." : text;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Flaky Test History
+ * Persists per-test outcomes across runs and derives a flakiness score
+ * Stored as a properties file (one line per test) so it can be cached in CI
+ *
+ * Line format:
+ *   com.example.tests.LoginTest#testLoginPageTitle=runs,flaky,broken,score,avgMs
+ *
+ * The score is an exponential moving average of "was flaky" per run,
+ * so recent behaviour counts more than old behaviour; avgMs is the same
+ * kind of average of the test's duration (used by RiskBasedOrderer)
+ *
+ * Configuration:
+ *   flaky.history.file=test-reports/flaky-history.properties
+ *   flaky.quarantine.threshold=0.3
+ *   flaky.quarantine.min.runs=3
+ */
+public class FlakyTestHistory {
+
+    /**
+     * Outcome of one test execution including retries
+     */
+    public enum Outcome {
+        PASSED,  // passed on the first attempt
+        FLAKY,   // failed, then passed on a retry
+        BROKEN   // failed on every attempt
+    }
+
+    private static final double SCORE_WEIGHT = 0.3;
+    private static FlakyTestHistory instance;
+
+    private final File file;
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    /**
+     * History of one test
+     */
+    public static class Entry {
+        public int runs;
+        public int flaky;
+        public int broken;
+        public double score;
+        public long avgMs;
+
+        /**
+         * Share of past runs that did not pass on the first attempt
+         * Smoothed so a test without history counts as 50% likely to fail
+         *
+         * @return Failure probability between 0 and 1
+         */
+        public double getFailureRate() {
+            return (flaky + broken + 1.0) / (runs + 2.0);
+        }
+
+        @Override
+        public String toString() {
+            return runs + "," + flaky + "," + broken + "," + String.format(java.util.Locale.ROOT, "%.4f", score) + "," + avgMs;
+        }
+    }
+
+    FlakyTestHistory(File file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Get the shared history for this run
+     *
+     * @return History backed by flaky.history.file
+     */
+    public static synchronized FlakyTestHistory getInstance() {
+        if (instance == null) {
+            instance = new FlakyTestHistory(new File(
+                    ConfigReader.getOverridableProperty("flaky.history.file", "test-reports/flaky-history.properties")));
+        }
+        return instance;
+    }
+
+    /**
+     * Record the outcome of a test and save the history file
+     *
+     * @param testId Test identifier (fully qualified class name + "#" + method name)
+     * @param outcome Outcome after retries
+     * @return Updated history entry
+     */
+    public synchronized Entry record(String testId, Outcome outcome) {
+        Entry entry = entries.computeIfAbsent(testId, k -> new Entry());
+        entry.runs++;
+        if (outcome == Outcome.FLAKY) entry.flaky++;
+        if (outcome == Outcome.BROKEN) entry.broken++;
+        entry.score = entry.score * (1 - SCORE_WEIGHT) + (outcome == Outcome.FLAKY ? SCORE_WEIGHT : 0);
+        save();
+        return entry;
+    }
+
+    /**
+     * Record how long a test took and save the history file
+     *
+     * @param testId Test identifier
+     * @param durationMs Execution time of the test
+     */
+    public synchronized void recordDuration(String testId, long durationMs) {
+        Entry entry = entries.computeIfAbsent(testId, k -> new Entry());
+        entry.avgMs = entry.avgMs == 0 ? durationMs : Math.round(entry.avgMs * (1 - SCORE_WEIGHT) + durationMs * SCORE_WEIGHT);
+        save();
+    }
+
+    /**
+     * Get the recorded history of a test
+     *
+     * @param testId Test identifier
+     * @return History entry, or null if the test never ran
+     */
+    public synchronized Entry get(String testId) {
+        return entries.get(testId);
+    }
+
+    /**
+     * Check whether a test has a flaky track record
+     * A test that has ever needed a retry to pass counts as flaky
+     *
+     * @param testId Test identifier
+     * @return true if the test has passed on retry before
+     */
+    public synchronized boolean hasFlakyHistory(String testId) {
+        Entry entry = entries.get(testId);
+        return entry != null && entry.flaky > 0;
+    }
+
+    /**
+     * Check whether a test should be quarantined (treated as tagged wip)
+     *
+     * @param testId Test identifier
+     * @return true if the flakiness score reached the threshold with enough runs
+     */
+    public synchronized boolean isQuarantined(String testId) {
+        Entry entry = entries.get(testId);
+        if (entry == null) {
+            return false;
+        }
+        double threshold = Double.parseDouble(ConfigReader.getOverridableProperty("flaky.quarantine.threshold", "0.3"));
+        int minRuns = ConfigReader.getIntProperty("flaky.quarantine.min.runs", 3);
+        return entry.runs >= minRuns && entry.score >= threshold;
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (FileInputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("✗ Could not read flaky test history: " + e.getMessage());
+            return;
+        }
+        for (String testId : properties.stringPropertyNames()) {
+            String[] parts = properties.getProperty(testId).split(",");
+            // Lines written before durations were tracked have no avgMs
+            if (parts.length != 4 && parts.length != 5) {
+                continue;
+            }
+            try {
+                Entry entry = new Entry();
+                entry.runs = Integer.parseInt(parts[0].trim());
+                entry.flaky = Integer.parseInt(parts[1].trim());
+                entry.broken = Integer.parseInt(parts[2].trim());
+                entry.score = Double.parseDouble(parts[3].trim());
+                entry.avgMs = parts.length == 5 ? Long.parseLong(parts[4].trim()) : 0;
+                entries.put(testId, entry);
+            } catch (NumberFormatException e) {
+                System.err.println("✗ Ignoring malformed flaky history line for " + testId);
+            }
+        }
+    }
+
+    private void save() {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Flaky test history: runs,flaky,broken,score,avgMs");
+        } catch (IOException e) {
+            System.err.println("✗ Could not save flaky test history: " + e.getMessage());
+        }
+    }
+}
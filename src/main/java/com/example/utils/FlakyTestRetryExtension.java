@@ -0,0 +1,188 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.TestExecutionResult;
+import org.opentest4j.TestAbortedException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Flaky Test Retry Extension for JUnit 5
+ * Retries a failed @RetryingTest method in place instead of rerunning the suite
+ *
+ * Features:
+ * - Up to flaky.retry.count retries per failed test
+ * - Each attempt is a separate JUnit invocation: a new test instance with its own
+ *   @BeforeEach/@AfterEach and extension callbacks, so BaseClass quits the failed
+ *   attempt's driver and the retry starts on a fresh browser session
+ * - A retry is only scheduled after a failure; a failed attempt that is retried is
+ *   reported as aborted (RetriedAttemptException), only the last attempt counts
+ * - Classifies the result as PASSED, FLAKY (passed on retry) or BROKEN (failed every attempt)
+ * - Records outcomes and flakiness scores in FlakyTestHistory
+ * - Retried attempts are logged into the same Extent test, so totalTests is not inflated
+ * - Tests whose score reaches the threshold are quarantined by QuarantineFilter
+ *
+ * Usage:
+ * Annotate test methods with @RetryingTest instead of @Test
+ */
+public class FlakyTestRetryExtension implements TestTemplateInvocationContextProvider,
+        TestExecutionExceptionHandler, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(FlakyTestRetryExtension.class);
+    private static final String ATTEMPTS = "attempts";
+
+    /**
+     * Failure of an attempt that is retried
+     * Aborts the attempt so reports and listeners only count the attempt that decides the result
+     */
+    public static class RetriedAttemptException extends TestAbortedException {
+        RetriedAttemptException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    // Attempt state of one @RetryingTest method, shared by its invocations
+    private static class Attempts {
+        final int max;
+        int current;
+        boolean retryScheduled;
+
+        Attempts(int max) {
+            this.max = max;
+        }
+    }
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return context.getTestMethod().map(method -> AnnotationSupport.isAnnotated(method, RetryingTest.class)).orElse(false);
+    }
+
+    /**
+     * Provide the first attempt, and another one each time the previous attempt failed
+     * The stream is lazy: JUnit runs each invocation before asking for the next one
+     */
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        int budget = Math.max(0, ConfigReader.getIntProperty("flaky.retry.count", 2));
+        Attempts attempts = new Attempts(budget + 1);
+        context.getStore(NAMESPACE).put(ATTEMPTS, attempts);
+        String displayName = context.getDisplayName();
+
+        Iterator<TestTemplateInvocationContext> iterator = new Iterator<TestTemplateInvocationContext>() {
+            @Override
+            public boolean hasNext() {
+                return attempts.current == 0 || (attempts.retryScheduled && attempts.current < attempts.max);
+            }
+
+            @Override
+            public TestTemplateInvocationContext next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                attempts.current++;
+                attempts.retryScheduled = false;
+                return new TestTemplateInvocationContext() {
+                    @Override
+                    public String getDisplayName(int invocationIndex) {
+                        return displayName;
+                    }
+                };
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Turn a failure into a retry while attempts are left
+     * The last attempt's failure is rethrown unchanged
+     */
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        Attempts attempts = context.getStore(NAMESPACE).get(ATTEMPTS, Attempts.class);
+        if (attempts == null || throwable instanceof TestAbortedException || attempts.current >= attempts.max) {
+            throw throwable;
+        }
+        attempts.retryScheduled = true;
+        ExtentReportListener.logWarning("Attempt " + attempts.current + " failed: " + throwable.getMessage()
+                + " - retrying on a fresh session");
+        System.out.println("↻ Retrying " + getTestId(context) + " (attempt " + (attempts.current + 1)
+                + " of " + attempts.max + ")");
+        throw new RetriedAttemptException("Attempt " + attempts.current + " of " + attempts.max
+                + " failed, retrying: " + throwable.getMessage(), throwable);
+    }
+
+    /**
+     * Classify the attempt that decides the result
+     * First-attempt passes are recorded too, so scores decay for tests that became stable
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Attempts attempts = context.getStore(NAMESPACE).get(ATTEMPTS, Attempts.class);
+        if (attempts == null) {
+            return;
+        }
+        String testId = getTestId(context);
+        FlakyTestHistory history = FlakyTestHistory.getInstance();
+        Throwable failure = context.getExecutionException().orElse(null);
+
+        if (failure == null) {
+            if (attempts.current == 1) {
+                history.record(testId, FlakyTestHistory.Outcome.PASSED);
+                return;
+            }
+            FlakyTestHistory.Entry entry = history.record(testId, FlakyTestHistory.Outcome.FLAKY);
+            ExtentReportListener.markFlaky("FLAKY - passed on attempt " + attempts.current + " of " + attempts.max
+                    + " (flakiness score " + String.format("%.2f", entry.score) + ")");
+            System.out.println("⚠ Test FLAKY: " + testId + " passed on attempt " + attempts.current);
+        } else if (!(failure instanceof TestAbortedException) && attempts.max > 1) {
+            // Every attempt failed - a test with a flaky track record stays flaky, otherwise it is broken
+            boolean flakyBefore = history.hasFlakyHistory(testId);
+            history.record(testId, FlakyTestHistory.Outcome.BROKEN);
+            ExtentReportListener.logWarning((flakyBefore ? "FLAKY (known flaky, failed all " : "BROKEN (failed all ")
+                    + attempts.max + " attempts)");
+        }
+    }
+
+    /**
+     * Get the attempt number of a @RetryingTest invocation
+     *
+     * @param context Extension context of a test method
+     * @return 1 for the first attempt, 2 for the first retry, 0 if the test is not retried
+     */
+    public static int getAttempt(ExtensionContext context) {
+        Attempts attempts = context.getStore(NAMESPACE).get(ATTEMPTS, Attempts.class);
+        return attempts == null ? 0 : attempts.current;
+    }
+
+    /**
+     * Check whether a finished test is a failed attempt that was retried
+     * Listeners skip these so a test that passed on retry is not also counted as skipped
+     *
+     * @param result Execution result of a test
+     * @return true if the attempt was aborted to be retried
+     */
+    public static boolean isRetriedAttempt(TestExecutionResult result) {
+        return result.getStatus() == TestExecutionResult.Status.ABORTED
+                && result.getThrowable().filter(RetriedAttemptException.class::isInstance).isPresent();
+    }
+
+    /**
+     * Build the identifier used in FlakyTestHistory and QuarantineFilter
+     *
+     * @param context Extension context of a test method
+     * @return Fully qualified class name + "#" + method name
+     */
+    static String getTestId(ExtensionContext context) {
+        return context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName();
+    }
+}
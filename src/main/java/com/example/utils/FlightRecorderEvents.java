@@ -0,0 +1,235 @@
+package com.example.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Flight Recorder Events
+ * Custom JDK Flight Recorder event types for the test lifecycle and framework actions,
+ * so GC pauses, allocation and thread activity can be lined up with slow tests in JMC
+ *
+ * Event types (category "Test Automation"):
+ * - com.example.Setup      BaseClass setup, login and teardown
+ * - com.example.Session    WebDriverFactory browser session creation
+ * - com.example.PageAction BasePage actions
+ * - com.example.Wait       BasePage explicit and fixed waits
+ * - com.example.Report     ExtentReportListener screenshots, report flush and publishing
+ *
+ * Each event carries the test name, the locator (or other detail) and its duration.
+ * Events are emitted through RunTracer.start(category)/complete(), the same calls that
+ * record the run timeline. Without an active recording they cost almost nothing; a recording
+ * can come from -XX:StartFlightRecording, jcmd, or jfr.recording.autostart
+ *
+ * Configuration:
+ *   jfr.events.enabled=true
+ *   jfr.recording.autostart=false   (record the whole run into test-reports/run_<timestamp>.jfr)
+ *   jfr.recording.settings=profile  (JFR settings: default or profile)
+ */
+public class FlightRecorderEvents {
+
+    private static final String REPORT_PATH = "test-reports/";
+    private static final boolean enabled = ConfigReader.getBooleanProperty("jfr.events.enabled", true);
+    // Abandoned spans (an exception skipped complete()) must not pile up on long-lived threads
+    private static final int MAX_OPEN_EVENTS = 32;
+    private static final ThreadLocal<Deque<OpenEvent>> openEvents = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static Recording recording;
+
+    private FlightRecorderEvents() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Fields shared by all framework events
+     */
+    @Category("Test Automation")
+    @StackTrace(false)
+    abstract static class FrameworkEvent extends Event {
+        @Label("Name")
+        @Description("Framework method or step")
+        String name;
+
+        @Label("Test")
+        @Description("Test running on this thread (Class - method)")
+        String testName;
+
+        @Label("Locator")
+        @Description("Locator of the element, or other detail such as browser or report file")
+        String locator;
+    }
+
+    @Name("com.example.Setup")
+    @Label("Test Setup / Teardown")
+    static class SetupEvent extends FrameworkEvent {
+    }
+
+    @Name("com.example.Session")
+    @Label("Browser Session Creation")
+    static class SessionEvent extends FrameworkEvent {
+    }
+
+    @Name("com.example.PageAction")
+    @Label("Page Action")
+    static class PageActionEvent extends FrameworkEvent {
+    }
+
+    @Name("com.example.Wait")
+    @Label("Wait")
+    static class WaitEvent extends FrameworkEvent {
+    }
+
+    @Name("com.example.Report")
+    @Label("Report / Screenshot")
+    static class ReportEvent extends FrameworkEvent {
+    }
+
+    private record OpenEvent(long token, FrameworkEvent event) {
+    }
+
+    /**
+     * Check whether framework events are emitted
+     *
+     * @return true if jfr.events.enabled is set
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Begin an event on the calling thread
+     * Called by RunTracer.start(category)
+     *
+     * @param category setup, session, action, wait or report (others are ignored)
+     * @param token Start time identifying the span, passed back to commit()
+     */
+    static void begin(String category, long token) {
+        FrameworkEvent event = switch (category) {
+            case "setup" -> new SetupEvent();
+            case "session" -> new SessionEvent();
+            case "action" -> new PageActionEvent();
+            case "wait" -> new WaitEvent();
+            case "report" -> new ReportEvent();
+            default -> null;
+        };
+        if (event == null || !event.isEnabled()) {
+            return;
+        }
+        event.begin();
+        Deque<OpenEvent> open = openEvents.get();
+        open.push(new OpenEvent(token, event));
+        if (open.size() > MAX_OPEN_EVENTS) {
+            open.removeLast();
+        }
+    }
+
+    /**
+     * End and commit the event begun with the same token
+     * Called by RunTracer.complete()
+     *
+     * @param token Start time passed to begin()
+     * @param name Framework method or step
+     * @param locator Locator or other detail, or null
+     */
+    static void commit(long token, String name, String locator) {
+        Deque<OpenEvent> open = openEvents.get();
+        // Spans begun after this one but never completed (exceptions) are dropped
+        while (!open.isEmpty() && open.peek().token() > token) {
+            open.pop();
+        }
+        if (open.isEmpty() || open.peek().token() != token) {
+            return;
+        }
+        FrameworkEvent event = open.pop().event();
+        event.end();
+        if (event.shouldCommit()) {
+            event.name = name;
+            event.testName = currentTest.get();
+            event.locator = locator;
+            event.commit();
+        }
+    }
+
+    /**
+     * Set the test running on the calling thread (null when it finished)
+     * Called by RunTraceListener
+     *
+     * @param testName Test name in "Class - method" form
+     */
+    static void setCurrentTest(String testName) {
+        if (testName == null) {
+            currentTest.remove();
+        } else {
+            currentTest.set(testName);
+        }
+    }
+
+    /**
+     * Start a recording of the whole run when jfr.recording.autostart is set
+     * Does nothing if one was already started
+     */
+    public static synchronized void startRecording() {
+        if (recording != null || !enabled || !ConfigReader.getBooleanProperty("jfr.recording.autostart", false)
+                || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        String settings = ConfigReader.getOverridableProperty("jfr.recording.settings", "profile");
+        try {
+            Recording started = new Recording(Configuration.getConfiguration(settings));
+            started.setName("Test run");
+            for (Class<? extends Event> type : List.of(SetupEvent.class, SessionEvent.class,
+                    PageActionEvent.class, WaitEvent.class, ReportEvent.class)) {
+                started.enable(type).withoutThreshold();
+            }
+            started.start();
+            recording = started;
+            System.out.println("✓ Flight recording started (" + settings + " settings)");
+        } catch (IOException | ParseException | IllegalStateException e) {
+            System.err.println("✗ Could not start flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop the automatic recording and write it to test-reports/run_<timestamp>.jfr
+     *
+     * @return Path of the recording, or null if none was running or on error
+     */
+    public static synchronized String stopRecording() {
+        if (recording == null) {
+            return null;
+        }
+        Recording finished = recording;
+        recording = null;
+        try {
+            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss_SSS").format(new Date());
+            Path file = Paths.get(REPORT_PATH, "run_" + timestamp + ".jfr");
+            Files.createDirectories(file.getParent());
+            finished.stop();
+            finished.dump(file);
+            System.out.println("✓ Flight recording written: " + file + " (open in JDK Mission Control or `jfr print`)");
+            return file.toString();
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("✗ Error writing flight recording: " + e.getMessage());
+            return null;
+        } finally {
+            finished.close();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Form Filler
+ * Fills a whole form with one browser command (see BasePage.fillForm) instead of a wait,
+ * clear() and sendKeys() per field
+ *
+ * Features:
+ * - SCRIPT mode: one executeScript sets every value through the element's native value
+ *   setter (so React/Vue-style inputs notice) and dispatches input and change events
+ * - KEYS mode: real keystrokes per field, for environments where key events matter
+ *   (keydown handlers, input masks, autocomplete)
+ * - Fields the script cannot fill (not found yet, hidden, disabled, read-only, not a text-like
+ *   form control such as a checkbox, radio button or file input, or a locator without W3C
+ *   parameters) are typed with keystrokes instead
+ * - Fields and time per mode in the report, to compare both modes
+ *
+ * Configuration:
+ *   form.fill.mode=keys                (keys | script; keys is the default, as Login.login typed before)
+ *   <environment>.form.fill.mode=script (per-environment override)
+ */
+public class FormFiller {
+
+    /**
+     * How form fields are filled
+     */
+    public enum Mode {
+        SCRIPT, KEYS
+    }
+
+    // arguments: fields [{using, value, text}]; returns the indexes of the fields left unfilled
+    private static final String FILL_SCRIPT = String.join("\n",
+            "var fields = arguments[0], unfilled = [];",
+            ElementProbe.LOCATOR_FUNCTIONS,
+            "var prototypes = {INPUT: HTMLInputElement.prototype, TEXTAREA: HTMLTextAreaElement.prototype, SELECT: HTMLSelectElement.prototype};",
+            // Inputs whose value is not what the user types: checked state, files, buttons
+            "var notText = ['checkbox', 'radio', 'file', 'submit', 'button', 'image', 'reset', 'hidden', 'range', 'color'];",
+            "fields.forEach(function (f, i) {",
+            "  var e = find(f), prototype = e && prototypes[e.tagName];",
+            "  if (!prototype || (e.tagName === 'INPUT' && notText.indexOf(e.type) >= 0)",
+            "      || e.disabled || e.readOnly || !visible(e)) { unfilled.push(i); return; }",
+            "  e.focus();",
+            "  Object.getOwnPropertyDescriptor(prototype, 'value').set.call(e, f.text);",
+            "  e.dispatchEvent(new Event('input', {bubbles: true}));",
+            "  e.dispatchEvent(new Event('change', {bubbles: true}));",
+            "  e.blur();",
+            "});",
+            "return unfilled;");
+
+    private static final AtomicLong[] forms = {new AtomicLong(0), new AtomicLong(0)};
+    private static final AtomicLong[] fields = {new AtomicLong(0), new AtomicLong(0)};
+    private static final AtomicLong[] nanos = {new AtomicLong(0), new AtomicLong(0)};
+    private static final AtomicLong keystrokeFallbacks = new AtomicLong(0);
+
+    private FormFiller() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Fill mode for the current environment
+     *
+     * @return <environment>.form.fill.mode, else form.fill.mode (default KEYS)
+     */
+    public static Mode getMode() {
+        String mode = ConfigReader.getOverridableProperty(ConfigReader.getEnvironment() + ".form.fill.mode",
+                ConfigReader.getOverridableProperty("form.fill.mode", "keys"));
+        return Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Fill fields with one script call
+     *
+     * @param driver Driver of the page
+     * @param values Value per field locator
+     * @return Locators the script could not fill, to be typed with keystrokes
+     */
+    public static List<By> fillByScript(WebDriver driver, Map<By, String> values) {
+        List<By> locators = new ArrayList<>(values.keySet());
+        List<Map<String, String>> remote = ElementProbe.toScriptLocators(locators);
+        if (remote == null || !(driver instanceof JavascriptExecutor)) {
+            keystrokeFallbacks.addAndGet(locators.size());
+            return locators;
+        }
+        for (int i = 0; i < locators.size(); i++) {
+            remote.get(i).put("text", values.get(locators.get(i)));
+        }
+        Object result = ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, remote);
+        List<By> unfilled = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object index : (List<?>) result) {
+                unfilled.add(locators.get(((Number) index).intValue()));
+            }
+        }
+        keystrokeFallbacks.addAndGet(unfilled.size());
+        return unfilled;
+    }
+
+    /**
+     * Record one filled form
+     *
+     * @param mode Mode the form was filled in
+     * @param fieldCount Number of fields
+     * @param elapsedNanos Time taken, including keystroke fallbacks
+     */
+    public static void record(Mode mode, int fieldCount, long elapsedNanos) {
+        forms[mode.ordinal()].incrementAndGet();
+        fields[mode.ordinal()].addAndGet(fieldCount);
+        nanos[mode.ordinal()].addAndGet(elapsedNanos);
+    }
+
+    /**
+     * Fields and time per mode for logs and the report
+     *
+     * @return Summary, or null if no form was filled
+     */
+    public static String getSummary() {
+        List<String> parts = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            long fieldCount = fields[mode.ordinal()].get();
+            if (fieldCount > 0) {
+                double ms = nanos[mode.ordinal()].get() / 1_000_000.0;
+                parts.add(String.format(Locale.ROOT, "%s: %d field(s) in %d form(s), %.1f ms/field",
+                        mode.name().toLowerCase(Locale.ROOT), fieldCount, forms[mode.ordinal()].get(), ms / fieldCount));
+            }
+        }
+        if (parts.isEmpty()) {
+            return null;
+        }
+        long fallbacks = keystrokeFallbacks.get();
+        return String.join("; ", parts) + (fallbacks > 0 ? "; " + fallbacks + " field(s) typed after the script could not fill them" : "");
+    }
+}
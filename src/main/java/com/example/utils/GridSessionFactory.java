@@ -0,0 +1,219 @@
+package com.example.utils;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grid Session Factory
+ * Creates RemoteWebDriver sessions on one or more Selenium Grid hubs
+ *
+ * Features:
+ * - Hub chosen by free slots for the requested browser, read from each hub's /status
+ *   (nodes that are not UP are ignored; ties rotate between hubs)
+ * - Session creation retried with exponential backoff when the Grid is full or unreachable
+ * - New session time measured per session (Grid queue wait plus browser start on the
+ *   node; the Grid does not report the two apart)
+ *
+ * Configuration (config.properties or -D overrides):
+ *   execution.mode=local                 (remote to run every browser on the Grid)
+ *   grid.urls=http://localhost:4444      (comma separated hubs or standalone servers)
+ *   grid.session.retries=3
+ *   grid.retry.backoff.ms=2000
+ *
+ * Usage:
+ *   mvn test -Dexecution.mode=remote -Dgrid.urls=http://grid-host:4444
+ */
+public class GridSessionFactory {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder()
+            .connectTimeout(2, TimeUnit.SECONDS)
+            .readTimeout(5, TimeUnit.SECONDS)
+            .build();
+    private static final Json JSON = new Json();
+    private static final AtomicInteger nextHub = new AtomicInteger(0);
+    private static final AtomicInteger sessions = new AtomicInteger(0);
+    private static final AtomicInteger retries = new AtomicInteger(0);
+    private static final AtomicLong totalNewSessionMs = new AtomicLong(0);
+    private static final AtomicLong maxNewSessionMs = new AtomicLong(0);
+    private static final Map<String, AtomicInteger> sessionsPerHub = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether sessions should be created on the Grid
+     *
+     * @return true if execution.mode is remote
+     */
+    public static boolean isRemote() {
+        return "remote".equalsIgnoreCase(ConfigReader.getOverridableProperty("execution.mode", "local").trim());
+    }
+
+    /**
+     * Create a session on the hub with the most free slots for the browser
+     * Retries with exponential backoff if the Grid cannot create the session
+     *
+     * @param capabilities Browser options (ChromeOptions, FirefoxOptions, EdgeOptions)
+     * @return RemoteWebDriver connected to the chosen hub
+     */
+    public static WebDriver createSession(Capabilities capabilities) {
+        int maxRetries = ConfigReader.getIntProperty("grid.session.retries", 3);
+        long backoffMs = ConfigReader.getIntProperty("grid.retry.backoff.ms", 2000);
+        WebDriverException lastError = null;
+
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0) {
+                retries.incrementAndGet();
+                System.out.println("Retrying Grid session (" + attempt + "/" + maxRetries + ") in " + backoffMs + " ms");
+                sleep(backoffMs);
+                backoffMs *= 2;
+            }
+            String hub = selectHub(capabilities.getBrowserName());
+            long start = System.currentTimeMillis();
+            try {
+                WebDriver driver = RemoteWebDriver.builder().address(toUrl(hub)).oneOf(capabilities).build();
+                long newSessionMs = System.currentTimeMillis() - start;
+                sessions.incrementAndGet();
+                totalNewSessionMs.addAndGet(newSessionMs);
+                maxNewSessionMs.accumulateAndGet(newSessionMs, Math::max);
+                sessionsPerHub.computeIfAbsent(hub, k -> new AtomicInteger()).incrementAndGet();
+                System.out.println(capabilities.getBrowserName() + " session created on " + hub + " in "
+                        + newSessionMs + " ms (queue wait and browser start)");
+                return driver;
+            } catch (SessionNotCreatedException e) {
+                lastError = e;
+                System.out.println("Grid could not create session on " + hub + ": " + firstLine(e.getMessage()));
+            } catch (WebDriverException e) {
+                lastError = e;
+                System.out.println("Grid unreachable at " + hub + ": " + firstLine(e.getMessage()));
+            }
+        }
+        throw new SessionNotCreatedException("No Grid session after " + (maxRetries + 1) + " attempts", lastError);
+    }
+
+    /**
+     * Pick the hub with the most free slots for a browser
+     * Hubs that cannot be reached count as having no free slots
+     *
+     * @param browserName W3C browser name (chrome, firefox, MicrosoftEdge)
+     * @return Hub URL
+     */
+    public static String selectHub(String browserName) {
+        List<String> hubs = getHubUrls();
+        int start = Math.floorMod(nextHub.getAndIncrement(), hubs.size());
+        String best = hubs.get(start);
+        int bestFree = -1;
+        for (int i = 0; i < hubs.size(); i++) {
+            String hub = hubs.get((start + i) % hubs.size());
+            int free = countFreeSlots(hub, browserName);
+            if (free > bestFree) {
+                best = hub;
+                bestFree = free;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Count idle slots for a browser on all UP nodes of a hub
+     *
+     * @param hub Hub URL
+     * @param browserName W3C browser name
+     * @return Number of free slots, or -1 if the hub is not ready
+     */
+    @SuppressWarnings("unchecked")
+    public static int countFreeSlots(String hub, String browserName) {
+        Request request = new Request.Builder().url(hub + "/status").get().build();
+        try (Response response = client.newCall(request).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                return -1;
+            }
+            Map<String, Object> status = JSON.toType(response.body().string(), Json.MAP_TYPE);
+            Map<String, Object> value = (Map<String, Object>) status.get("value");
+            if (value == null || !Boolean.TRUE.equals(value.get("ready"))) {
+                return -1;
+            }
+            int free = 0;
+            for (Map<String, Object> node : (List<Map<String, Object>>) value.getOrDefault("nodes", Collections.emptyList())) {
+                if (!"UP".equals(node.get("availability"))) {
+                    continue;
+                }
+                for (Map<String, Object> slot : (List<Map<String, Object>>) node.getOrDefault("slots", Collections.emptyList())) {
+                    Map<String, Object> stereotype = (Map<String, Object>) slot.get("stereotype");
+                    if (slot.get("session") == null && stereotype != null
+                            && browserName.equalsIgnoreCase(String.valueOf(stereotype.get("browserName")))) {
+                        free++;
+                    }
+                }
+            }
+            return free;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Get Grid session statistics for logs and reports
+     *
+     * @return Summary of sessions, retries, new session time and spread across hubs, or null if none created
+     */
+    public static String getSummary() {
+        int created = sessions.get();
+        if (created == 0 && retries.get() == 0) {
+            return null;
+        }
+        return "Grid sessions: " + created + " created, " + retries.get() + " retries"
+                + " | new session time avg " + (created > 0 ? totalNewSessionMs.get() / created : 0) + " ms, max "
+                + maxNewSessionMs.get() + " ms | per hub " + sessionsPerHub;
+    }
+
+    private static List<String> getHubUrls() {
+        List<String> hubs = new ArrayList<>();
+        for (String hub : ConfigReader.getOverridableProperty("grid.urls", "http://localhost:4444").split(",")) {
+            if (!hub.trim().isEmpty()) {
+                hubs.add(hub.trim().replaceAll("/+$", ""));
+            }
+        }
+        if (hubs.isEmpty()) {
+            throw new IllegalStateException("execution.mode=remote needs at least one URL in grid.urls");
+        }
+        return hubs;
+    }
+
+    private static URL toUrl(String hub) {
+        try {
+            return URI.create(hub).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid Grid URL: " + hub, e);
+        }
+    }
+
+    private static String firstLine(String message) {
+        return message == null ? "" : message.split("\n")[0];
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting to retry Grid session");
+        }
+    }
+}
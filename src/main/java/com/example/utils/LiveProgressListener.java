@@ -0,0 +1,81 @@
+package com.example.utils;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live Progress Listener
+ * JUnit Platform listener that starts LiveProgressServer with the test plan and
+ * publishes every test start and result to it
+ *
+ * Registered automatically through
+ * META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ *
+ * Configuration:
+ *   live.server.enabled=false   (see LiveProgressServer)
+ */
+public class LiveProgressListener implements TestExecutionListener {
+
+    // Matrix lanes run one test plan each; the server stops after the last one
+    private static final AtomicInteger activePlans = new AtomicInteger(0);
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (LiveProgressServer.start() == null) {
+            return;
+        }
+        activePlans.incrementAndGet();
+        // Test methods, counting a @RetryingTest once however many attempts it takes
+        LiveProgressServer.runStarted((int) testPlan.countTestIdentifiers(
+                identifier -> identifier.getSource().filter(MethodSource.class::isInstance).isPresent()));
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            LiveProgressServer.testStarted(getName(testIdentifier));
+        }
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        if (testIdentifier.isTest()) {
+            LiveProgressServer.testFinished(getName(testIdentifier), "SKIP", reason);
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        if (!testIdentifier.isTest()) {
+            return;
+        }
+        String status = testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL ? "PASS"
+                : FlakyTestRetryExtension.isRetriedAttempt(testExecutionResult) ? "RETRY"
+                : testExecutionResult.getStatus() == TestExecutionResult.Status.ABORTED ? "SKIP" : "FAIL";
+        String message = testExecutionResult.getThrowable()
+                .map(t -> t.getClass().getSimpleName() + ": " + t.getMessage()).orElse(null);
+        LiveProgressServer.testFinished(getName(testIdentifier), status, message);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        LiveProgressServer.runFinished();
+        if (activePlans.decrementAndGet() <= 0) {
+            activePlans.set(0);
+            LiveProgressServer.stop();
+        }
+    }
+
+    // Same "Class - method" naming as the Extent report
+    private static String getName(TestIdentifier testIdentifier) {
+        return testIdentifier.getSource()
+                .filter(MethodSource.class::isInstance)
+                .map(source -> ((MethodSource) source).getJavaClass().getSimpleName() + " - ")
+                .orElse("") + testIdentifier.getDisplayName();
+    }
+}
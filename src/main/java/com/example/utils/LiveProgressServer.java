@@ -0,0 +1,370 @@
+package com.example.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live Progress Server
+ * Embedded HTTP server that streams test progress while the run is still going
+ *
+ * Features:
+ * - GET /             minimal live page (counts, running tests, event log)
+ * - GET /events       server-sent events: run-started, test-started, test-finished, run-finished;
+ *                     reconnecting clients resume from Last-Event-ID
+ * - GET /api/counts   current counts as JSON (planned, running, passed, failed, skipped)
+ * - Publishing never blocks a test thread: events go into a bounded queue (dropped and
+ *   counted when full) and a single daemon thread fans them out to clients
+ * - Event history for late or reconnecting clients capped at live.history.size events
+ * - Listens on the loopback interface only, unless live.server.bind.all is set: test names
+ *   and failure messages are served without authentication
+ * - Counts and history start from zero on every start(), so each test plan (e.g. each
+ *   TestRunnerDaemon run) shows its own progress
+ *
+ * Configuration:
+ *   live.server.enabled=false   (opt in per run: mvn test -Dlive.server.enabled=true)
+ *   live.server.port=8090   (falls back to a free port when taken; 0 always picks a free port)
+ *   live.server.bind.all=false   (true to serve on every network interface, e.g. for a CI agent's dashboard)
+ *   live.history.size=500
+ *   live.queue.size=1000
+ *
+ * Usage:
+ * Started and fed by LiveProgressListener; open the URL printed at the start of the run
+ */
+public class LiveProgressServer {
+
+    private static final Json JSON = new Json();
+    private static final Map<String, Object> STOP = new LinkedHashMap<>();
+    private static final Object clientsLock = new Object();
+    private static final List<OutputStream> clients = new ArrayList<>();
+    private static final ArrayDeque<String> history = new ArrayDeque<>();
+    private static final Map<String, Long> runningTests = new ConcurrentHashMap<>();
+    private static final AtomicInteger planned = new AtomicInteger(0);
+    private static final AtomicInteger passed = new AtomicInteger(0);
+    private static final AtomicInteger failed = new AtomicInteger(0);
+    private static final AtomicInteger skipped = new AtomicInteger(0);
+    private static final AtomicLong droppedEvents = new AtomicLong(0);
+    private static final AtomicLong nextEventId = new AtomicLong(1);
+    private static volatile BlockingQueue<Map<String, Object>> queue;
+    private static HttpServer server;
+    private static Thread dispatcher;
+    private static long startedAt;
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("live.server.enabled", false);
+    }
+
+    /**
+     * Start the server and the dispatcher thread (once per JVM until stop())
+     *
+     * @return URL of the live page, or null if disabled or the server could not start
+     */
+    public static synchronized String start() {
+        if (server != null) {
+            return getUrl();
+        }
+        if (!isEnabled()) {
+            return null;
+        }
+        try {
+            server = bind(ConfigReader.getIntProperty("live.server.port", 8090));
+        } catch (IOException e) {
+            System.err.println("✗ Could not start live progress server: " + e.getMessage());
+            return null;
+        }
+        server.createContext("/", LiveProgressServer::handlePage);
+        server.createContext("/events", LiveProgressServer::handleEvents);
+        server.createContext("/api/counts", LiveProgressServer::handleCounts);
+        server.start();
+
+        resetCounts();
+        startedAt = System.currentTimeMillis();
+        queue = new ArrayBlockingQueue<>(ConfigReader.getIntProperty("live.queue.size", 1000));
+        dispatcher = new Thread(LiveProgressServer::dispatch, "live-progress");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        System.out.println("✓ Live test progress: " + getUrl());
+        return getUrl();
+    }
+
+    /**
+     * Deliver queued events, close client streams and stop the server
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        // No interrupt: it would close the client socket the dispatcher is writing to
+        try {
+            queue.put(STOP);
+            dispatcher.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (clientsLock) {
+            for (OutputStream client : clients) {
+                closeQuietly(client);
+            }
+            clients.clear();
+        }
+        server.stop(0);
+        server = null;
+        if (droppedEvents.get() > 0) {
+            System.out.println("Live progress: " + droppedEvents.get() + " event(s) dropped (queue full)");
+        }
+    }
+
+    // Event ids keep increasing so a reconnecting client never mistakes new events for seen ones
+    private static void resetCounts() {
+        planned.set(0);
+        passed.set(0);
+        failed.set(0);
+        skipped.set(0);
+        droppedEvents.set(0);
+        runningTests.clear();
+        synchronized (clientsLock) {
+            history.clear();
+        }
+    }
+
+    /**
+     * Get the address of the live page
+     *
+     * @return URL, or null if the server is not running
+     */
+    public static synchronized String getUrl() {
+        return server == null ? null : "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    // ========== PUBLISHING (called on test threads, never blocks) ==========
+
+    public static void runStarted(int plannedTests) {
+        planned.addAndGet(plannedTests);
+        publish(event("run-started"));
+    }
+
+    public static void testStarted(String testName) {
+        runningTests.put(testName, System.currentTimeMillis());
+        Map<String, Object> event = event("test-started");
+        event.put("test", testName);
+        publish(event);
+    }
+
+    /**
+     * Publish the result of a test
+     *
+     * @param testName Display name of the test
+     * @param status PASS, FAIL, SKIP or RETRY (failed attempt that is retried, not counted)
+     * @param message Failure summary or skip reason, may be null
+     */
+    public static void testFinished(String testName, String status, String message) {
+        Long started = runningTests.remove(testName);
+        if (!"RETRY".equals(status)) {
+            ("PASS".equals(status) ? passed : "FAIL".equals(status) ? failed : skipped).incrementAndGet();
+        }
+        Map<String, Object> event = event("test-finished");
+        event.put("test", testName);
+        event.put("status", status);
+        event.put("durationMs", started != null ? System.currentTimeMillis() - started : 0);
+        if (message != null) {
+            String firstLine = message.split("\n")[0];
+            event.put("message", firstLine.length() > 300 ? firstLine.substring(0, 300) + "..." : firstLine);
+        }
+        publish(event);
+    }
+
+    public static void runFinished() {
+        publish(event("run-finished"));
+    }
+
+    private static Map<String, Object> event(String type) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("time", System.currentTimeMillis());
+        return event;
+    }
+
+    private static void publish(Map<String, Object> event) {
+        BlockingQueue<Map<String, Object>> target = queue;
+        if (target != null && !target.offer(event)) {
+            droppedEvents.incrementAndGet();
+        }
+    }
+
+    // ========== DISPATCH ==========
+
+    private static void dispatch() {
+        int historySize = ConfigReader.getIntProperty("live.history.size", 500);
+        while (true) {
+            Map<String, Object> event;
+            try {
+                event = queue.poll(15, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (event == STOP) {
+                return; // events published before stop() have all been delivered
+            }
+            synchronized (clientsLock) {
+                if (event == null) {
+                    broadcast(": keep-alive\n\n"); // stops proxies from closing idle streams
+                    continue;
+                }
+                event.put("counts", counts());
+                String message = toSse(nextEventId.getAndIncrement(), event);
+                history.addLast(message);
+                if (history.size() > historySize) {
+                    history.pollFirst();
+                }
+                broadcast(message);
+            }
+        }
+    }
+
+    // Caller holds clientsLock; clients that cannot be written to are dropped
+    private static void broadcast(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        Iterator<OutputStream> it = clients.iterator();
+        while (it.hasNext()) {
+            OutputStream client = it.next();
+            try {
+                client.write(bytes);
+                client.flush();
+            } catch (IOException e) {
+                closeQuietly(client);
+                it.remove();
+            }
+        }
+    }
+
+    private static String toSse(long id, Map<String, Object> event) {
+        return "id: " + id + "\nevent: " + event.get("type") + "\ndata: " + JSON.toJson(event).replace("\n", "") + "\n\n";
+    }
+
+    private static Map<String, Object> counts() {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("planned", planned.get());
+        counts.put("running", runningTests.size());
+        counts.put("passed", passed.get());
+        counts.put("failed", failed.get());
+        counts.put("skipped", skipped.get());
+        counts.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        counts.put("droppedEvents", droppedEvents.get());
+        return counts;
+    }
+
+    // ========== HTTP HANDLERS ==========
+
+    private static void handleEvents(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        long lastSeen = parseId(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+        synchronized (clientsLock) {
+            try {
+                for (String message : history) {
+                    if (parseId(message.substring(4, message.indexOf('\n'))) > lastSeen) {
+                        out.write(message.getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                out.flush();
+                clients.add(out);
+            } catch (IOException e) {
+                closeQuietly(out);
+            }
+        }
+        // Stream stays open: the dispatcher writes to it until the client disconnects
+    }
+
+    private static void handleCounts(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = counts();
+        body.put("runningTests", new ArrayList<>(runningTests.keySet()));
+        respond(exchange, "application/json", JSON.toJson(body));
+    }
+
+    private static void handlePage(HttpExchange exchange) throws IOException {
+        if (!"/".equals(exchange.getRequestURI().getPath())) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        respond(exchange, "text/html", PAGE);
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static HttpServer bind(int port) throws IOException {
+        InetAddress address = ConfigReader.getBooleanProperty("live.server.bind.all", false)
+                ? null : InetAddress.getLoopbackAddress();
+        try {
+            return HttpServer.create(new InetSocketAddress(address, port), 0);
+        } catch (BindException e) {
+            // Another run (or a parallel fork) already serves on this port
+            return HttpServer.create(new InetSocketAddress(address, 0), 0);
+        }
+    }
+
+    private static long parseId(String id) {
+        try {
+            return id == null ? 0 : Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            // Client already gone
+        }
+    }
+
+    private static final String PAGE = "<!DOCTYPE html><html><head><meta charset='utf-8'><title>Live Test Progress</title>"
+            + "<style>body{font-family:sans-serif;background:#1e1e1e;color:#ddd;margin:20px}"
+            + "#counts span{margin-right:18px;font-size:20px}.PASS{color:#4caf50}.FAIL{color:#f44336}.SKIP{color:#ff9800}"
+            + "#log div{font-family:monospace;padding:2px 0;border-bottom:1px solid #333}</style></head><body>"
+            + "<h2>Live Test Progress</h2><div id='counts'></div><h3>Running</h3><div id='running'></div>"
+            + "<h3>Events</h3><div id='log'></div><script>"
+            + "const log=document.getElementById('log');"
+            + "function counts(c){document.getElementById('counts').innerHTML="
+            + "'<span>planned '+c.planned+'</span><span>running '+c.running+'</span><span class=PASS>passed '+c.passed"
+            + "+'</span><span class=FAIL>failed '+c.failed+'</span><span class=SKIP>skipped '+c.skipped"
+            + "+'</span><span>elapsed '+Math.round(c.elapsedMs/1000)+' s</span>';}"
+            + "function running(){fetch('/api/counts').then(r=>r.json()).then(c=>{counts(c);"
+            + "document.getElementById('running').textContent=c.runningTests.join(', ')||'-';});}"
+            + "function add(e){const d=JSON.parse(e.data);counts(d.counts);const row=document.createElement('div');"
+            + "row.className=d.status||'';row.textContent=new Date(d.time).toLocaleTimeString()+'  '+d.type"
+            + "+(d.test?'  '+d.test:'')+(d.status?'  '+d.status+' ('+d.durationMs+' ms)':'')+(d.message?'  '+d.message:'');"
+            + "log.prepend(row);running();}"
+            + "const es=new EventSource('/events');"
+            + "['run-started','test-started','test-finished','run-finished'].forEach(t=>es.addEventListener(t,add));"
+            + "running();</script></body></html>";
+}
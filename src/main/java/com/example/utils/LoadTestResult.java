@@ -0,0 +1,176 @@
+package com.example.utils;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Load Test Result
+ * Collects login-to-dashboard samples recorded by LoadTestRunner
+ * Computes throughput (successful and failed logins per second, reported apart)
+ * and latency percentiles (p50/p95/p99)
+ * Writes a per-second time-series CSV into test-reports/
+ */
+public class LoadTestResult {
+
+    private final ConcurrentLinkedQueue<Sample> samples = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+    private volatile long endTime;
+
+    /**
+     * Single login iteration performed by one virtual user
+     */
+    public static class Sample {
+        public final long timestamp;
+        public final long latencyMs;
+        public final boolean success;
+        public final int activeUsers;
+
+        public Sample(long timestamp, long latencyMs, boolean success, int activeUsers) {
+            this.timestamp = timestamp;
+            this.latencyMs = latencyMs;
+            this.success = success;
+            this.activeUsers = activeUsers;
+        }
+    }
+
+    public LoadTestResult(long startTime) {
+        this.startTime = startTime;
+        this.endTime = startTime;
+    }
+
+    /**
+     * Record one login iteration
+     *
+     * @param latencyMs Time from submitting credentials to the dashboard being visible
+     * @param success true if the login reached the dashboard
+     * @param activeUsers Number of virtual users running when the sample was taken
+     */
+    public void addSample(long latencyMs, boolean success, int activeUsers) {
+        samples.add(new Sample(System.currentTimeMillis(), latencyMs, success, activeUsers));
+    }
+
+    public void finish() {
+        endTime = System.currentTimeMillis();
+    }
+
+    public int getTotalCount() {
+        return samples.size();
+    }
+
+    public int getErrorCount() {
+        int errors = 0;
+        for (Sample sample : samples) {
+            if (!sample.success) errors++;
+        }
+        return errors;
+    }
+
+    public long getDurationMs() {
+        return endTime - startTime;
+    }
+
+    /**
+     * Get successful logins per second over the whole run
+     * Failed iterations are not throughput; see getErrorRate()
+     *
+     * @return Throughput in successful logins per second
+     */
+    public double getThroughput() {
+        return perSecond(getTotalCount() - getErrorCount());
+    }
+
+    /**
+     * Get failed login iterations per second over the whole run
+     *
+     * @return Failed iterations per second
+     */
+    public double getErrorRate() {
+        return perSecond(getErrorCount());
+    }
+
+    private double perSecond(int count) {
+        long duration = getDurationMs();
+        return duration > 0 ? count * 1000.0 / duration : 0;
+    }
+
+    /**
+     * Get latency percentile of successful logins using nearest-rank
+     *
+     * @param percentile Percentile between 0 and 100 (e.g., 95)
+     * @return Latency in milliseconds, or 0 if there are no successful samples
+     */
+    public long getPercentile(double percentile) {
+        List<Long> latencies = new ArrayList<>();
+        for (Sample sample : samples) {
+            if (sample.success) latencies.add(sample.latencyMs);
+        }
+        return percentile(latencies, percentile);
+    }
+
+    static long percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(rank, sorted.size()) - 1));
+    }
+
+    /**
+     * Write per-second time-series CSV
+     * Columns: second, active_users, logins (successful), errors, p50_ms, p95_ms, p99_ms
+     *
+     * @param fileName Path of the CSV file to create
+     */
+    public void writeTimeSeries(String fileName) {
+        Map<Long, List<Sample>> buckets = new TreeMap<>();
+        for (Sample sample : samples) {
+            long second = (sample.timestamp - startTime) / 1000;
+            buckets.computeIfAbsent(second, k -> new ArrayList<>()).add(sample);
+        }
+
+        new File(fileName).getAbsoluteFile().getParentFile().mkdirs();
+        try (FileWriter writer = new FileWriter(fileName)) {
+            writer.write("second,active_users,logins,errors,p50_ms,p95_ms,p99_ms\n");
+            for (Map.Entry<Long, List<Sample>> bucket : buckets.entrySet()) {
+                List<Long> latencies = new ArrayList<>();
+                int errors = 0;
+                int activeUsers = 0;
+                for (Sample sample : bucket.getValue()) {
+                    if (sample.success) latencies.add(sample.latencyMs);
+                    else errors++;
+                    activeUsers = Math.max(activeUsers, sample.activeUsers);
+                }
+                writer.write(bucket.getKey() + "," + activeUsers + "," + latencies.size() + "," + errors + ","
+                        + percentile(latencies, 50) + "," + percentile(latencies, 95) + "," + percentile(latencies, 99) + "\n");
+            }
+            System.out.println("✓ Load test time series written: " + fileName);
+        } catch (IOException e) {
+            System.err.println("✗ Error writing load test time series: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Build a human-readable summary of the run
+     *
+     * @return Multi-line summary text
+     */
+    public String getSummary() {
+        return "Load Test Summary\n"
+                + "  Duration:   " + getDurationMs() + " ms\n"
+                + "  Logins:     " + (getTotalCount() - getErrorCount()) + " successful, " + getErrorCount() + " failed\n"
+                + "  Throughput: " + String.format("%.2f", getThroughput()) + " successful logins/s, "
+                + String.format("%.2f", getErrorRate()) + " failures/s\n"
+                + "  p50:        " + getPercentile(50) + " ms\n"
+                + "  p95:        " + getPercentile(95) + " ms\n"
+                + "  p99:        " + getPercentile(99) + " ms";
+    }
+}
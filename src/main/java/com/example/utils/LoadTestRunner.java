@@ -0,0 +1,180 @@
+package com.example.utils;
+
+import com.example.pages.Login;
+import org.openqa.selenium.WebDriver;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load Test Runner
+ * Runs the Login flow with N concurrent simulated users for a fixed duration
+ * Each virtual user borrows a headless session from a WebDriverPool and logs in
+ * repeatedly with TestDataManager credentials until its stop time
+ *
+ * Users are ramped up evenly over load.rampup.seconds and ramped down
+ * (last started, first stopped) over the final load.rampdown.seconds
+ *
+ * Configuration (config.properties or -D overrides):
+ *   load.users=5
+ *   load.duration.seconds=60
+ *   load.rampup.seconds=10
+ *   load.rampdown.seconds=10
+ *   load.think.time.ms=1000
+ *   load.url=            (defaults to TestDataManager.getBaseURL())
+ *
+ * Usage:
+ *   mvn compile exec:java -Dexec.mainClass=com.example.utils.LoadTestRunner -Dload.users=20
+ */
+public class LoadTestRunner {
+
+    private static final String REPORT_PATH = "test-reports/";
+
+    private final String baseUrl;
+    private final String browserType;
+    private final int users;
+    private final long durationMs;
+    private final long rampUpMs;
+    private final long rampDownMs;
+    private final long thinkTimeMs;
+    private final AtomicInteger activeUsers = new AtomicInteger(0);
+
+    /**
+     * Constructor for LoadTestRunner
+     *
+     * @param baseUrl Login page URL to load
+     * @param browserType Browser used for every virtual user
+     * @param users Number of concurrent virtual users
+     * @param durationMs Total run time including ramp-up and ramp-down
+     * @param rampUpMs Time over which users are started
+     * @param rampDownMs Time over which users are stopped at the end of the run
+     * @param thinkTimeMs Pause between iterations of one user
+     */
+    public LoadTestRunner(String baseUrl, String browserType, int users, long durationMs,
+                          long rampUpMs, long rampDownMs, long thinkTimeMs) {
+        if (users < 1) {
+            throw new IllegalArgumentException("Load test needs at least 1 user. Got: " + users);
+        }
+        if (rampUpMs + rampDownMs > durationMs) {
+            throw new IllegalArgumentException("Ramp-up plus ramp-down cannot exceed the test duration");
+        }
+        this.baseUrl = baseUrl;
+        this.browserType = browserType;
+        this.users = users;
+        this.durationMs = durationMs;
+        this.rampUpMs = rampUpMs;
+        this.rampDownMs = rampDownMs;
+        this.thinkTimeMs = thinkTimeMs;
+    }
+
+    /**
+     * Create a runner from config.properties with -D overrides
+     *
+     * @return Configured LoadTestRunner
+     */
+    public static LoadTestRunner fromConfig() {
+        String url = ConfigReader.getOverridableProperty("load.url", "");
+        return new LoadTestRunner(
+                url.isEmpty() ? TestDataManager.getBaseURL() : url,
+                ConfigReader.getOverridableProperty("load.browser", TestDataManager.getBrowserType()),
+                ConfigReader.getIntProperty("load.users", 5),
+                ConfigReader.getIntProperty("load.duration.seconds", 60) * 1000L,
+                ConfigReader.getIntProperty("load.rampup.seconds", 10) * 1000L,
+                ConfigReader.getIntProperty("load.rampdown.seconds", 10) * 1000L,
+                ConfigReader.getIntProperty("load.think.time.ms", 1000));
+    }
+
+    /**
+     * Run the load test and block until every virtual user has stopped
+     *
+     * @return Collected samples with percentile and throughput helpers
+     * @throws InterruptedException if interrupted while waiting for users to finish
+     */
+    public LoadTestResult run() throws InterruptedException {
+        System.out.println("\n=== Load test: " + users + " users, " + durationMs / 1000 + "s against " + baseUrl + " ===");
+        WebDriverPool pool = new WebDriverPool(browserType, users, true);
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(users);
+        CountDownLatch finished = new CountDownLatch(users);
+        LoadTestResult result = new LoadTestResult(System.currentTimeMillis());
+        long runStart = System.currentTimeMillis();
+
+        try {
+            for (int i = 0; i < users; i++) {
+                long startOffset = rampUpMs * i / users;
+                // Last started user stops first during ramp-down
+                long stopAt = runStart + durationMs - rampDownMs * i / users;
+                scheduler.schedule(() -> {
+                    try {
+                        runVirtualUser(pool, result, stopAt);
+                    } finally {
+                        finished.countDown();
+                    }
+                }, startOffset, TimeUnit.MILLISECONDS);
+            }
+            finished.await();
+        } finally {
+            scheduler.shutdownNow();
+            pool.shutdown();
+            result.finish();
+        }
+        return result;
+    }
+
+    /**
+     * Loop of one virtual user: load page, log in, wait for dashboard, think, repeat
+     */
+    private void runVirtualUser(WebDriverPool pool, LoadTestResult result, long stopAt) {
+        activeUsers.incrementAndGet();
+        String username = TestDataManager.getValidUsername();
+        String password = TestDataManager.getValidPassword();
+        WebDriver driver = null;
+        try {
+            while (System.currentTimeMillis() < stopAt && !Thread.currentThread().isInterrupted()) {
+                try {
+                    if (driver == null) {
+                        driver = pool.acquire();
+                    }
+                    driver.get(baseUrl);
+                    Login loginPage = new Login(driver);
+                    long started = System.nanoTime();
+                    loginPage.login(username, password);
+                    boolean success = loginPage.isLoginSuccessful();
+                    long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    result.addSample(latencyMs, success, activeUsers.get());
+                    driver.manage().deleteAllCookies();
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    System.err.println("✗ Virtual user iteration failed: " + e.getMessage());
+                    result.addSample(0, false, activeUsers.get());
+                    if (driver != null) {
+                        pool.invalidate(driver);
+                        driver = null;
+                    }
+                }
+                Thread.sleep(Math.max(0, Math.min(thinkTimeMs, stopAt - System.currentTimeMillis())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.release(driver);
+            activeUsers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Entry point for command line load runs
+     * Prints the summary and writes test-reports/LoadTest_<timestamp>.csv
+     */
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestResult result = fromConfig().run();
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        result.writeTimeSeries(REPORT_PATH + "LoadTest_" + timestamp + ".csv");
+        System.out.println(result.getSummary());
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.utils;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TagFilter;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+
+/**
+ * Cross-Browser Matrix Runner
+ * Runs the selected tests on several browsers concurrently in one invocation
+ * Each browser gets its own lane: a thread with its own JUnit launcher run,
+ * its own WebDriverPool and its own session limit. All lanes write into the
+ * same combined Extent report, with every test tagged by browser.
+ *
+ * Configuration (config.properties or -D overrides):
+ *   matrix.browsers=chrome,firefox,edge
+ *   matrix.sessions.per.browser=1        (pool size per lane; sessions are reused between tests)
+ *   matrix.max.parallel.browsers=3       (how many lanes may run at the same time)
+ *   matrix.package=com.example.tests
+ *   includeTags / excludeTags            (same tag expressions as mvn test)
+ *
+ * Usage:
+ *   mvn process-test-classes exec:java -Dexec.mainClass=com.example.utils.MatrixRunner \
+ *       -Dexec.classpathScope=test -Dmatrix.browsers=chrome,firefox -DincludeTags=smoke
+ */
+public class MatrixRunner {
+
+    private static volatile List<String> activeBrowsers = null;
+
+    private final List<String> browsers;
+
+    /**
+     * Constructor for MatrixRunner
+     *
+     * @param browsers Browsers to run the tests on (chrome, firefox, edge)
+     */
+    public MatrixRunner(List<String> browsers) {
+        if (browsers.isEmpty()) {
+            throw new IllegalArgumentException("Matrix needs at least one browser");
+        }
+        this.browsers = Collections.unmodifiableList(new ArrayList<>(browsers));
+    }
+
+    /**
+     * Check whether a matrix run is in progress in this JVM
+     *
+     * @return true while MatrixRunner.run() is executing
+     */
+    public static boolean isActive() {
+        return activeBrowsers != null;
+    }
+
+    /**
+     * Get browsers of the matrix run in progress
+     *
+     * @return Browser list, or an empty list when no matrix run is active
+     */
+    public static List<String> getBrowsers() {
+        List<String> browsers = activeBrowsers;
+        return browsers != null ? browsers : Collections.emptyList();
+    }
+
+    /**
+     * Run every browser lane and flush the combined report once all are done
+     *
+     * @return Test execution summary per browser
+     * @throws InterruptedException if interrupted while waiting for lanes
+     */
+    public Map<String, TestExecutionSummary> run() throws InterruptedException {
+        activeBrowsers = browsers;
+        Semaphore laneSlots = new Semaphore(ConfigReader.getIntProperty("matrix.max.parallel.browsers", browsers.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(browsers.size());
+        Map<String, Future<TestExecutionSummary>> lanes = new LinkedHashMap<>();
+        Map<String, TestExecutionSummary> results = new LinkedHashMap<>();
+
+        try {
+            for (String browser : browsers) {
+                lanes.put(browser, executor.submit(() -> runLane(browser, laneSlots)));
+            }
+            for (Map.Entry<String, Future<TestExecutionSummary>> lane : lanes.entrySet()) {
+                try {
+                    results.put(lane.getKey(), lane.getValue().get());
+                } catch (ExecutionException e) {
+                    System.err.println("✗ Browser lane " + lane.getKey() + " failed: " + e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            ExtentReportListener.flushReportManually();
+            activeBrowsers = null;
+        }
+        return results;
+    }
+
+    /**
+     * Run the selected tests on one browser
+     * Everything on this thread resolves TestDataManager.getBrowserType() to the lane's
+     * browser and borrows sessions from the lane's pool
+     */
+    private TestExecutionSummary runLane(String browser, Semaphore laneSlots) throws InterruptedException {
+        laneSlots.acquire();
+        WebDriverPool pool = new WebDriverPool(browser,
+                ConfigReader.getIntProperty("matrix.sessions.per.browser", 1), ConfigReader.isHeadless());
+        try {
+            Thread.currentThread().setName("matrix-" + browser);
+            ConfigReader.setThreadBrowser(browser);
+            WebDriverFactory.bindPool(pool);
+            System.out.println("=== Matrix lane started: " + browser + " ===");
+
+            Launcher launcher = LauncherFactory.create();
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            launcher.execute(buildRequest(), listener);
+            return listener.getSummary();
+        } finally {
+            WebDriverFactory.bindPool(null);
+            ConfigReader.setThreadBrowser(null);
+            pool.shutdown();
+            laneSlots.release();
+        }
+    }
+
+    private static LauncherDiscoveryRequest buildRequest() {
+        return withTagFilters(LauncherDiscoveryRequestBuilder.request()
+                .selectors(TagIndex.selectTests(ConfigReader.getOverridableProperty("matrix.package", "com.example.tests"))))
+                .build();
+    }
+
+    /**
+     * Apply the includeTags/excludeTags system properties (same tag expressions as mvn test)
+     *
+     * @param builder Discovery request being built
+     * @return The same builder
+     */
+    static LauncherDiscoveryRequestBuilder withTagFilters(LauncherDiscoveryRequestBuilder builder) {
+        String includeTags = System.getProperty("includeTags", "").trim();
+        String excludeTags = System.getProperty("excludeTags", "").trim();
+        if (!includeTags.isEmpty()) {
+            builder.filters(TagFilter.includeTags(includeTags.split(",")));
+        }
+        if (!excludeTags.isEmpty()) {
+            builder.filters(TagFilter.excludeTags(excludeTags.split(",")));
+        }
+        return builder;
+    }
+
+    static List<String> parseBrowsers(String value) {
+        List<String> browsers = new ArrayList<>();
+        for (String browser : value.split(",")) {
+            if (!browser.trim().isEmpty()) {
+                browsers.add(browser.trim().toLowerCase());
+            }
+        }
+        return browsers;
+    }
+
+    /**
+     * Entry point for command line matrix runs
+     * Exits with status 1 if any test failed on any browser
+     */
+    public static void main(String[] args) throws InterruptedException {
+        List<String> browsers = parseBrowsers(ConfigReader.getOverridableProperty("matrix.browsers", "chrome,firefox,edge"));
+        Map<String, TestExecutionSummary> results = new MatrixRunner(browsers).run();
+
+        long failures = browsers.size() - results.size();
+        System.out.println("\n=== Cross-Browser Matrix Results ===");
+        for (Map.Entry<String, TestExecutionSummary> result : results.entrySet()) {
+            TestExecutionSummary summary = result.getValue();
+            failures += summary.getTotalFailureCount();
+            System.out.println(String.format("%-8s total: %d | passed: %d | failed: %d | skipped: %d | time: %d ms",
+                    result.getKey(), summary.getTestsFoundCount(), summary.getTestsSucceededCount(),
+                    summary.getTotalFailureCount(), summary.getTestsSkippedCount(),
+                    summary.getTimeFinished() - summary.getTimeStarted()));
+        }
+        System.exit(failures > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Network Throttling
+ * Named network and CPU throttling profiles for performance-under-constraint runs,
+ * with page load timings recorded per profile
+ *
+ * Features:
+ * - Profiles defined in config.properties: latency, download/upload bandwidth and a CPU slowdown factor
+ * - Chosen per test with a throttle-<profile> tag (Tags.THROTTLE_SLOW_3G etc.) or for the whole
+ *   run with -Dthrottle.profile=<profile>; "none" runs unthrottled but still records timings,
+ *   as the baseline to compare against
+ * - Applied by WebDriverFactory.acquireDriver through CDP Network.emulateNetworkConditions and
+ *   Emulation.setCPUThrottlingRate; a pooled session is reset when the next test needs a different profile
+ * - Every page object created in a profiled test records the navigation timing of its document
+ *   (TTFB, DOMContentLoaded, load), to the test's report and to test-reports/page-timings.csv
+ * - Chromium only (Chrome/Edge, local sessions): other browsers run unthrottled with a warning
+ *
+ * Configuration:
+ *   throttle.profile=                  (profile for tests without a throttle-* tag; empty = off)
+ *   throttle.profiles=slow-3g,fast-3g,cpu-4x,none
+ *   throttle.<profile>.latency.ms / .download.kbps / .upload.kbps (-1 = unlimited) / .cpu.rate
+ *
+ * Usage:
+ *   @Tag(Tags.THROTTLE_SLOW_3G)
+ *   public void testLoginOnSlowNetwork() { ... }
+ */
+public class NetworkThrottling {
+
+    /** Prefix of the tags that select a profile */
+    public static final String TAG_PREFIX = "throttle-";
+    private static final String NONE = "none";
+    private static final String TIMINGS_FILE = "test-reports/page-timings.csv";
+
+    // Resolves once the document has loaded, after load handlers so loadEventEnd is set
+    private static final String TIMING_SCRIPT = String.join("\n",
+            "var done = arguments[arguments.length - 1];",
+            "function report() {",
+            "  var n = performance.getEntriesByType('navigation')[0];",
+            "  done(n ? {origin: performance.timeOrigin, url: location.href, ttfb: n.responseStart,",
+            "           dcl: n.domContentLoadedEventEnd, load: n.loadEventEnd, bytes: n.transferSize} : null);",
+            "}",
+            "if (document.readyState === 'complete') { setTimeout(report, 0); }",
+            "else { window.addEventListener('load', function () { setTimeout(report, 0); }); }");
+
+    /**
+     * Named throttling profile
+     */
+    public static final class Profile {
+        final String name;
+        final long latencyMs;
+        final long downloadKbps;
+        final long uploadKbps;
+        final double cpuRate;
+
+        Profile(String name, long latencyMs, long downloadKbps, long uploadKbps, double cpuRate) {
+            this.name = name;
+            this.latencyMs = latencyMs;
+            this.downloadKbps = downloadKbps;
+            this.uploadKbps = uploadKbps;
+            this.cpuRate = cpuRate;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        boolean throttlesNetwork() {
+            return latencyMs > 0 || downloadKbps >= 0 || uploadKbps >= 0;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + latencyMs + " ms latency, " + kbps(downloadKbps) + " down, " + kbps(uploadKbps)
+                    + " up, " + cpuRate + "x CPU)";
+        }
+
+        private static String kbps(long value) {
+            return value < 0 ? "unlimited" : value + " kbit/s";
+        }
+    }
+
+    /**
+     * Profile and name of the test running on a thread
+     */
+    private static final class Active {
+        final Profile profile;
+        final String testName;
+        // Report lines, logged at the end of the test: @BeforeEach runs before the report has the test
+        final List<String> notes = new ArrayList<>();
+
+        Active(Profile profile, String testName) {
+            this.profile = profile;
+            this.testName = testName;
+        }
+    }
+
+    /**
+     * Page timings of one page under one profile
+     */
+    private static final class PageStats {
+        int count;
+        double ttfbMs;
+        double domContentLoadedMs;
+        double loadMs;
+        double maxLoadMs;
+    }
+
+    private static final ThreadLocal<Active> active = new ThreadLocal<>();
+    // Profile currently applied in each throttled browser session
+    private static final Map<WebDriver, String> appliedProfiles = new ConcurrentHashMap<>();
+    // Last document timed per session, so a second page object on the same document is not counted twice
+    private static final Map<WebDriver, Object> timedDocuments = new ConcurrentHashMap<>();
+    private static final Map<String, PageStats> pageStats = new LinkedHashMap<>();
+    private static volatile boolean unsupportedWarned = false;
+
+    private NetworkThrottling() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Load a profile from config.properties
+     *
+     * @param name Profile name (e.g. slow-3g)
+     * @return Profile
+     * @throws IllegalArgumentException if the profile is not listed in throttle.profiles
+     */
+    public static Profile getProfile(String name) {
+        List<String> known = Arrays.asList(ConfigReader.getOverridableProperty("throttle.profiles", NONE).split("\\s*,\\s*"));
+        if (!known.contains(name) && !NONE.equals(name)) {
+            throw new IllegalArgumentException("Unknown throttling profile '" + name + "' - defined: " + known);
+        }
+        String prefix = "throttle." + name + ".";
+        return new Profile(name,
+                Long.parseLong(ConfigReader.getOverridableProperty(prefix + "latency.ms", "0").trim()),
+                Long.parseLong(ConfigReader.getOverridableProperty(prefix + "download.kbps", "-1").trim()),
+                Long.parseLong(ConfigReader.getOverridableProperty(prefix + "upload.kbps", "-1").trim()),
+                Double.parseDouble(ConfigReader.getOverridableProperty(prefix + "cpu.rate", "1").trim()));
+    }
+
+    /**
+     * Choose the profile for the test about to run on this thread
+     * A throttle-<profile> tag wins over throttle.profile
+     *
+     * @param tags Tags of the test (including its class's)
+     * @param testName Test name for timings
+     * @return Selected profile, or null when the test runs without one
+     */
+    public static Profile beginTest(Iterable<String> tags, String testName) {
+        String name = null;
+        for (String tag : tags) {
+            if (tag.startsWith(TAG_PREFIX)) {
+                name = tag.substring(TAG_PREFIX.length());
+                break;
+            }
+        }
+        if (name == null) {
+            name = ConfigReader.getOverridableProperty("throttle.profile", "").trim();
+        }
+        if (name.isEmpty()) {
+            active.remove();
+            return null;
+        }
+        Profile profile = getProfile(name);
+        Active current = new Active(profile, testName);
+        current.notes.add("Throttling profile: " + profile);
+        active.set(current);
+        return profile;
+    }
+
+    /**
+     * Log the profile and page timings to the test's report and forget the current thread's profile
+     */
+    public static void endTest() {
+        Active current = active.get();
+        active.remove();
+        if (current != null) {
+            current.notes.forEach(ExtentReportListener::logInfo);
+        }
+    }
+
+    /**
+     * Apply the current test's profile to a session, or reset a session a previous test throttled
+     * Called by WebDriverFactory.acquireDriver
+     *
+     * @param driver Session the test will use
+     */
+    public static void apply(WebDriver driver) {
+        Active current = active.get();
+        Profile profile = current != null && !NONE.equals(current.profile.name) ? current.profile : null;
+        String applied = appliedProfiles.get(driver);
+        if (profile == null ? applied == null : profile.name.equals(applied)) {
+            return;
+        }
+        if (!(driver instanceof ChromiumDriver)) {
+            if (profile != null && !unsupportedWarned) {
+                unsupportedWarned = true;
+                System.out.println("✗ Throttling needs a local Chrome or Edge session - running unthrottled");
+            }
+            return;
+        }
+        ChromiumDriver chromium = (ChromiumDriver) driver;
+        try {
+            Map<String, Object> conditions = new LinkedHashMap<>();
+            conditions.put("offline", false);
+            conditions.put("latency", profile != null ? profile.latencyMs : 0);
+            conditions.put("downloadThroughput", profile != null ? bytesPerSecond(profile.downloadKbps) : -1);
+            conditions.put("uploadThroughput", profile != null ? bytesPerSecond(profile.uploadKbps) : -1);
+            if (profile == null || profile.throttlesNetwork() || applied != null) {
+                chromium.executeCdpCommand("Network.enable", Map.of());
+                chromium.executeCdpCommand("Network.emulateNetworkConditions", conditions);
+            }
+            chromium.executeCdpCommand("Emulation.setCPUThrottlingRate", Map.of("rate", profile != null ? profile.cpuRate : 1));
+            if (profile != null) {
+                appliedProfiles.put(driver, profile.name);
+                System.out.println("✓ Throttling profile applied: " + profile);
+            } else {
+                appliedProfiles.remove(driver);
+                System.out.println("✓ Throttling reset to unthrottled");
+            }
+        } catch (Exception e) {
+            System.out.println("✗ Failed to apply throttling profile: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forget a session that is being quit
+     *
+     * @param driver Session to forget
+     */
+    public static void forget(WebDriver driver) {
+        appliedProfiles.remove(driver);
+        timedDocuments.remove(driver);
+    }
+
+    /**
+     * Record the load timing of the page a page object was created on
+     * Only in tests that run under a profile (including "none"); waits for the document's load event
+     *
+     * @param driver Session showing the page
+     * @param page Page name (page object class)
+     */
+    public static void recordPageLoad(WebDriver driver, String page) {
+        Active current = active.get();
+        if (current == null || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(TIMING_SCRIPT);
+            if (!(result instanceof Map)) {
+                return;
+            }
+            Map<?, ?> timing = (Map<?, ?>) result;
+            Object document = timing.get("origin") + " " + timing.get("url");
+            if (document.equals(timedDocuments.put(driver, document))) {
+                return;
+            }
+            double ttfb = number(timing.get("ttfb"));
+            double domContentLoaded = number(timing.get("dcl"));
+            double load = number(timing.get("load"));
+            record(current, page, String.valueOf(timing.get("url")), ttfb, domContentLoaded, load, (long) number(timing.get("bytes")));
+            String line = String.format(Locale.ROOT, "%s loaded in %.0f ms under %s (TTFB %.0f ms, DOMContentLoaded %.0f ms)",
+                    page, load, current.profile.name, ttfb, domContentLoaded);
+            System.out.println("⏱ " + line);
+            current.notes.add(line);
+        } catch (Exception e) {
+            System.out.println("Page timing not recorded for " + page + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized void record(Active current, String page, String url, double ttfb,
+                                            double domContentLoaded, double load, long bytes) {
+        PageStats stats = pageStats.computeIfAbsent(current.profile.name + "|" + page, key -> new PageStats());
+        stats.count++;
+        stats.ttfbMs += ttfb;
+        stats.domContentLoadedMs += domContentLoaded;
+        stats.loadMs += load;
+        stats.maxLoadMs = Math.max(stats.maxLoadMs, load);
+
+        Path file = Paths.get(TIMINGS_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            List<String> lines = new ArrayList<>();
+            if (!Files.exists(file)) {
+                lines.add("timestamp,profile,page,test,url,ttfb_ms,dom_content_loaded_ms,load_ms,transfer_bytes");
+            }
+            lines.add(String.format(Locale.ROOT, "%s,%s,%s,\"%s\",\"%s\",%.0f,%.0f,%.0f,%d", Instant.now(), current.profile.name,
+                    page, current.testName.replace("\"", "'"), url.replace("\"", "%22"), ttfb, domContentLoaded, load, bytes));
+            Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Could not write " + TIMINGS_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Average load time per profile and page for logs and the report
+     *
+     * @return Summary, or null if no page was timed
+     */
+    public static synchronized String getSummary() {
+        if (pageStats.isEmpty()) {
+            return null;
+        }
+        Map<String, List<String>> byProfile = new LinkedHashMap<>();
+        pageStats.forEach((key, stats) -> {
+            String[] parts = key.split("\\|", 2);
+            byProfile.computeIfAbsent(parts[0], profile -> new ArrayList<>()).add(String.format(Locale.ROOT,
+                    "%s load %.0f ms avg / %.0f ms max (TTFB %.0f, DCL %.0f, n=%d)", parts[1], stats.loadMs / stats.count,
+                    stats.maxLoadMs, stats.ttfbMs / stats.count, stats.domContentLoadedMs / stats.count, stats.count));
+        });
+        List<String> profiles = new ArrayList<>();
+        byProfile.forEach((profile, pages) -> profiles.add(profile + ": " + String.join(", ", pages)));
+        return String.join("; ", profiles);
+    }
+
+    private static long bytesPerSecond(long kbps) {
+        return kbps < 0 ? -1 : kbps * 1000 / 8;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
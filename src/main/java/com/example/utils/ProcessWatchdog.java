@@ -0,0 +1,339 @@
+package com.example.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Process Watchdog
+ * Keeps track of every local driver process (chromedriver, geckodriver, msedgedriver)
+ * started by WebDriverFactory together with the browser processes below it
+ *
+ * Features:
+ * - Driver PIDs recorded in a PID file shared by all runs on this machine
+ * - Leftovers of JVMs that died (and orphaned drivers/browsers) reaped at startup
+ * - Sessions that were never quit force-killed at shutdown
+ * - CPU and resident memory of a session's process tree sampled from /proc (Linux)
+ * - Force-kill of a single session, used by ResourceWatchdogExtension on test timeout
+ *
+ * Configuration:
+ *   watchdog.enabled=true
+ *   watchdog.reap.orphans=false  (also kill parentless driver/browser processes of this OS user at
+ *                                 startup - only on machines where no other job drives a browser,
+ *                                 since it cannot tell their sessions from ours)
+ */
+public class ProcessWatchdog {
+
+    private static final File PID_FILE = new File(System.getProperty("java.io.tmpdir"), "selenium-automation-driver-pids.txt");
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+    private static final Map<WebDriver, ProcessHandle> trackedDrivers = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "process-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile boolean startupReapDone = false;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ProcessWatchdog::killTrackedProcesses));
+    }
+
+    /**
+     * Resource usage of a process tree at one point in time
+     */
+    public static class Usage {
+        public final long rssKb;
+        public final long cpuTicks;
+
+        Usage(long rssKb, long cpuTicks) {
+            this.rssKb = rssKb;
+            this.cpuTicks = cpuTicks;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("watchdog.enabled", true);
+    }
+
+    /**
+     * Scheduler shared by sampling and per-test timeouts
+     *
+     * @return Single daemon scheduler thread
+     */
+    static ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Start tracking the driver process behind a freshly created local session
+     * The driver process is found by the port its command executor talks to
+     *
+     * @param driver Local WebDriver (ChromeDriver, FirefoxDriver, EdgeDriver)
+     */
+    public static void track(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        findDriverProcess(driver).ifPresent(process -> {
+            trackedDrivers.put(driver, process);
+            savePidFile();
+        });
+    }
+
+    /**
+     * Get the driver process of a tracked session
+     *
+     * @param driver Session to look up
+     * @return Driver process, if the session is tracked
+     */
+    public static Optional<ProcessHandle> getDriverProcess(WebDriver driver) {
+        return driver == null ? Optional.empty() : Optional.ofNullable(trackedDrivers.get(driver));
+    }
+
+    /**
+     * Sum RSS and CPU time over a session's driver and all processes below it
+     *
+     * @param driver Tracked session
+     * @return Current usage, or null if the session is not tracked or /proc is not available
+     */
+    public static Usage sample(WebDriver driver) {
+        ProcessHandle process = getDriverProcess(driver).orElse(null);
+        if (process == null || !process.isAlive()) {
+            return null;
+        }
+        long rssKb = 0;
+        long cpuTicks = 0;
+        for (ProcessHandle handle : processTree(process)) {
+            rssKb += readRssKb(handle.pid());
+            cpuTicks += readCpuTicks(handle.pid());
+        }
+        return rssKb > 0 || cpuTicks > 0 ? new Usage(rssKb, cpuTicks) : null;
+    }
+
+    /**
+     * Convert a CPU tick delta into percent of one core
+     *
+     * @param ticks CPU ticks used
+     * @param elapsedMs Wall-clock time in which they were used
+     * @return CPU usage in percent of one core
+     */
+    public static double toCpuPercent(long ticks, long elapsedMs) {
+        return elapsedMs > 0 ? ticks * 1000.0 / CLOCK_TICKS_PER_SECOND / elapsedMs * 100 : 0;
+    }
+
+    /**
+     * Kill a session's browser and driver processes without going through WebDriver
+     * Any blocked WebDriver call on that session fails right away
+     *
+     * @param driver Session to kill
+     * @return true if a tracked process tree was killed
+     */
+    public static boolean forceKill(WebDriver driver) {
+        ProcessHandle process = trackedDrivers.remove(driver);
+        if (process == null) {
+            return false;
+        }
+        killTree(process);
+        savePidFile();
+        return true;
+    }
+
+    /**
+     * Kill processes left behind by earlier runs
+     * Reaps PIDs recorded by JVMs that are no longer alive and, if watchdog.reap.orphans
+     * is set, driver/browser processes of this OS user whose parent has exited. Runs once per JVM
+     */
+    public static synchronized void reapLeftovers() {
+        if (startupReapDone || !isEnabled()) {
+            return;
+        }
+        startupReapDone = true;
+        int reaped = 0;
+        for (String line : readPidFile()) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                long ownerPid = Long.parseLong(parts[0]);
+                long pid = Long.parseLong(parts[1]);
+                long startMillis = Long.parseLong(parts[2]);
+                if (ProcessHandle.of(ownerPid).map(ProcessHandle::isAlive).orElse(false)) {
+                    continue;
+                }
+                Optional<ProcessHandle> process = ProcessHandle.of(pid)
+                        .filter(p -> p.info().startInstant().map(Instant::toEpochMilli).orElse(-1L) == startMillis);
+                if (process.isPresent()) {
+                    killTree(process.get());
+                    reaped++;
+                }
+            } catch (NumberFormatException e) {
+                // Skip malformed line
+            }
+        }
+        if (ConfigReader.getBooleanProperty("watchdog.reap.orphans", false)) {
+            for (ProcessHandle process : ProcessHandle.allProcesses().filter(ProcessWatchdog::isOrphanedAutomationProcess)
+                    .collect(Collectors.toList())) {
+                killTree(process);
+                reaped++;
+            }
+        }
+        savePidFile();
+        if (reaped > 0) {
+            System.out.println("✓ Reaped " + reaped + " leftover driver/browser process tree(s) from earlier runs");
+        }
+    }
+
+    /**
+     * Read resident memory of a process from /proc
+     *
+     * @param pid Process id
+     * @return VmRSS in kB, or 0 if not available
+     */
+    public static long readRssKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process gone or not on this host
+        }
+        return 0;
+    }
+
+    // utime + stime from /proc/{pid}/stat (fields 14 and 15; the name field may contain spaces)
+    private static long readCpuTicks(long pid) {
+        try {
+            String stat = new String(Files.readAllBytes(Paths.get("/proc", String.valueOf(pid), "stat")));
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static Optional<ProcessHandle> findDriverProcess(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver)) {
+            return Optional.empty();
+        }
+        CommandExecutor executor = ((RemoteWebDriver) driver).getCommandExecutor();
+        if (!(executor instanceof HttpCommandExecutor)) {
+            return Optional.empty();
+        }
+        String portArgument = "--port=" + ((HttpCommandExecutor) executor).getAddressOfRemoteServer().getPort();
+        return ProcessHandle.current().descendants()
+                .filter(p -> hasArgument(p, portArgument))
+                .findFirst();
+    }
+
+    // Whole-argument match, so --port=1234 does not match --port=12345
+    private static boolean hasArgument(ProcessHandle process, String argument) {
+        Optional<String[]> arguments = process.info().arguments();
+        if (arguments.isPresent()) {
+            return Arrays.asList(arguments.get()).contains(argument);
+        }
+        return process.info().commandLine().map(c -> Arrays.asList(c.split("\\s+")).contains(argument)).orElse(false);
+    }
+
+    private static boolean isOrphanedAutomationProcess(ProcessHandle process) {
+        boolean orphaned = !process.parent().isPresent() || process.parent().get().pid() == 1;
+        if (!orphaned || process.pid() == ProcessHandle.current().pid()) {
+            return false;
+        }
+        // Never touch other users' sessions
+        String user = process.info().user().orElse("");
+        if (!user.equals(ProcessHandle.current().info().user().orElse(null))) {
+            return false;
+        }
+        String commandLine = process.info().commandLine().orElse("");
+        String command = process.info().command().orElse("");
+        return command.endsWith("chromedriver") || command.endsWith("geckodriver") || command.endsWith("msedgedriver")
+                || commandLine.contains("--test-type=webdriver") || commandLine.contains("--marionette");
+    }
+
+    private static List<ProcessHandle> processTree(ProcessHandle root) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root);
+        root.descendants().forEach(tree::add);
+        return tree;
+    }
+
+    // Browser processes first so they cannot be re-parented away from the driver
+    private static void killTree(ProcessHandle root) {
+        root.descendants().forEach(ProcessHandle::destroyForcibly);
+        root.destroyForcibly();
+    }
+
+    private static void killTrackedProcesses() {
+        int killed = 0;
+        for (ProcessHandle process : trackedDrivers.values()) {
+            if (process.isAlive()) {
+                killTree(process);
+                killed++;
+            }
+        }
+        trackedDrivers.clear();
+        savePidFile();
+        if (killed > 0) {
+            System.out.println("✓ Watchdog killed " + killed + " browser session(s) that were never quit");
+        }
+    }
+
+    private static boolean isAlive(String pid) {
+        try {
+            return ProcessHandle.of(Long.parseLong(pid)).map(ProcessHandle::isAlive).orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static List<String> readPidFile() {
+        try {
+            return PID_FILE.exists() ? Files.readAllLines(PID_FILE.toPath()) : new ArrayList<>();
+        } catch (IOException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    // One line per live driver: ownerJvmPid driverPid driverStartMillis (lines of other JVMs are kept)
+    private static synchronized void savePidFile() {
+        trackedDrivers.values().removeIf(process -> !process.isAlive());
+        long ownPid = ProcessHandle.current().pid();
+        List<String> lines = new ArrayList<>();
+        for (String line : readPidFile()) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length == 3 && !parts[0].equals(String.valueOf(ownPid)) && isAlive(parts[1])) {
+                lines.add(line);
+            }
+        }
+        for (ProcessHandle process : trackedDrivers.values()) {
+            lines.add(ownPid + " " + process.pid() + " "
+                    + process.info().startInstant().map(Instant::toEpochMilli).orElse(0L));
+        }
+        try {
+            Files.write(PID_FILE.toPath(), lines);
+        } catch (IOException e) {
+            System.err.println("✗ Could not write watchdog PID file: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.utils;
+
+import com.example.base.BaseClass;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resource Watchdog Extension for JUnit 5
+ * Guards each browser test with a wall-clock timeout and records the peak
+ * CPU and memory of its browser session
+ *
+ * Features:
+ * - Timeout covers @BeforeEach, the test (including retries) and @AfterEach
+ * - On timeout the session's browser and driver processes are killed, so a hung
+ *   WebDriver call fails instead of blocking the run, and the test fails
+ * - Peak RSS and CPU of the session's process tree sampled from /proc while the test runs
+ * - Peaks logged into the test's Extent entry; the heaviest test goes to the system info
+ *
+ * Configuration:
+ *   watchdog.test.timeout.seconds=300   (0 disables the timeout)
+ *   watchdog.sample.interval.ms=1000
+ *
+ * Usage:
+ * Add @ExtendWith(ResourceWatchdogExtension.class) to BaseClass test classes
+ */
+public class ResourceWatchdogExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResourceWatchdogExtension.class);
+    private static final AtomicReference<String> heaviestTest = new AtomicReference<>();
+    private static volatile long heaviestRssKb = 0;
+
+    /**
+     * Resources and timers of one running test
+     */
+    private static class Watch {
+        final String testName;
+        final Object testInstance;
+        final Thread testThread;
+        volatile boolean timedOut = false;
+        long peakRssKb = 0;
+        double peakCpuPercent = 0;
+        WebDriver lastDriver;
+        long lastTicks;
+        long lastSampleMs;
+        ScheduledFuture<?> sampler;
+        ScheduledFuture<?> timeout;
+
+        Watch(String testName, Object testInstance) {
+            this.testName = testName;
+            this.testInstance = testInstance;
+            this.testThread = Thread.currentThread();
+        }
+
+        WebDriver currentDriver() {
+            return testInstance instanceof BaseClass ? ((BaseClass) testInstance).getDriver() : null;
+        }
+
+        // Called on the watchdog thread only
+        void sample() {
+            WebDriver driver = currentDriver();
+            ProcessWatchdog.Usage usage = ProcessWatchdog.sample(driver);
+            if (usage == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                peakRssKb = Math.max(peakRssKb, usage.rssKb);
+                if (driver == lastDriver) {
+                    peakCpuPercent = Math.max(peakCpuPercent,
+                            ProcessWatchdog.toCpuPercent(usage.cpuTicks - lastTicks, now - lastSampleMs));
+                }
+                lastDriver = driver;
+                lastTicks = usage.cpuTicks;
+                lastSampleMs = now;
+            }
+        }
+    }
+
+    /**
+     * Start sampling and arm the timeout before @BeforeEach methods run
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (!ProcessWatchdog.isEnabled()) {
+            return;
+        }
+        ProcessWatchdog.reapLeftovers();
+        Watch watch = new Watch(context.getRequiredTestClass().getSimpleName() + " - " + context.getDisplayName(),
+                context.getRequiredTestInstance());
+        context.getStore(NAMESPACE).put(Watch.class, watch);
+
+        long intervalMs = ConfigReader.getIntProperty("watchdog.sample.interval.ms", 1000);
+        watch.sampler = ProcessWatchdog.getScheduler().scheduleAtFixedRate(watch::sample, intervalMs, intervalMs,
+                TimeUnit.MILLISECONDS);
+        int timeoutSeconds = ConfigReader.getIntProperty("watchdog.test.timeout.seconds", 300);
+        if (timeoutSeconds > 0) {
+            watch.timeout = ProcessWatchdog.getScheduler().schedule(() -> onTimeout(watch, timeoutSeconds),
+                    timeoutSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop the timers, report peak resources and fail the test if it timed out
+     */
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        Watch watch = context.getStore(NAMESPACE).remove(Watch.class, Watch.class);
+        if (watch == null) {
+            return;
+        }
+        watch.sampler.cancel(false);
+        if (watch.timeout != null) {
+            watch.timeout.cancel(false);
+        }
+        Thread.interrupted(); // clear an interrupt the timeout may have left behind
+
+        synchronized (watch) {
+            if (watch.peakRssKb > 0) {
+                String peaks = String.format("Peak browser resources: %d MB RSS, %.0f%% CPU",
+                        watch.peakRssKb / 1024, watch.peakCpuPercent);
+                ExtentReportListener.logInfo(peaks);
+                System.out.println(peaks + " (" + watch.testName + ")");
+                recordHeaviest(watch.testName, watch.peakRssKb);
+            }
+        }
+        if (watch.timedOut) {
+            throw new TimeoutException(watch.testName + " exceeded the watchdog timeout of "
+                    + ConfigReader.getIntProperty("watchdog.test.timeout.seconds", 300) + " s; browser session was force-killed");
+        }
+    }
+
+    /**
+     * Get the test with the highest peak memory for reports
+     *
+     * @return Summary of the heaviest test, or null if nothing was sampled
+     */
+    public static String getSummary() {
+        String test = heaviestTest.get();
+        return test == null ? null : "Peak " + heaviestRssKb / 1024 + " MB RSS in " + test;
+    }
+
+    private static synchronized void recordHeaviest(String testName, long rssKb) {
+        if (rssKb > heaviestRssKb) {
+            heaviestRssKb = rssKb;
+            heaviestTest.set(testName);
+        }
+    }
+
+    private static void onTimeout(Watch watch, int timeoutSeconds) {
+        watch.timedOut = true;
+        WebDriver driver = watch.currentDriver();
+        boolean killed = driver != null && ProcessWatchdog.forceKill(driver);
+        System.err.println("✗ Watchdog: " + watch.testName + " still running after " + timeoutSeconds + " s"
+                + (killed ? " - browser session force-killed" : " - no local session to kill, interrupting"));
+        watch.testThread.interrupt();
+    }
+}
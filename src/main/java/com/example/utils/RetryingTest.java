@@ -0,0 +1,30 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retrying Test
+ * Marks a test method that FlakyTestRetryExtension re-runs after a failure
+ *
+ * Every attempt is a separate JUnit invocation with a new test instance and its own
+ * @BeforeEach/@AfterEach, so BaseClass tests quit the failed attempt's browser and
+ * start the retry on a fresh session
+ *
+ * Usage:
+ *   @RetryingTest
+ *   public void testLoginPageTitle() { ... }
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@TestTemplate
+@ExtendWith(FlakyTestRetryExtension.class)
+public @interface RetryingTest {
+}
@@ -0,0 +1,114 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Risk-Based Orderer
+ * Orders tests so the ones most likely to reveal a broken build run first
+ *
+ * Order (classes by their riskiest test, methods within a class):
+ * 1. Priority tag: P0, P1, P2 (also untagged), P3
+ * 2. Failure probability per second of runtime, highest first, so likely-to-fail
+ *    and cheap tests come before slow stable ones (from FlakyTestHistory)
+ * 3. @Order, then name - the previous fixed order while there is no history
+ *
+ * Registered for classes in junit-platform.properties
+ * (junit.jupiter.testclass.order.default) and used by test classes through
+ * {@code @TestMethodOrder(RiskBasedOrderer.class)}
+ *
+ * Configuration:
+ *   schedule.risk.order.enabled=true        (false keeps @Order/name order)
+ *   schedule.default.duration.ms=30000      (duration assumed for tests without history)
+ */
+public class RiskBasedOrderer implements MethodOrderer {
+
+    private static final int UNTAGGED_PRIORITY = 2;
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        context.getMethodDescriptors().sort(Comparator
+                .comparingInt((MethodDescriptor descriptor) -> riskOrderEnabled() ? getPriority(descriptor.getMethod()) : 0)
+                .thenComparingDouble(descriptor -> riskOrderEnabled() ? -getRiskDensity(descriptor.getMethod()) : 0.0)
+                .thenComparingInt(descriptor -> descriptor.findAnnotation(Order.class).map(Order::value).orElse(Order.DEFAULT))
+                .thenComparing(descriptor -> descriptor.getMethod().getName()));
+    }
+
+    /**
+     * Class orderer: classes whose most urgent test is most urgent run first
+     */
+    public static class Classes implements ClassOrderer {
+
+        @Override
+        public void orderClasses(ClassOrdererContext context) {
+            if (!riskOrderEnabled()) {
+                return;
+            }
+            context.getClassDescriptors().sort(Comparator
+                    .comparingInt((ClassDescriptor descriptor) -> getTestMethods(descriptor.getTestClass()).stream()
+                            .mapToInt(RiskBasedOrderer::getPriority).min().orElse(UNTAGGED_PRIORITY))
+                    .thenComparingDouble(descriptor -> -getTestMethods(descriptor.getTestClass()).stream()
+                            .mapToDouble(RiskBasedOrderer::getRiskDensity).max().orElse(0.0))
+                    .thenComparing(descriptor -> descriptor.getTestClass().getName()));
+        }
+    }
+
+    /**
+     * Priority rank of a test from its own and its class's tags
+     *
+     * @param method Test method
+     * @return 0 for P0 ... 3 for P3; untagged tests rank as P2
+     */
+    static int getPriority(Method method) {
+        int priority = Integer.MAX_VALUE;
+        for (AnnotatedElement element : List.of(method, method.getDeclaringClass())) {
+            for (Tag tag : AnnotationSupport.findRepeatableAnnotations(element, Tag.class)) {
+                switch (tag.value().toLowerCase()) {
+                    case Tags.P0 -> priority = Math.min(priority, 0);
+                    case Tags.P1 -> priority = Math.min(priority, 1);
+                    case Tags.P2 -> priority = Math.min(priority, 2);
+                    case Tags.P3 -> priority = Math.min(priority, 3);
+                    default -> { }
+                }
+            }
+        }
+        return priority == Integer.MAX_VALUE ? UNTAGGED_PRIORITY : priority;
+    }
+
+    /**
+     * Failure probability per second of runtime
+     *
+     * @param method Test method
+     * @return Expected failures found per second spent on this test
+     */
+    static double getRiskDensity(Method method) {
+        FlakyTestHistory.Entry entry = FlakyTestHistory.getInstance()
+                .get(method.getDeclaringClass().getName() + "#" + method.getName());
+        double failureRate = entry == null ? new FlakyTestHistory.Entry().getFailureRate() : entry.getFailureRate();
+        long durationMs = entry == null || entry.avgMs == 0
+                ? ConfigReader.getIntProperty("schedule.default.duration.ms", 30000) : entry.avgMs;
+        return failureRate / Math.max(1.0, durationMs / 1000.0);
+    }
+
+    private static List<Method> getTestMethods(Class<?> testClass) {
+        return AnnotationSupport.findAnnotatedMethods(testClass, Testable.class, HierarchyTraversalMode.TOP_DOWN);
+    }
+
+    private static boolean riskOrderEnabled() {
+        return ConfigReader.getBooleanProperty("schedule.risk.order.enabled", true);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.utils;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Run Trace Listener
+ * JUnit Platform listener that opens suite, class and test spans in RunTracer
+ * and writes the trace once the last test plan has finished
+ * Also tags Flight Recorder events with the running test and, when configured,
+ * records the whole run into a .jfr file (see FlightRecorderEvents)
+ *
+ * Registered automatically through
+ * META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ *
+ * Configuration:
+ *   trace.enabled=true              (see RunTracer)
+ *   jfr.recording.autostart=false   (see FlightRecorderEvents)
+ */
+public class RunTraceListener implements TestExecutionListener {
+
+    // Matrix lanes run one test plan each; the trace is written after the last one
+    private static final AtomicInteger activePlans = new AtomicInteger(0);
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        activePlans.incrementAndGet();
+        FlightRecorderEvents.startRecording();
+        RunTracer.begin("Test run", "suite");
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        String name = getSpanName(testIdentifier);
+        if (name != null) {
+            RunTracer.begin(name, testIdentifier.isTest() ? "test" : "class");
+        }
+        if (testIdentifier.isTest()) {
+            FlightRecorderEvents.setCurrentTest(name);
+        }
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        String name = getSpanName(testIdentifier);
+        if (name != null) {
+            RunTracer.instant(name, "skipped", reason);
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        String name = getSpanName(testIdentifier);
+        if (name != null) {
+            RunTracer.end(name, testIdentifier.isTest() ? "test" : "class", testExecutionResult.getStatus().name());
+        }
+        if (testIdentifier.isTest()) {
+            FlightRecorderEvents.setCurrentTest(null);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        RunTracer.end("Test run", "suite", null);
+        // Work queue workers run one plan per test; WorkQueueWorker writes their trace at the end
+        if (activePlans.decrementAndGet() <= 0 && !WorkQueueWorker.isActive()) {
+            activePlans.set(0);
+            RunTracer.writeTrace();
+            FlightRecorderEvents.stopRecording();
+        }
+    }
+
+    // Tests get the report's "Class - method" name, classes their simple name; engines get no span
+    private static String getSpanName(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            return testIdentifier.getSource()
+                    .filter(MethodSource.class::isInstance)
+                    .map(source -> ((MethodSource) source).getJavaClass().getSimpleName() + " - ")
+                    .orElse("") + testIdentifier.getDisplayName();
+        }
+        return testIdentifier.getSource()
+                .filter(ClassSource.class::isInstance)
+                .map(source -> ((ClassSource) source).getJavaClass().getSimpleName())
+                .orElse(null);
+    }
+}
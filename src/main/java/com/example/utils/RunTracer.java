@@ -0,0 +1,306 @@
+package com.example.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Run Tracer
+ * Records a timeline of the test run (suite, class, test, setup/login, page actions, waits,
+ * screenshots, report flush, background I/O) and writes it in Chrome Trace Event format
+ *
+ * Features:
+ * - One buffer per thread: a thread only ever appends to its own queue, so recording
+ *   takes no lock and threads never contend with each other
+ * - Spans carry the real thread id and name, so parallel lanes, workers and
+ *   virtual-thread I/O show up as separate rows and idle gaps are visible
+ * - Costs a single boolean check per call when disabled
+ * - The same spans are emitted as JDK Flight Recorder events (see FlightRecorderEvents)
+ * - Output opens in chrome://tracing or https://ui.perfetto.dev
+ *
+ * Configuration:
+ *   trace.enabled=true
+ *   trace.max.events.per.thread=100000   (per thread between two trace files; later events are counted as dropped)
+ *
+ * Usage:
+ *   long start = RunTracer.start("action");
+ *   try { ... } finally { RunTracer.complete("clickElement", "action", start, locator.toString()); }
+ */
+public class RunTracer {
+
+    private static final String REPORT_PATH = "test-reports/";
+    private static final boolean enabled = ConfigReader.getBooleanProperty("trace.enabled", true);
+    private static final boolean jfrEnabled = FlightRecorderEvents.isEnabled();
+    private static final int maxEventsPerThread = ConfigReader.getIntProperty("trace.max.events.per.thread", 100000);
+    private static final long originNanos = System.nanoTime();
+    private static final long pid = ProcessHandle.current().pid();
+    private static final Queue<ThreadBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadBuffer> localBuffer = ThreadLocal.withInitial(RunTracer::register);
+    private static final AtomicLong droppedEvents = new AtomicLong(0);
+
+    private RunTracer() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Buffer owned by one thread; only the owner appends, the writer drains
+     */
+    private static class ThreadBuffer {
+        final WeakReference<Thread> owner;
+        final long tid;
+        final String threadName;
+        final Queue<TraceEvent> events = new ConcurrentLinkedQueue<>();
+        // Events appended since the last drain; decremented by the writer, so guarded by atomics
+        final AtomicInteger pending = new AtomicInteger(0);
+
+        ThreadBuffer(Thread thread) {
+            this.owner = new WeakReference<>(thread);
+            this.tid = thread.threadId();
+            this.threadName = thread.getName().isEmpty() ? (thread.isVirtual() ? "virtual-" : "thread-") + tid : thread.getName();
+        }
+    }
+
+    private record TraceEvent(char phase, String name, String category, long tsNanos, long durNanos, String detail) {
+    }
+
+    private static ThreadBuffer register() {
+        ThreadBuffer buffer = new ThreadBuffer(Thread.currentThread());
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Check whether spans are being recorded
+     *
+     * @return true if trace.enabled is set
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start a span that is closed with complete() on the same thread
+     * Also begins the matching Flight Recorder event for the category
+     *
+     * @param category Span category (setup, session, action, wait, report)
+     * @return Current System.nanoTime(), or 0 when tracing and JFR events are both disabled
+     */
+    public static long start(String category) {
+        if (!enabled && !jfrEnabled) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        if (jfrEnabled) {
+            FlightRecorderEvents.begin(category, now);
+        }
+        return now;
+    }
+
+    /**
+     * Record a finished span on the calling thread
+     *
+     * @param name Span name (e.g. method or test name)
+     * @param category Span category (suite, class, test, setup, action, wait, report, async)
+     * @param startNanos Value returned by start(), or System.nanoTime() for trace-only spans
+     * @param detail Extra detail shown in the span's args (locator, status), or null
+     */
+    public static void complete(String name, String category, long startNanos, String detail) {
+        if (startNanos == 0L) {
+            return;
+        }
+        if (jfrEnabled) {
+            FlightRecorderEvents.commit(startNanos, name, detail);
+        }
+        if (enabled) {
+            append(new TraceEvent('X', name, category, startNanos, System.nanoTime() - startNanos, detail));
+        }
+    }
+
+    /**
+     * Open a span that is closed later on the same thread with end()
+     * For spans opened and closed in different callbacks (suite, class, test)
+     *
+     * @param name Span name
+     * @param category Span category
+     */
+    public static void begin(String name, String category) {
+        if (enabled) {
+            append(new TraceEvent('B', name, category, System.nanoTime(), 0L, null));
+        }
+    }
+
+    /**
+     * Close the innermost span opened with begin() on this thread
+     *
+     * @param name Span name
+     * @param category Span category
+     * @param detail Extra detail (e.g. test status), or null
+     */
+    public static void end(String name, String category, String detail) {
+        if (enabled) {
+            append(new TraceEvent('E', name, category, System.nanoTime(), 0L, detail));
+        }
+    }
+
+    /**
+     * Record a zero-length marker (e.g. a skipped test)
+     *
+     * @param name Marker name
+     * @param category Marker category
+     * @param detail Extra detail, or null
+     */
+    public static void instant(String name, String category, String detail) {
+        if (enabled) {
+            append(new TraceEvent('i', name, category, System.nanoTime(), 0L, detail));
+        }
+    }
+
+    private static void append(TraceEvent event) {
+        ThreadBuffer buffer = localBuffer.get();
+        if (buffer.pending.get() >= maxEventsPerThread) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+        buffer.pending.incrementAndGet();
+        buffer.events.add(event);
+    }
+
+    /**
+     * Drain every thread's buffer into test-reports/trace_<timestamp>.json
+     * Events recorded after the drain go into the next file
+     *
+     * @return Path of the written trace, or null if disabled, empty or on error
+     */
+    public static String writeTrace() {
+        if (!enabled) {
+            return null;
+        }
+        List<ThreadBuffer> threads = new ArrayList<>();
+        List<List<TraceEvent>> drained = new ArrayList<>();
+        int total = 0;
+        for (ThreadBuffer buffer : buffers) {
+            List<TraceEvent> events = new ArrayList<>();
+            TraceEvent event;
+            while ((event = buffer.events.poll()) != null) {
+                events.add(event);
+            }
+            // Frees room for the thread's next events (long-lived workers and the daemon runner)
+            buffer.pending.addAndGet(-events.size());
+            if (!events.isEmpty()) {
+                threads.add(buffer);
+                drained.add(events);
+                total += events.size();
+            }
+        }
+        // Buffers of finished threads (virtual I/O threads) are not needed any more
+        buffers.removeIf(buffer -> buffer.events.isEmpty() && !isOwnerAlive(buffer));
+        if (total == 0) {
+            return null;
+        }
+
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss_SSS").format(new Date());
+        Path file = Paths.get(REPORT_PATH, "trace_" + timestamp + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("{\"displayTimeUnit\":\"ms\",\"otherData\":{\"droppedEvents\":" + droppedEvents.get() + "},\"traceEvents\":[\n");
+                out.write("{\"ph\":\"M\",\"name\":\"process_name\",\"pid\":" + pid + ",\"tid\":0,\"args\":{\"name\":\"Test run\"}}");
+                for (int i = 0; i < threads.size(); i++) {
+                    ThreadBuffer thread = threads.get(i);
+                    out.write(",\n{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":" + pid + ",\"tid\":" + thread.tid
+                            + ",\"args\":{\"name\":\"" + escape(thread.threadName) + "\"}}");
+                    for (TraceEvent event : drained.get(i)) {
+                        out.write(",\n");
+                        writeEvent(out, event, thread.tid);
+                    }
+                }
+                out.write("\n]}\n");
+            }
+            System.out.println("✓ Run trace written (" + total + " events, " + threads.size() + " threads): " + file);
+            return file.toString();
+        } catch (IOException e) {
+            System.err.println("✗ Error writing run trace: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Only the owner thread appends, so a dead owner's emptied buffer can go
+    private static boolean isOwnerAlive(ThreadBuffer buffer) {
+        Thread owner = buffer.owner.get();
+        return owner != null && owner.isAlive();
+    }
+
+    private static void writeEvent(BufferedWriter out, TraceEvent event, long tid) throws IOException {
+        StringBuilder json = new StringBuilder(160);
+        json.append("{\"ph\":\"").append(event.phase())
+                .append("\",\"name\":\"").append(escape(event.name()))
+                .append("\",\"cat\":\"").append(escape(event.category()))
+                .append("\",\"ts\":").append(micros(event.tsNanos() - originNanos))
+                .append(",\"pid\":").append(pid)
+                .append(",\"tid\":").append(tid);
+        if (event.phase() == 'X') {
+            json.append(",\"dur\":").append(micros(event.durNanos()));
+        } else if (event.phase() == 'i') {
+            json.append(",\"s\":\"t\"");
+        }
+        if (event.detail() != null) {
+            json.append(",\"args\":{\"detail\":\"").append(escape(event.detail())).append("\"}");
+        }
+        out.write(json.append('}').toString());
+    }
+
+    // Trace timestamps are microseconds; keep sub-microsecond precision for short spans
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Short description for the report's system info
+     *
+     * @return Summary, or null when tracing is disabled
+     */
+    public static String getSummary() {
+        if (!enabled) {
+            return null;
+        }
+        return "Timeline written to " + REPORT_PATH + "trace_*.json (chrome://tracing / Perfetto)"
+                + (droppedEvents.get() > 0 ? ", " + droppedEvents.get() + " events dropped" : "");
+    }
+}
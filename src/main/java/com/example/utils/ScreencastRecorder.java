@@ -0,0 +1,338 @@
+package com.example.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Screencast Recorder
+ * Low-cost session video for Chrome/Edge built on the CDP Page.screencastFrame stream
+ *
+ * Features:
+ * - Browser pushes JPEG frames only when the page repaints, at the configured size and quality
+ * - Frames thinned out to video.fps and kept in a per-session ring buffer covering the
+ *   last video.retain.seconds, capped at video.memory.limit.mb (oldest frames dropped first)
+ * - Passing tests never touch the disk
+ * - On failure the buffer is encoded on a background thread into an MJPEG AVI
+ *   (plays in VLC, ffplay and most desktop players) under test-reports/videos/
+ * - Buffer size, encode time and file size reported per video and in the run summary
+ *
+ * Configuration:
+ *   video.enabled=false
+ *   video.fps=5
+ *   video.max.width=1280
+ *   video.max.height=720
+ *   video.jpeg.quality=60
+ *   video.retain.seconds=30
+ *   video.memory.limit.mb=32
+ *
+ * Usage:
+ *   ScreencastRecorder.startTest(driver);                          // BaseClass.setUp
+ *   String video = ScreencastRecorder.captureOnFailure(driver, name); // ExtentReportListener on failure
+ */
+public class ScreencastRecorder {
+
+    private static final String VIDEO_DIR = "test-reports/videos/";
+    private static final Map<WebDriver, Recorder> recorders = new ConcurrentHashMap<>();
+    private static final AtomicInteger videosEncoded = new AtomicInteger(0);
+    private static final AtomicLong totalEncodeMs = new AtomicLong(0);
+    private static final AtomicLong totalVideoBytes = new AtomicLong(0);
+    private static final AtomicLong peakBufferBytes = new AtomicLong(0);
+
+    /**
+     * One JPEG frame with the time the browser painted it
+     */
+    private static class Frame {
+        final long timestampMs;
+        final byte[] jpeg;
+
+        Frame(long timestampMs, byte[] jpeg) {
+            this.timestampMs = timestampMs;
+            this.jpeg = jpeg;
+        }
+    }
+
+    /**
+     * Frame ring buffer of one browser session
+     */
+    private static class Recorder {
+        private final long minFrameIntervalMs;
+        private final long retainMs;
+        private final long memoryLimitBytes;
+        private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+        private long bufferedBytes = 0;
+        private long lastFrameMs = 0;
+        DevTools devTools;
+
+        Recorder(int fps, int retainSeconds, int memoryLimitMb) {
+            this.minFrameIntervalMs = 1000L / Math.max(1, fps);
+            this.retainMs = retainSeconds * 1000L;
+            this.memoryLimitBytes = memoryLimitMb * 1024L * 1024L;
+        }
+
+        synchronized void add(long timestampMs, String base64Jpeg) {
+            if (timestampMs - lastFrameMs < minFrameIntervalMs) {
+                return;
+            }
+            lastFrameMs = timestampMs;
+            Frame frame = new Frame(timestampMs, Base64.getDecoder().decode(base64Jpeg));
+            frames.addLast(frame);
+            bufferedBytes += frame.jpeg.length;
+            while (!frames.isEmpty() && (bufferedBytes > memoryLimitBytes
+                    || timestampMs - frames.peekFirst().timestampMs > retainMs)) {
+                bufferedBytes -= frames.pollFirst().jpeg.length;
+            }
+            peakBufferBytes.accumulateAndGet(bufferedBytes, Math::max);
+        }
+
+        synchronized void clear() {
+            frames.clear();
+            bufferedBytes = 0;
+            lastFrameMs = 0;
+        }
+
+        synchronized List<Frame> snapshot() {
+            return new ArrayList<>(frames);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("video.enabled", false);
+    }
+
+    /**
+     * Start recording for a new test on this session
+     * Starts the screencast the first time a Chrome/Edge session is seen and empties its buffer
+     *
+     * @param driver Session the test will use
+     */
+    public static void startTest(WebDriver driver) {
+        if (driver == null || !isEnabled() || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        Recorder recorder = recorders.computeIfAbsent(driver, ScreencastRecorder::attach);
+        recorder.clear();
+    }
+
+    /**
+     * Stop recording a session that is being quit
+     *
+     * @param driver Session to forget
+     */
+    public static void detach(WebDriver driver) {
+        Recorder recorder = driver != null ? recorders.remove(driver) : null;
+        if (recorder != null && recorder.devTools != null) {
+            try {
+                recorder.devTools.send(new Command<Void>("Page.stopScreencast", Collections.emptyMap()));
+            } catch (Exception e) {
+                // Session is going away anyway
+            }
+        }
+    }
+
+    /**
+     * Encode the buffered frames of a failed test into a video
+     * The buffer is copied on the calling thread; encoding and writing run in the background
+     *
+     * @param driver Session of the failed test
+     * @param testName Name used for the video file
+     * @return Video path relative to the project root, or null if no frames were recorded
+     */
+    public static String captureOnFailure(WebDriver driver, String testName) {
+        Recorder recorder = driver != null ? recorders.get(driver) : null;
+        List<Frame> frames = recorder != null ? recorder.snapshot() : Collections.emptyList();
+        if (frames.isEmpty()) {
+            return null;
+        }
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss_SSS").format(new Date());
+        String fileName = testName.replaceAll("[^a-zA-Z0-9-_\\.]", "_") + "_" + timestamp + ".avi";
+        Path dest = Paths.get(System.getProperty("user.dir")).resolve(VIDEO_DIR).resolve(fileName);
+        AsyncTaskExecutor.run("encode video", () -> {
+            long start = System.currentTimeMillis();
+            try {
+                Files.createDirectories(dest.getParent());
+                try (OutputStream out = Files.newOutputStream(dest)) {
+                    writeMjpegAvi(frames, out);
+                }
+                long encodeMs = System.currentTimeMillis() - start;
+                long size = Files.size(dest);
+                videosEncoded.incrementAndGet();
+                totalEncodeMs.addAndGet(encodeMs);
+                totalVideoBytes.addAndGet(size);
+                System.out.println("✓ Video saved: " + dest + " (" + frames.size() + " frames, "
+                        + size / 1024 + " KB, encoded in " + encodeMs + " ms)");
+            } catch (IOException e) {
+                System.err.println("✗ Error saving video: " + e.getMessage());
+            }
+        });
+        long bufferedBytes = frames.stream().mapToLong(frame -> frame.jpeg.length).sum();
+        ExtentReportListener.logInfo(String.format("Video: last %.1f s, %d frames, %d KB buffered",
+                (frames.get(frames.size() - 1).timestampMs - frames.get(0).timestampMs) / 1000.0,
+                frames.size(), bufferedBytes / 1024));
+        return VIDEO_DIR + fileName;
+    }
+
+    /**
+     * Get recording statistics for reports
+     *
+     * @return Summary of encoded videos, encode time and buffer memory, or null if recording is off
+     */
+    public static String getSummary() {
+        if (!isEnabled()) {
+            return null;
+        }
+        int videos = videosEncoded.get();
+        return "Session video: " + videos + " failure video(s), " + totalVideoBytes.get() / 1024 + " KB"
+                + " | encode avg " + (videos > 0 ? totalEncodeMs.get() / videos : 0) + " ms"
+                + " | peak buffer " + peakBufferBytes.get() / 1024 + " KB per session";
+    }
+
+    // ========== SCREENCAST ==========
+
+    @SuppressWarnings("unchecked")
+    private static Recorder attach(WebDriver driver) {
+        Recorder recorder = new Recorder(ConfigReader.getIntProperty("video.fps", 5),
+                ConfigReader.getIntProperty("video.retain.seconds", 30),
+                ConfigReader.getIntProperty("video.memory.limit.mb", 32));
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.addListener(new Event<Map<String, Object>>("Page.screencastFrame", input -> input.read(Json.MAP_TYPE)),
+                    frame -> {
+                        Map<String, Object> metadata = (Map<String, Object>) frame.get("metadata");
+                        Object timestamp = metadata != null ? metadata.get("timestamp") : null;
+                        long timestampMs = timestamp instanceof Number
+                                ? (long) (((Number) timestamp).doubleValue() * 1000) : System.currentTimeMillis();
+                        recorder.add(timestampMs, String.valueOf(frame.get("data")));
+                        // The browser sends the next frame only after this one is acknowledged
+                        devTools.send(new Command<Void>("Page.screencastFrameAck",
+                                Collections.singletonMap("sessionId", frame.get("sessionId"))));
+                    });
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", "jpeg");
+            params.put("quality", ConfigReader.getIntProperty("video.jpeg.quality", 60));
+            params.put("maxWidth", ConfigReader.getIntProperty("video.max.width", 1280));
+            params.put("maxHeight", ConfigReader.getIntProperty("video.max.height", 720));
+            devTools.send(new Command<Void>("Page.startScreencast", params));
+            recorder.devTools = devTools;
+        } catch (Exception e) {
+            System.out.println("Session video unavailable for this session: " + e.getMessage());
+        }
+        return recorder;
+    }
+
+    // ========== MJPEG AVI ==========
+
+    /**
+     * Write frames as an AVI with one MJPEG stream
+     * Frame rate is the average rate of the buffered frames so playback runs in real time
+     */
+    private static void writeMjpegAvi(List<Frame> frames, OutputStream out) throws IOException {
+        int[] size = readJpegSize(frames.get(frames.size() - 1).jpeg);
+        long durationMs = Math.max(1, frames.get(frames.size() - 1).timestampMs - frames.get(0).timestampMs);
+        int microSecPerFrame = frames.size() > 1 ? (int) (durationMs * 1000 / (frames.size() - 1)) : 1_000_000;
+        int maxFrameBytes = 0;
+        int moviBytes = 4;
+        for (Frame frame : frames) {
+            maxFrameBytes = Math.max(maxFrameBytes, frame.jpeg.length);
+            moviBytes += 8 + padded(frame.jpeg.length);
+        }
+        int hdrlBytes = 4 + (8 + 56) + (8 + 4 + (8 + 56) + (8 + 40));
+        int idxBytes = 16 * frames.size();
+        int riffBytes = 4 + (8 + hdrlBytes) + (8 + moviBytes) + (8 + idxBytes);
+
+        ByteBuffer header = ByteBuffer.allocate(12 + 8 + hdrlBytes + 12).order(ByteOrder.LITTLE_ENDIAN);
+        fourCc(header, "RIFF").putInt(riffBytes);
+        fourCc(header, "AVI ");
+        fourCc(header, "LIST").putInt(hdrlBytes);
+        fourCc(header, "hdrl");
+        fourCc(header, "avih").putInt(56);
+        header.putInt(microSecPerFrame).putInt(0).putInt(0).putInt(0x10) // AVIF_HASINDEX
+                .putInt(frames.size()).putInt(0).putInt(1).putInt(maxFrameBytes)
+                .putInt(size[0]).putInt(size[1]).putInt(0).putInt(0).putInt(0).putInt(0);
+        fourCc(header, "LIST").putInt(4 + (8 + 56) + (8 + 40));
+        fourCc(header, "strl");
+        fourCc(header, "strh").putInt(56);
+        fourCc(fourCc(header, "vids"), "MJPG");
+        header.putInt(0).putShort((short) 0).putShort((short) 0).putInt(0)
+                .putInt(microSecPerFrame).putInt(1_000_000).putInt(0).putInt(frames.size())
+                .putInt(maxFrameBytes).putInt(-1).putInt(0)
+                .putShort((short) 0).putShort((short) 0).putShort((short) size[0]).putShort((short) size[1]);
+        fourCc(header, "strf").putInt(40);
+        header.putInt(40).putInt(size[0]).putInt(size[1]).putShort((short) 1).putShort((short) 24);
+        fourCc(header, "MJPG");
+        header.putInt(size[0] * size[1] * 3).putInt(0).putInt(0).putInt(0).putInt(0);
+        fourCc(header, "LIST").putInt(moviBytes);
+        fourCc(header, "movi");
+        out.write(header.array());
+
+        ByteBuffer index = ByteBuffer.allocate(8 + idxBytes).order(ByteOrder.LITTLE_ENDIAN);
+        fourCc(index, "idx1").putInt(idxBytes);
+        int offset = 4; // relative to the "movi" fourcc
+        ByteBuffer chunkHeader = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        for (Frame frame : frames) {
+            chunkHeader.clear();
+            fourCc(chunkHeader, "00dc").putInt(frame.jpeg.length);
+            out.write(chunkHeader.array());
+            out.write(frame.jpeg);
+            if (frame.jpeg.length % 2 != 0) {
+                out.write(0);
+            }
+            fourCc(index, "00dc").putInt(0x10).putInt(offset).putInt(frame.jpeg.length); // AVIIF_KEYFRAME
+            offset += 8 + padded(frame.jpeg.length);
+        }
+        out.write(index.array());
+    }
+
+    // Width and height from the first SOF marker of a JPEG
+    private static int[] readJpegSize(byte[] jpeg) {
+        int i = 2;
+        while (i + 9 < jpeg.length) {
+            if ((jpeg[i] & 0xFF) != 0xFF) {
+                i++;
+                continue;
+            }
+            int marker = jpeg[i + 1] & 0xFF;
+            if (marker >= 0xC0 && marker <= 0xC3) {
+                int height = ((jpeg[i + 5] & 0xFF) << 8) | (jpeg[i + 6] & 0xFF);
+                int width = ((jpeg[i + 7] & 0xFF) << 8) | (jpeg[i + 8] & 0xFF);
+                return new int[] {width, height};
+            }
+            i += 2 + (((jpeg[i + 2] & 0xFF) << 8) | (jpeg[i + 3] & 0xFF));
+        }
+        return new int[] {ConfigReader.getIntProperty("video.max.width", 1280),
+                ConfigReader.getIntProperty("video.max.height", 720)};
+    }
+
+    private static ByteBuffer fourCc(ByteBuffer buffer, String code) {
+        return buffer.put(code.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int padded(int length) {
+        return length + (length % 2);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.utils;
+
+import com.example.base.BaseClass;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Session Pre-warm Listener
+ * JUnit Platform listener that reads the discovered test plan before execution
+ * and tells WebDriverFactory how many browser sessions will be needed,
+ * so sessions can be launched ahead of demand
+ *
+ * Registered automatically through
+ * META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ *
+ * Configuration:
+ *   prewarm.sessions=2   (number of sessions kept ready; 0 disables pre-warming)
+ */
+public class SessionPrewarmListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (MatrixRunner.isActive() || WorkQueueWorker.isActive() || TestRunnerDaemon.isActive()) {
+            // Matrix lanes, work queue workers and the daemon reuse sessions from their own pools
+            return;
+        }
+        // Clear processes of crashed earlier runs before launching new browsers
+        ProcessWatchdog.reapLeftovers();
+        int plannedSessions = countBrowserTests(testPlan);
+        if (plannedSessions > 0) {
+            WebDriverFactory.planSessions(TestDataManager.getBrowserType(), plannedSessions);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (MatrixRunner.isActive() || WorkQueueWorker.isActive() || TestRunnerDaemon.isActive()) {
+            return;
+        }
+        WebDriverFactory.discardWarmSessions();
+        System.out.println("✓ " + WebDriverFactory.getPrewarmSummary());
+        SharedBrowser.shutdown();
+    }
+
+    /**
+     * Count test methods whose class extends BaseClass (each one opens a browser)
+     */
+    private static int countBrowserTests(TestPlan testPlan) {
+        int count = 0;
+        Deque<TestIdentifier> toVisit = new ArrayDeque<>(testPlan.getRoots());
+        while (!toVisit.isEmpty()) {
+            TestIdentifier identifier = toVisit.pop();
+            // isBrowserTest only accepts test methods; a @RetryingTest counts once
+            if (isBrowserTest(identifier)) {
+                count++;
+            }
+            toVisit.addAll(testPlan.getChildren(identifier));
+        }
+        return count;
+    }
+
+    private static boolean isBrowserTest(TestIdentifier identifier) {
+        TestSource source = identifier.getSource().orElse(null);
+        if (!(source instanceof MethodSource)) {
+            return false;
+        }
+        try {
+            return BaseClass.class.isAssignableFrom(((MethodSource) source).getJavaClass());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Shard Report Merger
+ * Merges the results of a run split across several CI jobs (shards) into one report
+ *
+ * Inputs per shard directory (searched recursively, e.g. downloaded CI artifacts):
+ * - surefire TEST-*.xml: the tests, their durations and failures (source of truth)
+ * - TestResults_*.tsv written by DetailedReportGenerator: first start and last end of
+ *   the shard's tests, i.e. its wall-clock time (without it the test times are summed)
+ *
+ * Features:
+ * - XML read with a StAX stream reader and TSV line by line: input files are never loaded
+ *   whole, and stack traces and captured output are skipped rather than buffered
+ * - Critical path: the wall time of the slowest shard, i.e. how long the split run took
+ * - One merged Extent report (tests grouped by shard), one Detailed report, one Slack message
+ *
+ * Usage:
+ *   mvn compile exec:java -Dexec.mainClass=com.example.utils.ShardReportMerger \
+ *       -Dexec.args="shard-1/ shard-2/ shard-3/"
+ */
+public class ShardReportMerger {
+
+    private static final String REPORT_PATH = "test-reports/";
+    private static final int SLOWEST_TESTS = 5;
+
+    /**
+     * Totals of a merge
+     */
+    public static class Summary {
+        public int total;
+        public int passed;
+        public int failed;
+        public int errors;
+        public int skipped;
+        public long totalTestMs;
+        public long criticalPathMs;
+        public String criticalShard;
+        public final Map<String, Long> shardWallMs = new LinkedHashMap<>();
+        public final List<String> slowestTests = new ArrayList<>();
+        public String reportFile;
+
+        /**
+         * Test time divided by (critical path x shards): 1.0 means perfectly balanced shards
+         */
+        public double getBalance() {
+            return criticalPathMs > 0 && !shardWallMs.isEmpty()
+                    ? (double) totalTestMs / (criticalPathMs * shardWallMs.size()) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Shards: %d | total: %d | passed: %d | failed: %d | errors: %d | skipped: %d%n"
+                            + "Test time: %.1f s | critical path: %.1f s (%s) | shard balance: %.0f%%",
+                    shardWallMs.size(), total, passed, failed, errors, skipped, totalTestMs / 1000.0,
+                    criticalPathMs / 1000.0, criticalShard, getBalance() * 100);
+        }
+    }
+
+    /**
+     * One test case as read from a surefire XML file
+     */
+    private static class TestCase {
+        String className = "";
+        String name = "";
+        long timeMs;
+        String status = "PASS";
+        String message;
+    }
+
+    /**
+     * Merge shard directories and write the merged Extent and Detailed reports
+     *
+     * @param shardDirs One directory per shard
+     * @param reportDir Directory for the merged reports (test-reports/ when run from main)
+     * @return Totals and critical path of the merged run
+     * @throws IOException if a shard cannot be read
+     */
+    public Summary merge(List<Path> shardDirs, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        Summary summary = new Summary();
+        summary.reportFile = reportDir.resolve("MergedTestReport_" + timestamp + ".html").toString();
+
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(summary.reportFile);
+        sparkReporter.config().setTheme(Theme.DARK);
+        sparkReporter.config().setDocumentTitle("Merged Test Execution Report");
+        sparkReporter.config().setReportName("Selenium Test Automation - Merged Shards");
+        sparkReporter.config().setOfflineMode(true);
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        List<DetailedReportGenerator.TestCaseDetail> details = new ArrayList<>();
+        PriorityQueue<TestCase> slowest = new PriorityQueue<>(Comparator.comparingLong((TestCase c) -> c.timeMs));
+
+        for (Path shardDir : shardDirs) {
+            String shard = shardDir.getFileName() != null ? shardDir.getFileName().toString() : shardDir.toString();
+            long shardTestMs = 0;
+            for (Path xml : findFiles(shardDir, "TEST-", ".xml")) {
+                for (TestCase testCase : readSurefireXml(xml)) {
+                    shardTestMs += testCase.timeMs;
+                    record(summary, testCase, shard, extent, details);
+                    slowest.add(testCase);
+                    if (slowest.size() > SLOWEST_TESTS) {
+                        slowest.poll();
+                    }
+                }
+            }
+            long wallMs = readWallTime(findFiles(shardDir, "TestResults_", ".tsv"));
+            summary.totalTestMs += shardTestMs;
+            summary.shardWallMs.put(shard, wallMs > 0 ? wallMs : shardTestMs);
+        }
+        summary.shardWallMs.forEach((shard, wallMs) -> {
+            if (summary.criticalShard == null || wallMs > summary.criticalPathMs) {
+                summary.criticalShard = shard;
+                summary.criticalPathMs = wallMs;
+            }
+        });
+        List<TestCase> slowestSorted = new ArrayList<>(slowest);
+        slowestSorted.sort(Comparator.comparingLong((TestCase c) -> c.timeMs).reversed());
+        for (TestCase testCase : slowestSorted) {
+            summary.slowestTests.add(simpleName(testCase.className) + " - " + testCase.name + " (" + testCase.timeMs + " ms)");
+        }
+
+        extent.setSystemInfo("Shards", String.valueOf(summary.shardWallMs.size()));
+        extent.setSystemInfo("Critical Path", String.format("%.1f s (%s)", summary.criticalPathMs / 1000.0, summary.criticalShard));
+        extent.setSystemInfo("Total Test Time", String.format("%.1f s", summary.totalTestMs / 1000.0));
+        extent.setSystemInfo("Shard Wall Times", summary.shardWallMs.entrySet().stream()
+                .map(e -> e.getKey() + " " + e.getValue() / 1000 + " s").collect(Collectors.joining(", ")));
+        extent.setSystemInfo("Slowest Tests", String.join(", ", summary.slowestTests));
+        extent.flush();
+        System.out.println("✓ Merged Extent Report generated: " + summary.reportFile);
+        DetailedReportGenerator.generateDetailedReport(details, reportDir.toString());
+        return summary;
+    }
+
+    private static void record(Summary summary, TestCase testCase, String shard, ExtentReports extent,
+                               List<DetailedReportGenerator.TestCaseDetail> details) {
+        summary.total++;
+        String testName = simpleName(testCase.className) + " - " + testCase.name;
+        ExtentTest test = extent.createTest(testName);
+        test.assignCategory(shard);
+        test.info("Shard: " + shard + " | " + testCase.timeMs + " ms");
+        switch (testCase.status) {
+            case "FAIL":
+                summary.failed++;
+                test.fail("Test failed: " + testCase.message);
+                break;
+            case "ERROR":
+                summary.errors++;
+                test.fail("Test error: " + testCase.message);
+                break;
+            case "SKIP":
+                summary.skipped++;
+                test.skip(testCase.message != null ? testCase.message : "Test skipped");
+                break;
+            default:
+                summary.passed++;
+                test.pass("Test passed successfully");
+        }
+        details.add(new DetailedReportGenerator.TestCaseDetail(testName + " [" + shard + "]",
+                "ERROR".equals(testCase.status) ? "FAIL" : testCase.status, testCase.timeMs, "-", "-"));
+    }
+
+    // ========== INPUT ==========
+
+    /**
+     * Stream the test cases out of one surefire XML file
+     * Properties, system-out and stack traces are skipped, not buffered
+     */
+    private static List<TestCase> readSurefireXml(Path xml) throws IOException {
+        List<TestCase> cases = new ArrayList<>();
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try (InputStream in = Files.newInputStream(xml)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            TestCase current = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if ("testcase".equals(element)) {
+                        current = new TestCase();
+                        current.className = attribute(reader, "classname", "");
+                        current.name = attribute(reader, "name", "");
+                        current.timeMs = parseSeconds(attribute(reader, "time", "0"));
+                    } else if (current != null && ("failure".equals(element) || "error".equals(element))) {
+                        current.status = "failure".equals(element) ? "FAIL" : "ERROR";
+                        current.message = firstLine(attribute(reader, "message", attribute(reader, "type", element)));
+                    } else if (current != null && "skipped".equals(element)) {
+                        current.status = "SKIP";
+                        current.message = attribute(reader, "message", null);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "testcase".equals(reader.getLocalName())) {
+                    cases.add(current);
+                    current = null;
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException e) {
+            System.err.println("✗ Skipping unreadable surefire report " + xml + ": " + e.getMessage());
+        }
+        return cases;
+    }
+
+    /**
+     * Wall time of a shard from its TestResults files: first start to last end (HH:mm:ss)
+     * A run that passes midnight wraps around once
+     *
+     * @return Wall time in ms, or 0 if no TestResults file has timed rows
+     */
+    private static long readWallTime(List<Path> resultFiles) throws IOException {
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (Path file : resultFiles) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split("\t");
+                    if (line.startsWith("#") || columns.length < 5) {
+                        continue;
+                    }
+                    long start = parseClock(columns[3]);
+                    long end = parseClock(columns[4]);
+                    if (start < 0 || end < 0) {
+                        continue;
+                    }
+                    if (end < start) {
+                        end += 24 * 3600_000L;
+                    }
+                    first = Math.min(first, start);
+                    last = Math.max(last, end);
+                }
+            }
+        }
+        return first == Long.MAX_VALUE ? 0 : last - first;
+    }
+
+    private static List<Path> findFiles(Path dir, String prefix, String suffix) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            throw new IOException("Shard directory not found: " + dir);
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(suffix);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String attribute(XMLStreamReader reader, String name, String defaultValue) {
+        String value = reader.getAttributeValue(null, name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static long parseSeconds(String seconds) {
+        try {
+            return Math.round(Double.parseDouble(seconds.replace(",", "")) * 1000);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // HH:mm:ss to ms since midnight, -1 if not a clock time
+    private static long parseClock(String clock) {
+        String[] parts = clock.trim().split(":");
+        if (parts.length != 3) {
+            return -1;
+        }
+        try {
+            return ((Long.parseLong(parts[0]) * 60 + Long.parseLong(parts[1])) * 60 + Long.parseLong(parts[2])) * 1000;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static String firstLine(String text) {
+        return text == null ? null : text.split("\n")[0];
+    }
+
+    /**
+     * Entry point: merge the shard directories given as arguments and send one Slack message
+     * Exits with status 1 if any shard had failures or errors
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ShardReportMerger <shard-dir> [<shard-dir> ...]");
+            System.exit(2);
+        }
+        List<Path> shardDirs = new ArrayList<>();
+        for (String arg : args) {
+            shardDirs.add(Paths.get(arg));
+        }
+        Summary summary = new ShardReportMerger().merge(shardDirs, Paths.get(REPORT_PATH));
+        System.out.println("\n=== Merged Shard Results ===");
+        System.out.println(summary);
+        System.out.println("Shard wall times: " + summary.shardWallMs);
+        System.out.println("Slowest tests: " + summary.slowestTests);
+        SlackNotifier.sendTestResults(summary.total, summary.passed, summary.failed + summary.errors,
+                summary.skipped, summary.criticalPathMs, summary.reportFile);
+        System.exit(summary.failed + summary.errors > 0 ? 1 : 0);
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.json.Json;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared Browser
+ * One Chromium process (Chrome or Edge) hosting many isolated browser contexts
+ * Each test gets its own context (separate cookies, storage and cache) created with
+ * CDP Target.createBrowserContext, and a lightweight driver session attached to the
+ * shared browser and switched to that context's tab
+ *
+ * Compared to one browser per test this saves the browser launch and most of the
+ * memory; only a small chromedriver process is started per context
+ *
+ * Configuration:
+ *   browser.contexts.enabled=false   (true to use shared-browser contexts in acquireDriver)
+ *
+ * Usage:
+ *   WebDriver driver = SharedBrowser.getInstance("chrome", true).newContext();
+ *   ...
+ *   SharedBrowser.closeContext(driver);
+ *
+ * Firefox is not supported: its driver cannot bind a classic session to a BiDi
+ * user context, so WebDriverFactory keeps launching one browser per test there
+ */
+public class SharedBrowser {
+
+    private static volatile SharedBrowser instance;
+    private static final Map<WebDriver, String> contextsByDriver = new ConcurrentHashMap<>();
+
+    private final String browserType;
+    private final ChromiumDriver host;
+    private final DevTools devTools;
+    private final String debuggerAddress;
+
+    private final AtomicInteger liveContexts = new AtomicInteger(0);
+    private final AtomicInteger createdContexts = new AtomicInteger(0);
+    private final AtomicInteger peakContexts = new AtomicInteger(0);
+    private final AtomicLong creationNanos = new AtomicLong(0);
+    private final AtomicLong peakRssKb = new AtomicLong(0);
+    private volatile long rssPerContextKb = 0;
+
+    private SharedBrowser(String browserType, boolean headless) {
+        this.browserType = browserType;
+        long start = System.nanoTime();
+        this.host = (ChromiumDriver) WebDriverFactory.createDriver(browserType, headless);
+        this.devTools = host.getDevTools();
+        this.debuggerAddress = readDebuggerAddress(host, browserType);
+        System.out.println("✓ Shared " + browserType + " started in " + (System.nanoTime() - start) / 1_000_000
+                + " ms (debugger at " + debuggerAddress + ")");
+    }
+
+    /**
+     * Check whether browser contexts are enabled for a browser type
+     *
+     * @param browserType Type of browser (chrome, firefox, edge)
+     * @return true if browser.contexts.enabled is set and the browser is a local Chromium
+     */
+    public static boolean isEnabledFor(String browserType) {
+        String browser = browserType.toLowerCase();
+        return ConfigReader.getBooleanProperty("browser.contexts.enabled", false)
+                && !GridSessionFactory.isRemote()
+                && (browser.equals("chrome") || browser.equals("edge"));
+    }
+
+    /**
+     * Get the shared browser, launching it on first use
+     *
+     * @param browserType chrome or edge
+     * @param headless true to launch the shared browser without a window
+     * @return Shared browser for this JVM
+     */
+    public static synchronized SharedBrowser getInstance(String browserType, boolean headless) {
+        if (instance == null) {
+            instance = new SharedBrowser(browserType.toLowerCase(), headless);
+            Runtime.getRuntime().addShutdownHook(new Thread(SharedBrowser::shutdown));
+        } else if (!instance.browserType.equalsIgnoreCase(browserType)) {
+            throw new IllegalStateException("Shared browser is " + instance.browserType + ", cannot host " + browserType);
+        }
+        return instance;
+    }
+
+    /**
+     * Create an isolated browser context and a driver bound to it
+     *
+     * @return WebDriver whose current window is a tab in the new context
+     */
+    public WebDriver newContext() {
+        long start = System.nanoTime();
+        String contextId = (String) send("Target.createBrowserContext", Map.of("disposeOnDetach", false))
+                .get("browserContextId");
+        WebDriver driver = null;
+        try {
+            String targetId = (String) send("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+            driver = attachDriver();
+            driver.switchTo().window(targetId);
+        } catch (RuntimeException e) {
+            if (driver != null) {
+                driver.quit();
+            }
+            disposeContext(contextId);
+            throw e;
+        }
+        contextsByDriver.put(driver, contextId);
+
+        long elapsed = System.nanoTime() - start;
+        creationNanos.addAndGet(elapsed);
+        createdContexts.incrementAndGet();
+        int live = liveContexts.incrementAndGet();
+        peakContexts.accumulateAndGet(live, Math::max);
+        sampleMemory(live);
+        System.out.println("Browser context created in " + elapsed / 1_000_000 + " ms (" + live + " live in one "
+                + browserType + " process)");
+        return driver;
+    }
+
+    /**
+     * Check whether a driver was created by newContext()
+     *
+     * @param driver Driver to check
+     * @return true if the driver is bound to a shared-browser context
+     */
+    public static boolean owns(WebDriver driver) {
+        return driver != null && contextsByDriver.containsKey(driver);
+    }
+
+    /**
+     * Detach the driver and dispose its browser context (closes its tabs and clears its storage)
+     *
+     * @param driver Driver returned by newContext()
+     */
+    public static void closeContext(WebDriver driver) {
+        String contextId = contextsByDriver.remove(driver);
+        if (contextId == null) {
+            return;
+        }
+        try {
+            // Attached sessions only detach on quit, the shared browser keeps running
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("✗ Error detaching context driver: " + e.getMessage());
+        }
+        SharedBrowser browser = instance;
+        if (browser != null) {
+            browser.disposeContext(contextId);
+            browser.liveContexts.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get context statistics for logs and reports
+     *
+     * @return Summary of contexts per process, creation latency and memory, or null if not started
+     */
+    public static String getSummary() {
+        SharedBrowser browser = instance;
+        return browser != null ? browser.summary() : null;
+    }
+
+    /**
+     * Dispose every context and quit the shared browser
+     * Safe to call more than once
+     */
+    public static synchronized void shutdown() {
+        SharedBrowser browser = instance;
+        if (browser == null) {
+            return;
+        }
+        for (WebDriver driver : contextsByDriver.keySet()) {
+            closeContext(driver);
+        }
+        instance = null;
+        try {
+            browser.host.quit();
+            System.out.println("✓ Shared " + browser.browserType + " closed | " + browser.summary());
+        } catch (Exception e) {
+            System.err.println("✗ Error closing shared browser: " + e.getMessage());
+        }
+    }
+
+    private String summary() {
+        int created = createdContexts.get();
+        return "Browser contexts: " + created + " created, peak " + peakContexts.get() + " per process"
+                + " | avg creation " + (created > 0 ? creationNanos.get() / created / 1_000_000 : 0) + " ms"
+                + " | memory " + (peakRssKb.get() > 0
+                        ? peakRssKb.get() / 1024 + " MB peak, " + rssPerContextKb / 1024 + " MB per context"
+                        : "n/a");
+    }
+
+    private void disposeContext(String contextId) {
+        try {
+            send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (Exception e) {
+            System.err.println("✗ Could not dispose browser context " + contextId + ": " + e.getMessage());
+        }
+    }
+
+    // Browser-level CDP command (no target session), so Target.* commands are allowed
+    private Map<String, Object> send(String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method, params, Json.MAP_TYPE));
+    }
+
+    // New driver session attached to the running browser instead of launching one
+    private WebDriver attachDriver() {
+        if (browserType.equals("edge")) {
+            EdgeOptions options = new EdgeOptions();
+            options.setExperimentalOption("debuggerAddress", debuggerAddress);
+            return new EdgeDriver(options);
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        return new ChromeDriver(options);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String readDebuggerAddress(ChromiumDriver driver, String browserType) {
+        String key = browserType.equals("edge") ? "ms:edgeOptions" : "goog:chromeOptions";
+        Object options = driver.getCapabilities().getCapability(key);
+        if (options instanceof Map && ((Map<String, Object>) options).get("debuggerAddress") != null) {
+            return String.valueOf(((Map<String, Object>) options).get("debuggerAddress"));
+        }
+        throw new IllegalStateException("Browser did not report a debugger address (" + key + ")");
+    }
+
+    // Sum resident memory of all browser processes (Linux /proc only)
+    @SuppressWarnings("unchecked")
+    private void sampleMemory(int live) {
+        try {
+            Map<String, Object> info = send("SystemInfo.getProcessInfo", new HashMap<>());
+            long totalKb = 0;
+            for (Map<String, Object> process : (List<Map<String, Object>>) info.get("processInfo")) {
+                totalKb += ProcessWatchdog.readRssKb(((Number) process.get("id")).longValue());
+            }
+            if (totalKb > 0) {
+                peakRssKb.accumulateAndGet(totalKb, Math::max);
+                rssPerContextKb = totalKb / live;
+            }
+        } catch (Exception e) {
+            // Memory sampling is informational only
+        }
+    }
+}
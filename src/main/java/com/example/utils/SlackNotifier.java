@@ -27,7 +27,10 @@ import java.io.File;
  */
 public class SlackNotifier {
     
-    private static final OkHttpClient client = new OkHttpClient();
+    // Created on the first message, so runs without Slack never load OkHttp
+    private static class ClientHolder {
+        private static final OkHttpClient client = new OkHttpClient();
+    }
     
     /**
      * Send test execution results to Slack
@@ -164,7 +167,7 @@ public class SlackNotifier {
                 .url(webhookUrl)
                 .post(body)
                 .build();
-        try (Response response = client.newCall(request).execute()) {
+        try (Response response = ClientHolder.client.newCall(request).execute()) {
             int code = response.code();
             String respBody = response.body() != null ? response.body().string() : "";
             System.out.println("← Slack response: HTTP " + code + " - " + respBody);
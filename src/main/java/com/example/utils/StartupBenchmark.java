@@ -0,0 +1,333 @@
+package com.example.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Startup Benchmark
+ * Measures the time from JVM launch to the first WebDriver command, which every
+ * surefire fork and work-queue worker pays before its first test does anything
+ *
+ * Features:
+ * - JVM launch to first WebDriver command recorded once per JVM and shown in the report
+ * - Startup-optimized mode (startup.fast, or mvn test -Pfast-startup):
+ *   - Spark reporter, Slack client and config banner initialized on first use
+ *   - C1-only JIT, which compiles faster and suits browser-bound tests
+ *   - JVMs the framework starts itself (WorkQueueCoordinator workers, benchmark probes) map an
+ *     application class-data-sharing (AppCDS) archive of the test classpath, created by the
+ *     first of them, instead of loading and verifying every class again
+ *     (surefire forks cannot: CDS rejects the class directories surefire puts first on the classpath)
+ * - Command line benchmark: probe JVMs with and without the optimizations, medians printed
+ *
+ * Configuration:
+ *   startup.fast=false
+ *   startup.cds.archive=target/cds/test-classpath.jsa
+ *   startup.benchmark.browser=true
+ *
+ * Usage:
+ *   mvn test -Pfast-startup
+ *   mvn process-test-classes exec:java -Dexec.mainClass=com.example.utils.StartupBenchmark \
+ *       -Dexec.classpathScope=test -Dexec.args="5"
+ */
+public class StartupBenchmark {
+
+    private static final String RESULT_PREFIX = "STARTUP_BENCHMARK ";
+    private static final AtomicLong firstCommandMs = new AtomicLong(-1);
+
+    private StartupBenchmark() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Check whether startup-optimized mode is on
+     *
+     * @return true if startup.fast is set
+     */
+    public static boolean isFastStartup() {
+        return ConfigReader.getBooleanProperty("startup.fast", false);
+    }
+
+    /**
+     * JVM options for a child JVM that should start like this one
+     * (AppCDS archive and C1-only JIT in startup-optimized mode, nothing otherwise)
+     * Use together with getClasspath
+     *
+     * @return JVM options
+     */
+    public static List<String> getJvmOptions() {
+        if (!isFastStartup()) {
+            return Collections.emptyList();
+        }
+        Path archive = getArchivePath();
+        try {
+            Files.createDirectories(archive.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            System.err.println("✗ Could not create CDS archive directory: " + e.getMessage());
+        }
+        List<String> options = new ArrayList<>();
+        // JDK 19+: maps the archive when it matches the classpath, (re)creates it at exit otherwise
+        options.add("-XX:+AutoCreateSharedArchive");
+        options.add("-XX:SharedArchiveFile=" + archive);
+        options.add("-XX:TieredStopAtLevel=1");
+        options.add("-Dstartup.fast=true");
+        return options;
+    }
+
+    /**
+     * Classpath for a child JVM
+     * In startup-optimized mode class directories are packed into jars next to the archive,
+     * since CDS cannot archive a classpath with non-empty directories; a jar is only rewritten
+     * when its directory changed, so the archive stays valid between runs
+     *
+     * @return Classpath of this JVM (or of the exec:java class loader), with directories replaced by jars in startup-optimized mode
+     */
+    public static String getClasspath() {
+        String classpath = System.getProperty("java.class.path");
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader instanceof URLClassLoader) {
+            // exec:java runs us in a class loader of its own; java.class.path is Maven's
+            classpath = Arrays.stream(((URLClassLoader) loader).getURLs())
+                    .map(url -> {
+                        try {
+                            return Paths.get(url.toURI()).toString();
+                        } catch (URISyntaxException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+        if (!isFastStartup()) {
+            return classpath;
+        }
+        return Arrays.stream(classpath.split(File.pathSeparator))
+                .map(entry -> Files.isDirectory(Paths.get(entry)) ? packDirectory(Paths.get(entry)) : entry)
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static synchronized String packDirectory(Path directory) {
+        Path absolute = directory.toAbsolutePath().normalize();
+        Path jar = getArchivePath().toAbsolutePath().getParent()
+                .resolve(absolute.getParent().getFileName() + "-" + absolute.getFileName() + ".jar");
+        try (Stream<Path> paths = Files.walk(absolute)) {
+            // Directories included: deleting a class changes its directory's timestamp
+            long newest = paths.mapToLong(path -> path.toFile().lastModified()).max().orElse(0);
+            if (Files.exists(jar) && Files.getLastModifiedTime(jar).toMillis() >= newest) {
+                return jar.toString();
+            }
+            Files.createDirectories(jar.getParent());
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(absolute)) {
+                files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+                for (Path file : files) {
+                    out.putNextEntry(new JarEntry(absolute.relativize(file).toString().replace('\\', '/')));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            }
+            System.out.println("✓ Packed " + files.size() + " file(s) from " + directory + " into " + jar);
+            return jar.toString();
+        } catch (IOException e) {
+            System.err.println("✗ Could not pack " + directory + " for the CDS archive: " + e.getMessage());
+            return directory.toString();
+        }
+    }
+
+    private static Path getArchivePath() {
+        return Paths.get(ConfigReader.getOverridableProperty("startup.cds.archive", "target/cds/test-classpath.jsa"));
+    }
+
+    /**
+     * Record the first WebDriver command of this JVM (later calls are ignored)
+     * Called from WebDriverFactory.recordTimeToFirstCommand
+     */
+    public static void recordFirstCommand() {
+        long elapsed = System.currentTimeMillis() - getJvmStartMillis();
+        if (firstCommandMs.compareAndSet(-1, elapsed)) {
+            System.out.println("✓ JVM launch to first WebDriver command: " + elapsed + " ms"
+                    + (isFastStartup() ? " (startup-optimized)" : ""));
+        }
+    }
+
+    /**
+     * Time from JVM launch to the first WebDriver command
+     *
+     * @return Milliseconds, or -1 if no command was sent yet
+     */
+    public static long getTimeToFirstCommandMs() {
+        return firstCommandMs.get();
+    }
+
+    /**
+     * Short summary for the report's system info
+     *
+     * @return Summary text, or null if no WebDriver command was sent
+     */
+    public static String getSummary() {
+        long elapsed = firstCommandMs.get();
+        if (elapsed < 0) {
+            return null;
+        }
+        return "Launch to first WebDriver command: " + elapsed + " ms"
+                + (isFastStartup() ? " (startup-optimized, AppCDS " + getArchivePath() + ")" : " (default startup)");
+    }
+
+    // JVM start as recorded by the VM (ProcessHandle start times are only second-accurate on Linux)
+    private static long getJvmStartMillis() {
+        return ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    // ========== BENCHMARK ==========
+
+    /**
+     * Run the startup benchmark
+     * Argument: number of probe JVMs per mode (default 5)
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path archive = getArchivePath();
+        Files.deleteIfExists(archive);
+
+        System.out.println("Startup benchmark: " + runs + " probe JVM(s) per mode");
+        System.setProperty("startup.fast", "false");
+        long[][] defaultRuns = measure(List.of("-Dstartup.fast=false"), runs);
+
+        System.setProperty("startup.fast", "true");
+        List<String> fastOptions = getJvmOptions();
+        // Training run: creates the AppCDS archive for this classpath at exit
+        probe(fastOptions);
+        if (!Files.exists(archive)) {
+            System.err.println("✗ No CDS archive was created at " + archive + " (needs JDK 19+)");
+        }
+        long[][] fastRuns = measure(fastOptions, runs);
+
+        System.out.println();
+        printRow("Mode", "Framework ready", "First WebDriver command");
+        printRow("default", median(defaultRuns[0]), median(defaultRuns[1]));
+        printRow("startup-optimized", median(fastRuns[0]), median(fastRuns[1]));
+        // Compare like with like: first command if both modes reached it, else framework ready
+        int metric = median(defaultRuns[1]) > 0 && median(fastRuns[1]) >= 0 ? 1 : 0;
+        long before = median(defaultRuns[metric]);
+        long after = median(fastRuns[metric]);
+        String metricName = metric == 1 ? "first WebDriver command" : "framework ready";
+        if (before > 0 && after >= 0) {
+            System.out.println(String.format(Locale.ROOT, "✓ Startup-optimized mode: %+.1f%% (%s)",
+                    (after - before) * 100.0 / before, metricName));
+        } else {
+            System.out.println("Startup-optimized mode: n/a (" + metricName + " not measured in both modes)");
+        }
+    }
+
+    private static long[][] measure(List<String> options, int runs) throws IOException, InterruptedException {
+        long[][] results = new long[2][runs];
+        for (int i = 0; i < runs; i++) {
+            long[] result = probe(options);
+            results[0][i] = result[0];
+            results[1][i] = result[1];
+        }
+        return results;
+    }
+
+    // Start a probe JVM and parse its "ready firstCommand" line
+    private static long[] probe(List<String> options) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(Paths.get(System.getProperty("java.home"), "bin", "java").toString()));
+        command.addAll(options);
+        command.add("-Dstartup.benchmark.browser=" + ConfigReader.getBooleanProperty("startup.benchmark.browser", true));
+        command.add("-cp");
+        command.add(getClasspath());
+        command.add(Probe.class.getName());
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long[] result = {-1, -1};
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    String[] values = line.substring(RESULT_PREFIX.length()).trim().split(" ");
+                    result[0] = Long.parseLong(values[0]);
+                    result[1] = Long.parseLong(values[1]);
+                } else if (line.startsWith("✗")) {
+                    System.out.println("  " + line);
+                }
+            }
+        }
+        process.waitFor();
+        return result;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted.length == 0 ? -1 : sorted[sorted.length / 2];
+    }
+
+    private static void printRow(String mode, Object ready, Object firstCommand) {
+        System.out.println(String.format("%-20s %18s %26s", mode,
+                ready instanceof Long ? format((Long) ready) : ready,
+                firstCommand instanceof Long ? format((Long) firstCommand) : firstCommand));
+    }
+
+    private static String format(long ms) {
+        return ms < 0 ? "n/a" : ms + " ms";
+    }
+
+    /**
+     * Probe JVM: loads configuration and Selenium the way a test fork does, then opens a
+     * headless session and sends one command, printing both times since JVM launch
+     */
+    public static class Probe {
+
+        public static void main(String[] args) {
+            long launched = getJvmStartMillis();
+            String browserType = TestDataManager.getBrowserType();
+            try {
+                // Initialize what setUp touches before its first command, browser or not
+                WebDriverFactory.getPrewarmSummary();
+                Class.forName("org.openqa.selenium.remote.RemoteWebDriver");
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            long ready = System.currentTimeMillis() - launched;
+            long firstCommand = -1;
+            if (ConfigReader.getBooleanProperty("startup.benchmark.browser", true)) {
+                WebDriver driver = null;
+                try {
+                    driver = WebDriverFactory.createDriver(browserType, true);
+                    driver.getTitle();
+                    firstCommand = System.currentTimeMillis() - launched;
+                } catch (RuntimeException e) {
+                    System.out.println("✗ No browser session: " + String.valueOf(e.getMessage()).split("\n")[0]);
+                } finally {
+                    if (driver != null) {
+                        driver.quit();
+                    }
+                }
+            }
+            System.out.println(RESULT_PREFIX + ready + " " + firstCommand);
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.utils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Tag Expression
+ * Compiles a tag expression (the -DincludeTags / -DexcludeTags syntax) once into a
+ * predicate over a test's tag bitmask from TagIndex, so matching a test is a few
+ * bit operations instead of string comparisons
+ *
+ * Syntax:
+ *   smoke                  tag
+ *   smoke & p0             and
+ *   login | dashboard      or (a comma also means or, as in surefire groups)
+ *   !slow                  not
+ *   (smoke | sanity) & !wip
+ *   any() / none()         test has at least one tag / no tags
+ *
+ * Tag names must be Tags constants; anything else is rejected with the list of
+ * known tags, so a typo cannot silently select nothing
+ *
+ * Usage:
+ *   TagExpression expression = TagExpression.compile("smoke & !slow", TagIndex.getTagNames());
+ *   boolean selected = expression.matches(TagIndex.getInstance().getBits(testId));
+ */
+public class TagExpression {
+
+    private final String source;
+    private final LongPredicate predicate;
+    private final List<String> tagNames;
+    // Tags named outside a negation, e.g. wip in "wip | smoke" but not in "smoke & !wip"
+    private final Set<String> selectedTags = new HashSet<>();
+    private boolean negated;
+    private int position;
+
+    private TagExpression(String source, List<String> tagNames) {
+        this.source = source;
+        this.tagNames = tagNames;
+        this.predicate = parse();
+    }
+
+    /**
+     * Compile an expression against the given tag bit order
+     *
+     * @param expression Tag expression
+     * @param tagNames Known tags; a tag's bit is its index in this list
+     * @return Compiled expression
+     * @throws IllegalArgumentException for syntax errors and unknown tags
+     */
+    public static TagExpression compile(String expression, List<String> tagNames) {
+        if (tagNames.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most " + Long.SIZE + " tags fit the index bitmask, found " + tagNames.size());
+        }
+        return new TagExpression(expression, tagNames);
+    }
+
+    /**
+     * Evaluate the expression for one test
+     *
+     * @param tagBits Tag bitmask of the test
+     * @return true if the test matches
+     */
+    public boolean matches(long tagBits) {
+        return predicate.test(tagBits);
+    }
+
+    /**
+     * Check whether the expression selects tests by a tag rather than only excluding it
+     *
+     * @param tag Tag name
+     * @return true if the tag appears outside a negation ("wip", "smoke | wip", "!!wip"),
+     *         false if it is absent or only negated ("smoke & !wip")
+     */
+    public boolean selectsTag(String tag) {
+        return selectedTags.contains(tag.toLowerCase());
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    // ===== Recursive descent: or := and ('|' and)*, and := not ('&' not)*, not := '!' not | '(' or ')' | tag =====
+
+    private LongPredicate parse() {
+        LongPredicate result = parseOr();
+        skipSpaces();
+        if (position < source.length()) {
+            throw error("Unexpected '" + source.charAt(position) + "'");
+        }
+        return result;
+    }
+
+    private LongPredicate parseOr() {
+        LongPredicate result = parseAnd();
+        while (consume('|') || consume(',')) {
+            result = result.or(parseAnd());
+        }
+        return result;
+    }
+
+    private LongPredicate parseAnd() {
+        LongPredicate result = parseNot();
+        while (consume('&')) {
+            result = result.and(parseNot());
+        }
+        return result;
+    }
+
+    private LongPredicate parseNot() {
+        if (consume('!')) {
+            negated = !negated;
+            LongPredicate inner = parseNot();
+            negated = !negated;
+            return inner.negate();
+        }
+        if (consume('(')) {
+            LongPredicate inner = parseOr();
+            if (!consume(')')) {
+                throw error("Missing ')'");
+            }
+            return inner;
+        }
+        return parseTag();
+    }
+
+    private LongPredicate parseTag() {
+        skipSpaces();
+        int start = position;
+        while (position < source.length() && isTagChar(source.charAt(position))) {
+            position++;
+        }
+        String name = source.substring(start, position).trim();
+        if (name.isEmpty()) {
+            throw error("Expected a tag");
+        }
+        if (name.equals("any") && consume('(') && consume(')')) {
+            return bits -> bits != 0;
+        }
+        if (name.equals("none") && consume('(') && consume(')')) {
+            return bits -> bits == 0;
+        }
+        int bit = tagNames.indexOf(name.toLowerCase());
+        if (bit < 0) {
+            throw error("Unknown tag '" + name + "' - known tags: " + String.join(", ", tagNames));
+        }
+        if (!negated) {
+            selectedTags.add(tagNames.get(bit));
+        }
+        long mask = 1L << bit;
+        return bits -> (bits & mask) != 0;
+    }
+
+    private static boolean isTagChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.';
+    }
+
+    private boolean consume(char expected) {
+        skipSpaces();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipSpaces() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in tag expression \"" + source + "\"");
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.utils;
+
+import org.junit.platform.engine.DiscoverySelector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+
+/**
+ * Tag Index
+ * Build-time index of every test method to its Tags constants, one bitmask per test,
+ * generated by TagIndexGenerator into META-INF/test-tag-index.properties
+ *
+ * Features:
+ * - Tag filtering without reading annotations (TagIndexFilter)
+ * - Runners select the matching methods directly instead of scanning a package
+ *   (MatrixRunner, WorkQueueCoordinator)
+ * - Command line listing of the tests an expression selects, without starting JUnit
+ *
+ * Index format:
+ *   @tags=smoke,regression,...                                  (bit 0, bit 1, ...)
+ *   com.example.tests.LoginTest#testLoginPageTitle()=0x0000000000100049
+ *
+ * Usage:
+ *   mvn process-test-classes exec:java -Dexec.mainClass=com.example.utils.TagIndex \
+ *       -Dexec.classpathScope=test -Dexec.args="'smoke & !slow'"
+ */
+public class TagIndex {
+
+    static final String RESOURCE = "META-INF/test-tag-index.properties";
+    static final String TAGS_KEY = "@tags";
+
+    private static TagIndex instance;
+
+    private final List<String> tagNames;
+    private final Map<String, Long> tests;
+
+    TagIndex(List<String> tagNames, Map<String, Long> tests) {
+        this.tagNames = tagNames;
+        this.tests = tests;
+    }
+
+    /**
+     * Get the index on the classpath
+     * An index older than any compiled test class (tests recompiled by the IDE or
+     * mvn test-compile without process-test-classes) is ignored as stale, so callers
+     * fall back to scanning the package and reading the annotations
+     *
+     * @return Loaded index, or null if none was generated or it is stale
+     */
+    public static synchronized TagIndex getInstance() {
+        if (instance == null) {
+            instance = load();
+        }
+        return instance;
+    }
+
+    private static TagIndex load() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        URL url = (loader != null ? loader : TagIndex.class.getClassLoader()).getResource(RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        try (InputStream in = url.openStream()) {
+            if (isStale(url)) {
+                System.err.println("✗ Ignoring stale " + RESOURCE + " (test classes compiled after it) - run mvn process-test-classes to refresh it");
+                return null;
+            }
+            Properties properties = new Properties();
+            properties.load(in);
+            List<String> tagNames = Arrays.asList(properties.getProperty(TAGS_KEY, "").split(","));
+            Map<String, Long> tests = new TreeMap<>();
+            for (String key : properties.stringPropertyNames()) {
+                if (!key.equals(TAGS_KEY)) {
+                    tests.put(key, Long.parseUnsignedLong(properties.getProperty(key).trim().substring(2), 16));
+                }
+            }
+            return new TagIndex(tagNames, tests);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("✗ Ignoring unreadable test tag index: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Only an index in a class directory can go stale; one inside a jar was built with its classes
+    private static boolean isStale(URL url) throws IOException {
+        if (!"file".equals(url.getProtocol())) {
+            return false;
+        }
+        Path indexFile;
+        try {
+            indexFile = Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            return false;
+        }
+        long indexModified = Files.getLastModifiedTime(indexFile).toMillis();
+        Path classesDir = indexFile.getParent().getParent();
+        try (Stream<Path> files = Files.walk(classesDir)) {
+            return files.filter(file -> file.toString().endsWith(".class"))
+                    .anyMatch(file -> lastModified(file) > indexModified);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * All tag values declared in Tags, in declaration order (bit order of a new index)
+     *
+     * @return Tag names
+     */
+    public static List<String> getDeclaredTagNames() {
+        List<String> names = new ArrayList<>();
+        for (Field field : Tags.class.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isPublic(modifiers) && Modifier.isStatic(modifiers) && field.getType() == String.class) {
+                try {
+                    names.add(((String) field.get(null)).toLowerCase());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Tag names in this index's bit order
+     *
+     * @return Tag names
+     */
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+
+    /**
+     * Bitmask of a test
+     *
+     * @param methodName Fully qualified method name: class#method(parameterTypes)
+     * @return Tag bitmask, or null if the test is not in the index
+     */
+    public Long getBits(String methodName) {
+        return tests.get(methodName);
+    }
+
+    /**
+     * Bitmask for a set of tag names (tags unknown to the index are ignored)
+     *
+     * @param tags Tag names
+     * @return Tag bitmask
+     */
+    public long toBits(Collection<String> tags) {
+        long bits = 0;
+        for (String tag : tags) {
+            int bit = tagNames.indexOf(tag.toLowerCase());
+            if (bit >= 0) {
+                bits |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Tests whose tags match the include expression and not the exclude expression
+     *
+     * @param include Include expression, or null/empty for all tests
+     * @param exclude Exclude expression, or null/empty for none
+     * @return Fully qualified method names in index order
+     */
+    public List<String> findTests(String include, String exclude) {
+        TagExpression includeExpression = isBlank(include) ? null : TagExpression.compile(include, tagNames);
+        TagExpression excludeExpression = isBlank(exclude) ? null : TagExpression.compile(exclude, tagNames);
+        List<String> matching = new ArrayList<>();
+        for (Map.Entry<String, Long> test : tests.entrySet()) {
+            long bits = test.getValue();
+            if ((includeExpression == null || includeExpression.matches(bits))
+                    && (excludeExpression == null || !excludeExpression.matches(bits))) {
+                matching.add(test.getKey());
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Selectors for a package honouring -DincludeTags/-DexcludeTags
+     * With an index and a tag filter the matching methods are selected directly,
+     * so JUnit does not scan the package; otherwise the package is selected
+     *
+     * @param packageName Package containing the tests
+     * @return Discovery selectors
+     */
+    public static List<DiscoverySelector> selectTests(String packageName) {
+        String include = System.getProperty("includeTags", "");
+        String exclude = System.getProperty("excludeTags", "");
+        TagIndex index = getInstance();
+        if (index == null || (isBlank(include) && isBlank(exclude))) {
+            return List.of(selectPackage(packageName));
+        }
+        List<DiscoverySelector> selectors = new ArrayList<>();
+        for (String methodName : index.findTests(include, exclude)) {
+            if (methodName.startsWith(packageName + ".")) {
+                selectors.add(selectMethod(methodName));
+            }
+        }
+        System.out.println("✓ Tag index selected " + selectors.size() + " test(s) in " + packageName);
+        return selectors;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * List the tests an expression selects
+     * Arguments: include expression, optional exclude expression
+     * Exits with status 2 for an invalid expression or a missing index
+     */
+    public static void main(String[] args) {
+        TagIndex index = getInstance();
+        if (index == null) {
+            System.err.println("✗ No " + RESOURCE + " on the classpath - run mvn process-test-classes first");
+            System.exit(2);
+        }
+        String include = args.length > 0 ? args[0] : "";
+        String exclude = args.length > 1 ? args[1] : "";
+        try {
+            long started = System.nanoTime();
+            List<String> matching = index.findTests(include, exclude);
+            Map<String, Integer> perClass = new LinkedHashMap<>();
+            for (String methodName : matching) {
+                System.out.println(methodName);
+                perClass.merge(methodName.substring(0, methodName.indexOf('#')), 1, Integer::sum);
+            }
+            System.out.println("✓ " + matching.size() + " of " + index.tests.size() + " test(s) in " + perClass.size()
+                    + " class(es) match in " + (System.nanoTime() - started) / 1000 + " µs");
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ " + e.getMessage());
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.utils;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tag Index Filter
+ * Applies -DincludeTags / -DexcludeTags with compiled TagExpressions against the
+ * bitmasks in TagIndex (falling back to the descriptor's tags for tests missing
+ * from the index), and rejects expressions that name unknown tags
+ *
+ * Registered automatically through
+ * META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter
+ *
+ * Configuration:
+ *   tag.index.filter.enabled=true
+ */
+public class TagIndexFilter implements PostDiscoveryFilter {
+
+    private static String compiledFor;
+    private static TagExpression include;
+    private static TagExpression exclude;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        // Test methods, including @RetryingTest templates (their attempts are not discovered yet)
+        if (!(descriptor.getSource().orElse(null) instanceof MethodSource) || !ConfigReader.getBooleanProperty("tag.index.filter.enabled", true)) {
+            return FilterResult.included("not filtered by tag index");
+        }
+        String includeTags = System.getProperty("includeTags", "").trim();
+        String excludeTags = System.getProperty("excludeTags", "").trim();
+        if (includeTags.isEmpty() && excludeTags.isEmpty()) {
+            return FilterResult.included("no tag filter");
+        }
+        TagIndex index = TagIndex.getInstance();
+        if (index == null) {
+            index = new TagIndex(TagIndex.getDeclaredTagNames(), Map.of());
+        }
+        compile(includeTags, excludeTags, index);
+
+        Long bits = null;
+        TestSource source = descriptor.getSource().orElse(null);
+        if (source instanceof MethodSource) {
+            MethodSource method = (MethodSource) source;
+            bits = index.getBits(method.getClassName() + "#" + method.getMethodName()
+                    + "(" + method.getMethodParameterTypes().replace(" ", "") + ")");
+        }
+        if (bits == null) {
+            bits = index.toBits(descriptor.getTags().stream().map(TestTag::getName).collect(Collectors.toList()));
+        }
+        if (include != null && !include.matches(bits)) {
+            return FilterResult.excluded("does not match includeTags " + include);
+        }
+        if (exclude != null && exclude.matches(bits)) {
+            return FilterResult.excluded("matches excludeTags " + exclude);
+        }
+        return FilterResult.included("matches tag expression");
+    }
+
+    // Expressions are compiled once per run (an unknown tag fails discovery here)
+    private static synchronized void compile(String includeTags, String excludeTags, TagIndex index) {
+        String key = includeTags + "\n" + excludeTags;
+        if (key.equals(compiledFor)) {
+            return;
+        }
+        include = includeTags.isEmpty() ? null : TagExpression.compile(includeTags, index.getTagNames());
+        exclude = excludeTags.isEmpty() ? null : TagExpression.compile(excludeTags, index.getTagNames());
+        compiledFor = key;
+    }
+}
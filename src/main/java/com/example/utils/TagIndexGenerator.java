@@ -0,0 +1,124 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tag Index Generator
+ * Writes META-INF/test-tag-index.properties (see TagIndex) from the compiled test classes
+ *
+ * Runs in the process-test-classes phase (exec-maven-plugin in pom.xml), so every
+ * mvn test / process-test-classes refreshes the index; plain mvn test-compile does not,
+ * and TagIndex then ignores the index as stale. Test methods carrying a tag that is not a
+ * Tags constant fail the build, so the index and tag expressions always agree
+ *
+ * Usage:
+ *   java com.example.utils.TagIndexGenerator target/test-classes
+ */
+public class TagIndexGenerator {
+
+    private TagIndexGenerator() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Build the index entries for the compiled classes under a directory
+     *
+     * @param classesDir Test output directory
+     * @param tagNames Tags in bit order
+     * @param unknownTags Receives "class#method: tag" for tags that are not in tagNames
+     * @return Fully qualified method name to tag bitmask
+     * @throws IOException if the directory cannot be walked
+     */
+    static Map<String, Long> buildIndex(Path classesDir, List<String> tagNames, Set<String> unknownTags) throws IOException {
+        Map<String, Long> tests = new TreeMap<>();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        List<String> classNames;
+        try (Stream<Path> files = Files.walk(classesDir)) {
+            classNames = files.filter(file -> file.toString().endsWith(".class") && !file.getFileName().toString().contains("$"))
+                    .map(file -> classesDir.relativize(file).toString().replace('\\', '/').replace('/', '.').replaceAll("\\.class$", ""))
+                    .collect(Collectors.toList());
+        }
+        for (String className : classNames) {
+            Class<?> testClass;
+            try {
+                testClass = Class.forName(className, false, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                continue;
+            }
+            if (Modifier.isAbstract(testClass.getModifiers())) {
+                continue;
+            }
+            List<Tag> classTags = AnnotationSupport.findRepeatableAnnotations(testClass, Tag.class);
+            for (Method method : AnnotationSupport.findAnnotatedMethods(testClass, Testable.class, HierarchyTraversalMode.TOP_DOWN)) {
+                long bits = 0;
+                List<Tag> tags = new ArrayList<>(classTags);
+                tags.addAll(AnnotationSupport.findRepeatableAnnotations(method, Tag.class));
+                for (Tag tag : tags) {
+                    int bit = tagNames.indexOf(tag.value().trim().toLowerCase());
+                    if (bit < 0) {
+                        unknownTags.add(className + "#" + method.getName() + ": " + tag.value());
+                    } else {
+                        bits |= 1L << bit;
+                    }
+                }
+                tests.put(className + "#" + method.getName() + "(" + Arrays.stream(method.getParameterTypes())
+                        .map(Class::getName).collect(Collectors.joining(",")) + ")", bits);
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Entry point for the build
+     * Exits with status 1 when a test uses a tag that is not a Tags constant
+     */
+    public static void main(String[] args) throws IOException {
+        Path classesDir = Paths.get(args.length > 0 ? args[0] : "target/test-classes");
+        if (!Files.isDirectory(classesDir)) {
+            System.out.println("No test classes in " + classesDir + " - tag index not generated");
+            return;
+        }
+        List<String> tagNames = TagIndex.getDeclaredTagNames();
+        if (tagNames.size() > Long.SIZE) {
+            throw new IllegalStateException("Tags declares " + tagNames.size() + " tags; the index bitmask holds " + Long.SIZE);
+        }
+        Set<String> unknownTags = new TreeSet<>();
+        Map<String, Long> tests = buildIndex(classesDir, tagNames, unknownTags);
+        if (!unknownTags.isEmpty()) {
+            System.err.println("✗ Tags that are not Tags constants:");
+            unknownTags.forEach(unknown -> System.err.println("  " + unknown));
+            System.exit(1);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(TagIndex.TAGS_KEY, String.join(",", tagNames));
+        tests.forEach((methodName, bits) -> properties.setProperty(methodName, String.format("0x%016x", bits)));
+        Path file = classesDir.resolve(TagIndex.RESOURCE);
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "Test tag index: class#method(parameters)=tag bitmask, bit order in " + TagIndex.TAGS_KEY);
+        }
+        System.out.println("✓ Tag index: " + tests.size() + " test(s), " + tagNames.size() + " tags -> " + file);
+    }
+}
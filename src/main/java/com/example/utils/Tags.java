@@ -106,6 +106,11 @@ public final class Tags {
      */
     public static final String INTEGRATION = "integration";
     
+    /**
+     * Performance and load tests (throughput, latency percentiles).
+     */
+    public static final String PERFORMANCE = "performance";
+    
     // ========== Priority Levels ==========
     /**
      * Critical priority - Must pass, blocks release.
@@ -143,6 +148,27 @@ public final class Tags {
      */
     public static final String PROD_SAFE = "prod-safe";
     
+    // ========== Throttling Profiles (NetworkThrottling) ==========
+    /**
+     * Run on a slow 3G connection (2 s latency, 400 kbit/s).
+     */
+    public static final String THROTTLE_SLOW_3G = "throttle-slow-3g";
+    
+    /**
+     * Run on a fast 3G connection (563 ms latency, 1.44 Mbit/s down).
+     */
+    public static final String THROTTLE_FAST_3G = "throttle-fast-3g";
+    
+    /**
+     * Run with the browser's CPU slowed down 4x (low-end device).
+     */
+    public static final String THROTTLE_CPU_4X = "throttle-cpu-4x";
+    
+    /**
+     * Run unthrottled but record page timings, as the baseline for throttled runs.
+     */
+    public static final String THROTTLE_NONE = "throttle-none";
+    
     // ========== Special Tags ==========
     /**
      * Tests that are currently failing or unstable (flaky).
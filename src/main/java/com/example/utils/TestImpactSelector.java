@@ -0,0 +1,322 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test Impact Selector for JUnit 5
+ * Skips tests whose inputs did not change since they last passed
+ *
+ * Inputs of a test:
+ * - config keys it read through ConfigReader (locators, test data) and their current values
+ * - page objects it created (recorded at runtime by BasePage)
+ * - the compiled bytes of the test class, those page objects and every com.example class
+ *   they reference, found by scanning class file constant pools. JUnit extensions
+ *   (reporting, retry, this selector) are not followed: they cannot change a test result
+ *
+ * A test is reported as skipped ("Cached") when the hash of its inputs matches the one
+ * stored when it last passed on the same browser and environment, and that pass is
+ * younger than impact.max.staleness.hours.
+ * Failed and flaky tests are never cached.
+ *
+ * Configuration:
+ *   impact.selection.enabled=false   (CI enables it for push/PR runs; nightly runs stay full)
+ *   impact.max.staleness.hours=24
+ *   impact.cache.file=test-reports/impact-cache.properties
+ *
+ * Usage:
+ * Add @ExtendWith(TestImpactSelector.class) to the test class
+ */
+public class TestImpactSelector implements ExecutionCondition, BeforeEachCallback, AfterTestExecutionCallback {
+
+    private static final Pattern CLASS_REFERENCE = Pattern.compile("com/example/[A-Za-z0-9_/$]+");
+    private static final Map<String, String> classHashes = new ConcurrentHashMap<>();
+    private static final AtomicInteger cachedTests = new AtomicInteger(0);
+    private static final AtomicInteger executedTests = new AtomicInteger(0);
+    private static Properties cache;
+
+    /**
+     * Skip the test when its inputs are unchanged since a recent pass
+     */
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (!context.getTestMethod().isPresent() || !isEnabled()) {
+            return ConditionEvaluationResult.enabled("Change-impact selection not active");
+        }
+        String testId = getTestId(context);
+        String[] entry = getEntry(testId);
+        if (entry == null) {
+            return ConditionEvaluationResult.enabled("No cached result for " + testId);
+        }
+        long ageMs = System.currentTimeMillis() - Long.parseLong(entry[1]);
+        long maxAgeMs = TimeUnit.HOURS.toMillis(ConfigReader.getIntProperty("impact.max.staleness.hours", 24));
+        if (ageMs > maxAgeMs) {
+            return ConditionEvaluationResult.enabled("Cached result is stale");
+        }
+        Set<String> inputs = new TreeSet<>(Arrays.asList(entry[2].split(";")));
+        if (!entry[0].equals(hashInputs(context.getRequiredTestClass(), inputs))) {
+            return ConditionEvaluationResult.enabled("Inputs changed since last pass");
+        }
+        cachedTests.incrementAndGet();
+        return ConditionEvaluationResult.disabled("Cached: inputs unchanged since it passed "
+                + TimeUnit.MILLISECONDS.toMinutes(ageMs) + " min ago");
+    }
+
+    /**
+     * Start recording inputs before @BeforeEach methods run
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (isEnabled()) {
+            TestImpactTracker.begin();
+        }
+    }
+
+    /**
+     * Store the inputs of a passed test, drop the cached result of a failed one
+     */
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (!isEnabled()) {
+            return;
+        }
+        executedTests.incrementAndGet();
+        Set<String> inputs = TestImpactTracker.end();
+        String testId = getTestId(context);
+        boolean passed = !context.getExecutionException().isPresent();
+        if (passed && !FlakyTestHistory.getInstance().hasFlakyHistory(FlakyTestRetryExtension.getTestId(context))) {
+            String hash = hashInputs(context.getRequiredTestClass(), inputs);
+            putEntry(testId, hash + "|" + System.currentTimeMillis() + "|" + String.join(";", inputs));
+        } else {
+            putEntry(testId, null);
+        }
+    }
+
+    /**
+     * Get selection statistics for logs and reports
+     *
+     * @return Summary of cached and executed tests, or null when selection is disabled
+     */
+    public static String getSummary() {
+        if (!isEnabled()) {
+            return null;
+        }
+        return "Change-impact selection: " + cachedTests.get() + " cached, " + executedTests.get() + " executed";
+    }
+
+    private static boolean isEnabled() {
+        return ConfigReader.getBooleanProperty("impact.selection.enabled", false);
+    }
+
+    // Keyed per browser and environment: matrix lanes share the cache file, and a pass on
+    // chrome says nothing about firefox (the lane browser is ConfigReader's thread browser)
+    private static String getTestId(ExtensionContext context) {
+        return context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName()
+                + "[" + TestDataManager.getBrowserType() + "@" + ConfigReader.getEnvironment() + "]";
+    }
+
+    // ========== INPUT HASHING ==========
+
+    private static String hashInputs(Class<?> testClass, Set<String> inputs) {
+        Set<String> roots = new TreeSet<>();
+        roots.add(testClass.getName());
+        StringBuilder material = new StringBuilder();
+        for (String input : inputs) {
+            if (input.startsWith("class:")) {
+                roots.add(input.substring("class:".length()));
+            } else if (input.startsWith("key:")) {
+                String key = input.substring("key:".length());
+                material.append(input).append('=').append(ConfigReader.getProperty(key, "<unset>")).append('\n');
+            }
+        }
+        for (String className : collectClosure(roots)) {
+            material.append("class:").append(className).append('=')
+                    .append(classHashes.computeIfAbsent(className, TestImpactSelector::hashClass)).append('\n');
+        }
+        return sha256(material.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Test class, page objects and every com.example class they reference, transitively
+    private static Set<String> collectClosure(Set<String> roots) {
+        Set<String> closure = new TreeSet<>();
+        Deque<String> toVisit = new ArrayDeque<>(roots);
+        while (!toVisit.isEmpty()) {
+            String className = toVisit.pop();
+            if (closure.contains(className) || (!roots.contains(className) && isExtension(className))) {
+                continue;
+            }
+            closure.add(className);
+            byte[] bytes = readClassBytes(className);
+            if (bytes != null) {
+                toVisit.addAll(findReferencedClasses(bytes));
+            }
+        }
+        return closure;
+    }
+
+    private static boolean isExtension(String className) {
+        try {
+            return Extension.class.isAssignableFrom(
+                    Class.forName(className, false, TestImpactSelector.class.getClassLoader()));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static String hashClass(String className) {
+        byte[] bytes = readClassBytes(className);
+        return bytes != null ? sha256(bytes) : "missing";
+    }
+
+    private static byte[] readClassBytes(String className) {
+        String resource = className.replace('.', '/') + ".class";
+        try (InputStream in = TestImpactSelector.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return null;
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Scan the UTF-8 entries of a class file constant pool for com.example class names
+     * Covers class references, field/method descriptors and generic signatures
+     */
+    private static Set<String> findReferencedClasses(byte[] classBytes) {
+        Set<String> referenced = new TreeSet<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(classBytes))) {
+            in.skipBytes(8); // magic, minor and major version
+            int count = in.readUnsignedShort();
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1: // Utf8
+                        Matcher matcher = CLASS_REFERENCE.matcher(in.readUTF());
+                        while (matcher.find()) {
+                            referenced.add(matcher.group().replace('/', '.'));
+                        }
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        in.skipBytes(8);
+                        i++;
+                        break;
+                    case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                        in.skipBytes(4);
+                        break;
+                    case 15:
+                        in.skipBytes(3);
+                        break;
+                    case 7: case 8: case 16: case 19: case 20:
+                        in.skipBytes(2);
+                        break;
+                    default:
+                        return referenced;
+                }
+            }
+        } catch (IOException e) {
+            // Unreadable class file: only its own bytes count as input
+        }
+        return referenced;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(data)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ========== RESULT CACHE ==========
+
+    // value format: inputsHash|passedAtMillis|input;input;...
+    private static synchronized String[] getEntry(String testId) {
+        String value = loadCache().getProperty(testId);
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split("\\|", 3);
+        return parts.length == 3 ? parts : null;
+    }
+
+    private static synchronized void putEntry(String testId, String value) {
+        Properties properties = loadCache();
+        if (value == null) {
+            if (properties.remove(testId) == null) {
+                return;
+            }
+        } else {
+            properties.setProperty(testId, value);
+        }
+        File file = getCacheFile();
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Change-impact cache: inputsHash|passedAtMillis|inputs");
+        } catch (IOException e) {
+            System.err.println("✗ Could not save change-impact cache: " + e.getMessage());
+        }
+    }
+
+    private static Properties loadCache() {
+        if (cache == null) {
+            cache = new Properties();
+            File file = getCacheFile();
+            if (file.exists()) {
+                try (FileInputStream in = new FileInputStream(file)) {
+                    cache.load(in);
+                } catch (IOException e) {
+                    System.err.println("✗ Could not read change-impact cache: " + e.getMessage());
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static File getCacheFile() {
+        return new File(ConfigReader.getOverridableProperty("impact.cache.file", "test-reports/impact-cache.properties"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.utils;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Test Impact Tracker
+ * Records what the running test touched: config keys (locators, test data)
+ * read through ConfigReader and page objects created through BasePage
+ * Recording is per thread and only active between begin() and end(),
+ * which TestImpactSelector calls around each test
+ */
+public final class TestImpactTracker {
+
+    private static final ThreadLocal<Set<String>> touched = new ThreadLocal<>();
+
+    private TestImpactTracker() {
+    }
+
+    static void begin() {
+        touched.set(new TreeSet<>());
+    }
+
+    static Set<String> end() {
+        Set<String> inputs = touched.get();
+        touched.remove();
+        return inputs != null ? inputs : Collections.emptySet();
+    }
+
+    /**
+     * Record a config key read by the current test
+     *
+     * @param key Property key (e.g. dev.username.locator)
+     */
+    public static void recordConfigKey(String key) {
+        Set<String> inputs = touched.get();
+        if (inputs != null) {
+            inputs.add("key:" + key);
+        }
+    }
+
+    /**
+     * Record a page object (or other class) used by the current test
+     *
+     * @param type Class that was used
+     */
+    public static void recordClass(Class<?> type) {
+        Set<String> inputs = touched.get();
+        if (inputs != null) {
+            inputs.add("class:" + type.getName());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test Runner Client
+ * Thin command line client for TestRunnerDaemon: sends one run request and prints the
+ * results as the daemon streams them
+ *
+ * Uses JDK classes only (no Selenium, JUnit or ConfigReader), so it needs nothing but
+ * target/classes on its classpath and starts in well under a second
+ *
+ * Usage:
+ *   java -cp target/classes com.example.utils.TestRunnerClient LoginTest#testValidLogin
+ *   java -cp target/classes com.example.utils.TestRunnerClient LoginTest DashboardTest
+ *   java -cp target/classes com.example.utils.TestRunnerClient --tags "smoke & !slow" --exclude-tags wip
+ *   java -cp target/classes com.example.utils.TestRunnerClient -Ddev.headless=true LoginTest
+ *   java -cp target/classes com.example.utils.TestRunnerClient --status | --stop
+ *   (-Ddaemon.port=7071 on the client's own JVM selects the daemon)
+ *
+ * Exit status: 0 when every test passed, 1 when a test failed, 2 when the daemon is
+ * unreachable or rejected the request
+ */
+public class TestRunnerClient {
+
+    private static final Pattern FIELD = Pattern.compile("\"(\\w+)\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|[^,}]+)");
+
+    private TestRunnerClient() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) {
+        long launched = ManagementFactory.getRuntimeMXBean().getStartTime();
+        String baseUrl = "http://localhost:" + System.getProperty("daemon.port", "7071");
+        List<String> tests = new ArrayList<>();
+        Map<String, String> properties = new LinkedHashMap<>();
+        String includeTags = "";
+        String excludeTags = "";
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--status") || arg.equals("--stop")) {
+                System.exit(command(baseUrl + "/" + arg.substring(2), arg.equals("--stop")));
+            } else if (arg.equals("--tags") && i + 1 < args.length) {
+                includeTags = args[++i];
+            } else if (arg.equals("--exclude-tags") && i + 1 < args.length) {
+                excludeTags = args[++i];
+            } else if (arg.startsWith("-D") && arg.contains("=")) {
+                properties.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                tests.add(arg);
+            }
+        }
+
+        StringBuilder body = new StringBuilder("{\"tests\":[");
+        for (int i = 0; i < tests.size(); i++) {
+            body.append(i > 0 ? "," : "").append(quote(tests.get(i)));
+        }
+        body.append("],\"includeTags\":").append(quote(includeTags))
+                .append(",\"excludeTags\":").append(quote(excludeTags))
+                .append(",\"properties\":{");
+        int index = 0;
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            body.append(index++ > 0 ? "," : "").append(quote(property.getKey())).append(':').append(quote(property.getValue()));
+        }
+        body.append("}}");
+        System.exit(run(baseUrl + "/run", body.toString(), launched));
+    }
+
+    // Stream the results of one run; returns the exit status
+    private static int run(String url, String body, long launched) {
+        int failed = 0;
+        boolean finished = false;
+        try {
+            HttpURLConnection connection = open(url, "POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+            try (BufferedReader reader = reader(connection)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Map<String, String> event = parse(line);
+                    switch (event.getOrDefault("event", "")) {
+                        case "plan":
+                            System.out.println("Running " + event.get("tests") + " test(s) on the warm daemon (run " + event.get("run") + ")");
+                            break;
+                        case "result":
+                            String status = event.get("status");
+                            String symbol = "PASS".equals(status) ? "✓" : "FAIL".equals(status) ? "✗" : "-";
+                            String message = event.get("message");
+                            System.out.println(symbol + " " + status + " " + event.get("name") + " (" + event.get("durationMs") + " ms)"
+                                    + (message != null && !"PASS".equals(status) ? ": " + message : ""));
+                            break;
+                        case "warning":
+                            System.out.println("⚠ " + event.get("message"));
+                            break;
+                        case "error":
+                            System.err.println("✗ " + event.get("message"));
+                            return 2;
+                        case "finished":
+                            finished = true;
+                            failed = Integer.parseInt(event.getOrDefault("failed", "0"));
+                            System.out.println(event.get("passed") + " passed, " + failed + " failed, " + event.get("skipped")
+                                    + " skipped - run " + event.get("durationMs") + " ms, "
+                                    + (System.currentTimeMillis() - launched) + " ms since client launch");
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        } catch (ConnectException e) {
+            System.err.println("✗ No daemon at " + url + " - start one with:\n"
+                    + "  mvn process-test-classes exec:java -Dexec.mainClass=com.example.utils.TestRunnerDaemon -Dexec.classpathScope=test");
+            return 2;
+        } catch (IOException e) {
+            System.err.println("✗ Daemon request failed: " + e.getMessage());
+            return 2;
+        }
+        if (!finished) {
+            System.err.println("✗ Daemon closed the stream before the run finished");
+            return 2;
+        }
+        return failed > 0 ? 1 : 0;
+    }
+
+    private static int command(String url, boolean post) {
+        try {
+            HttpURLConnection connection = open(url, post ? "POST" : "GET");
+            try (BufferedReader reader = reader(connection)) {
+                parse(reader.readLine()).forEach((key, value) -> System.out.println(key + ": " + value));
+            }
+            return 0;
+        } catch (IOException e) {
+            System.err.println("✗ No daemon at " + url + ": " + e.getMessage());
+            return 2;
+        }
+    }
+
+    private static HttpURLConnection open(String url, String method) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(2000);
+        // No read timeout: a run streams results for as long as its tests take
+        connection.setReadTimeout(0);
+        return connection;
+    }
+
+    private static BufferedReader reader(HttpURLConnection connection) throws IOException {
+        InputStream in = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream();
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    // Flat JSON object (as streamed by the daemon) to field -> text; null values are left out
+    static Map<String, String> parse(String line) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        if (line == null) {
+            return fields;
+        }
+        Matcher matcher = FIELD.matcher(line);
+        while (matcher.find()) {
+            String value = matcher.group(2).trim();
+            if (value.startsWith("\"")) {
+                fields.put(matcher.group(1), unquote(value.substring(1, value.length() - 1)));
+            } else if (!value.equals("null")) {
+                fields.put(matcher.group(1), value);
+            }
+        }
+        return fields;
+    }
+
+    private static String unquote(String value) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i + 1 >= value.length()) {
+                text.append(c);
+                continue;
+            }
+            char escaped = value.charAt(++i);
+            switch (escaped) {
+                case 'n':
+                    text.append('\n');
+                    break;
+                case 't':
+                    text.append('\t');
+                    break;
+                case 'r':
+                    text.append('\r');
+                    break;
+                case 'u':
+                    text.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    text.append(escaped);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+}
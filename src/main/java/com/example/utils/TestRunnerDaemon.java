@@ -0,0 +1,439 @@
+package com.example.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+
+/**
+ * Test Runner Daemon
+ * Long-lived JVM that keeps the loaded classes, the parsed configuration and a pool of
+ * browser sessions warm, and runs tests on request (see TestRunnerClient)
+ *
+ * Features:
+ * - Listens on the loopback interface only: POST /run, GET /status, POST /stop
+ * - A run names test classes/methods (LoginTest, LoginTest#testValidLogin) or a tag
+ *   expression; results stream back as one JSON line per test while the run is going
+ * - Runs execute one at a time on a single runner thread that owns the WebDriverPool,
+ *   so browser sessions (cookies cleared) carry over from one run to the next
+ * - Warm-up at start: discovery loads JUnit, the framework and every test class,
+ *   and the first browser session is opened
+ * - Per-run overrides of config properties (-Dkey=value on the client), no restart needed
+ * - Warns when target/classes or target/test-classes changed since the daemon started
+ *   (restart it to pick up recompiled code)
+ * - Each run starts with fresh run state (fail-fast counters, live progress counts, report)
+ *   and writes its own Extent report when it finishes
+ *
+ * Configuration (config.properties or -D overrides):
+ *   daemon.port=7071
+ *   daemon.sessions=1
+ *   daemon.warmup.browser=true
+ *   daemon.package=com.example.tests
+ *
+ * Usage:
+ *   mvn process-test-classes exec:java -Dexec.mainClass=com.example.utils.TestRunnerDaemon -Dexec.classpathScope=test
+ *   java -cp target/classes com.example.utils.TestRunnerClient LoginTest#testValidLogin
+ */
+public class TestRunnerDaemon {
+
+    private static final Json JSON = new Json();
+    private static final Path[] CLASS_DIRECTORIES = {Paths.get("target/classes"), Paths.get("target/test-classes")};
+    private static volatile boolean active = false;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> new Thread(task, "daemon-runner"));
+    private final AtomicInteger runs = new AtomicInteger(0);
+    private final long startedAt = System.currentTimeMillis();
+    private final long classesModifiedAt = lastModified(CLASS_DIRECTORIES);
+    private final String packageName = ConfigReader.getOverridableProperty("daemon.package", "com.example.tests");
+    private Launcher launcher;
+    private WebDriverPool pool;
+    private HttpServer server;
+    private volatile String currentRun;
+
+    /**
+     * Check whether this JVM is a test runner daemon
+     *
+     * @return true once the daemon has started
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Warm up and start serving run requests
+     *
+     * @param port Loopback port to listen on
+     * @return Base URL of the daemon
+     * @throws IOException if the port cannot be bound
+     */
+    public String start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        active = true;
+        String browser = TestDataManager.getBrowserType();
+        pool = new WebDriverPool(browser, ConfigReader.getIntProperty("daemon.sessions", 1), ConfigReader.isHeadless());
+        try {
+            runner.submit(this::warmUp).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("✗ Daemon warm-up failed: " + e.getCause());
+        }
+
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/run", this::handleRun);
+        server.createContext("/status", exchange -> respond(exchange, 200, getStatus()));
+        server.createContext("/stop", exchange -> {
+            respond(exchange, 200, getStatus());
+            new Thread(this::stop, "daemon-stop").start();
+        });
+        server.start();
+        String url = "http://localhost:" + server.getAddress().getPort();
+        System.out.println("✓ Test runner daemon ready at " + url + " (" + browser + ", "
+                + pool.size() + " warm session(s))");
+        return url;
+    }
+
+    // Runs on the runner thread, which keeps the pool bound for every later run
+    private void warmUp() {
+        long started = System.currentTimeMillis();
+        WebDriverFactory.bindPool(pool);
+        launcher = LauncherFactory.create();
+        TestPlan plan = launcher.discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectPackage(packageName)).build());
+        long tests = plan.countTestIdentifiers(TestIdentifier::isTest);
+        if (ConfigReader.getBooleanProperty("daemon.warmup.browser", true)) {
+            try {
+                pool.release(pool.acquire());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                System.err.println("✗ No warm browser session (tests will launch one): " + e.getMessage());
+            }
+        }
+        System.out.println("✓ Daemon warm-up: " + tests + " test(s) discovered in " + packageName + ", "
+                + pool.size() + " session(s) open, " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    /**
+     * Stop serving, quit the pooled sessions and exit
+     */
+    public void stop() {
+        System.out.println("=== Test runner daemon stopping after " + runs.get() + " run(s) ===");
+        server.stop(1);
+        try {
+            runner.submit(() -> WebDriverFactory.bindPool(null)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Unbinding cannot fail
+        }
+        runner.shutdown();
+        pool.shutdown();
+        System.exit(0);
+    }
+
+    private Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("runs", runs.get());
+        status.put("running", currentRun);
+        status.put("uptimeSeconds", (System.currentTimeMillis() - startedAt) / 1000);
+        status.put("browser", pool.getBrowserType());
+        status.put("sessions", pool.size());
+        status.put("classesChanged", lastModified(CLASS_DIRECTORIES) > classesModifiedAt);
+        return status;
+    }
+
+    // ========== RUNS ==========
+
+    private void handleRun(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, event("error", "Use POST /run"));
+            return;
+        }
+        Map<String, Object> request;
+        try {
+            request = JSON.toType(readBody(exchange), Json.MAP_TYPE);
+        } catch (RuntimeException e) {
+            respond(exchange, 400, event("error", "Invalid run request: " + e.getMessage()));
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            ResultStream stream = new ResultStream(out);
+            try {
+                runner.submit(() -> execute(request, stream)).get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                stream.send(event("error", cause.getClass().getSimpleName() + ": " + cause.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void execute(Map<String, Object> request, ResultStream stream) {
+        long started = System.currentTimeMillis();
+        int run = runs.incrementAndGet();
+        Map<String, String> overrides = new LinkedHashMap<>();
+        if (request.get("properties") instanceof Map) {
+            ((Map<?, ?>) request.get("properties")).forEach((key, value) -> overrides.put(String.valueOf(key), String.valueOf(value)));
+        }
+        overrides.put("includeTags", String.valueOf(request.getOrDefault("includeTags", "")).trim());
+        overrides.put("excludeTags", String.valueOf(request.getOrDefault("excludeTags", "")).trim());
+        Map<String, String> previous = applyProperties(overrides);
+        try {
+            if (lastModified(CLASS_DIRECTORIES) > classesModifiedAt) {
+                stream.send(event("warning", "Compiled classes changed since the daemon started - restart it to run the new code"));
+            }
+            TestPlan plan = launcher.discover(buildRequest(request.get("tests")));
+            long planned = plan.countTestIdentifiers(TestIdentifier::isTest);
+            currentRun = "run " + run + " (" + planned + " test(s))";
+            System.out.println("\n=== Daemon " + currentRun + " ===");
+            Map<String, Object> planEvent = new LinkedHashMap<>();
+            planEvent.put("event", "plan");
+            planEvent.put("run", run);
+            planEvent.put("tests", planned);
+            stream.send(planEvent);
+
+            FailFastExtension.reset();
+            try {
+                launcher.execute(plan, stream);
+            } finally {
+                ExtentReportListener.finishRun();
+            }
+
+            Map<String, Object> finished = new LinkedHashMap<>();
+            finished.put("event", "finished");
+            finished.put("run", run);
+            finished.put("passed", stream.passed);
+            finished.put("failed", stream.failed);
+            finished.put("skipped", stream.skipped);
+            finished.put("durationMs", System.currentTimeMillis() - started);
+            stream.send(finished);
+            System.out.println("=== Daemon run " + run + ": " + stream.passed + " passed, " + stream.failed + " failed, "
+                    + stream.skipped + " skipped in " + (System.currentTimeMillis() - started) + " ms ===");
+        } finally {
+            currentRun = null;
+            restoreProperties(previous);
+        }
+    }
+
+    // Class names without a package are looked up in daemon.package
+    private LauncherDiscoveryRequest buildRequest(Object tests) {
+        LauncherDiscoveryRequestBuilder builder = LauncherDiscoveryRequestBuilder.request();
+        List<String> names = new ArrayList<>();
+        if (tests instanceof List) {
+            ((List<?>) tests).forEach(test -> names.add(String.valueOf(test).trim()));
+        }
+        names.removeIf(String::isEmpty);
+        if (names.isEmpty()) {
+            builder.selectors(TagIndex.selectTests(packageName));
+        }
+        for (String name : names) {
+            String className = name.contains("#") ? name.substring(0, name.indexOf('#')) : name;
+            String qualified = (className.contains(".") ? "" : packageName + ".") + name;
+            builder.selectors(name.contains("#") ? selectMethod(qualified) : selectClass(qualified));
+        }
+        return MatrixRunner.withTagFilters(builder).build();
+    }
+
+    // Requests run one at a time, so -D style overrides are safe to apply JVM-wide for the run
+    private static Map<String, String> applyProperties(Map<String, String> overrides) {
+        Map<String, String> previous = new HashMap<>();
+        overrides.forEach((key, value) -> {
+            previous.put(key, System.getProperty(key));
+            if (value.isEmpty()) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+        return previous;
+    }
+
+    private static void restoreProperties(Map<String, String> previous) {
+        previous.forEach((key, value) -> {
+            if (value == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+    }
+
+    /**
+     * Streams one JSON line per finished or skipped test to the client
+     * A client that disconnects does not stop the run
+     */
+    private static class ResultStream implements TestExecutionListener {
+        private final OutputStream out;
+        private final Map<String, Long> startTimes = new HashMap<>();
+        private boolean connected = true;
+        int passed;
+        int failed;
+        int skipped;
+
+        ResultStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void executionStarted(TestIdentifier testIdentifier) {
+            if (testIdentifier.isTest()) {
+                startTimes.put(testIdentifier.getUniqueId(), System.currentTimeMillis());
+            }
+        }
+
+        @Override
+        public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+            if (testIdentifier.isTest()) {
+                skipped++;
+                send(result(testIdentifier, "SKIP", 0, reason));
+            }
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            if (!testIdentifier.isTest() || FlakyTestRetryExtension.isRetriedAttempt(testExecutionResult)) {
+                return;
+            }
+            String status;
+            if (testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL) {
+                status = "PASS";
+                passed++;
+            } else if (testExecutionResult.getStatus() == TestExecutionResult.Status.ABORTED) {
+                status = "SKIP";
+                skipped++;
+            } else {
+                status = "FAIL";
+                failed++;
+            }
+            long startedAt = startTimes.getOrDefault(testIdentifier.getUniqueId(), System.currentTimeMillis());
+            send(result(testIdentifier, status, System.currentTimeMillis() - startedAt, testExecutionResult.getThrowable()
+                    .map(t -> t.getClass().getSimpleName() + ": " + t.getMessage()).orElse(null)));
+        }
+
+        private static Map<String, Object> result(TestIdentifier testIdentifier, String status, long durationMs, String message) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("event", "result");
+            result.put("name", testIdentifier.getSource()
+                    .filter(MethodSource.class::isInstance)
+                    .map(source -> ((MethodSource) source).getJavaClass().getSimpleName() + " - ")
+                    .orElse("") + testIdentifier.getDisplayName());
+            result.put("status", status);
+            result.put("durationMs", durationMs);
+            result.put("message", message);
+            return result;
+        }
+
+        synchronized void send(Map<String, Object> event) {
+            if (!connected) {
+                return;
+            }
+            try {
+                out.write((toLine(event) + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            } catch (IOException e) {
+                connected = false;
+                System.out.println("Client disconnected - finishing the run without streaming");
+            }
+        }
+    }
+
+    // ========== HTTP ==========
+
+    private static Map<String, Object> event(String type, String message) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("event", type);
+        event.put("message", message);
+        return event;
+    }
+
+    // One JSON object per line (Json.toJson pretty-prints)
+    private static String toLine(Object value) {
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(line)) {
+            out.setPrettyPrint(false).write(value);
+        }
+        return line.toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = (toLine(body) + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static long lastModified(Path... directories) {
+        long newest = 0;
+        for (Path directory : directories) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(directory)) {
+                newest = Math.max(newest, paths.mapToLong(path -> path.toFile().lastModified()).max().orElse(0));
+            } catch (IOException e) {
+                // Treat an unreadable directory as unchanged
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Entry point: start the daemon and serve until POST /stop
+     * Exits with status 1 if the port is taken (a daemon is probably running already)
+     */
+    public static void main(String[] args) throws IOException {
+        int port = ConfigReader.getIntProperty("daemon.port", 7071);
+        try {
+            new TestRunnerDaemon().start(port);
+        } catch (BindException e) {
+            System.err.println("✗ Port " + port + " is in use - is a daemon already running? (TestRunnerClient --status)");
+            System.exit(1);
+        }
+    }
+}
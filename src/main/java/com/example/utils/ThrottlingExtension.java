@@ -0,0 +1,31 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Throttling Extension for JUnit 5
+ * Selects each test's throttling profile from its throttle-* tag (or throttle.profile)
+ * before its @BeforeEach methods acquire the browser session, and logs the profile and
+ * page timings to the test's report after it ran
+ *
+ * The profile itself is applied by WebDriverFactory.acquireDriver and page timings are
+ * recorded by the page objects (see NetworkThrottling)
+ *
+ * Registered for every test class through extension auto-detection
+ * (META-INF/services/org.junit.jupiter.api.extension.Extension)
+ */
+public class ThrottlingExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        String testName = context.getRequiredTestClass().getSimpleName() + " - " + context.getDisplayName();
+        NetworkThrottling.beginTest(context.getTags(), testName);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        NetworkThrottling.endTest();
+    }
+}
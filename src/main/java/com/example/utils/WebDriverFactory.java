@@ -9,6 +9,12 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeOptions;
 import io.github.bonigarcia.wdm.WebDriverManager;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * WebDriverFactory Class
  * Factory class to create and configure WebDriver instances
@@ -18,6 +24,33 @@ import io.github.bonigarcia.wdm.WebDriverManager;
  * Usage:
  *   WebDriver driver = WebDriverFactory.createDriver("chrome");
  *   WebDriver driver = WebDriverFactory.createDriver("firefox");
+ *   WebDriver driver = WebDriverFactory.createDriver("chrome", true); // headless
+ *   WebDriver driver = WebDriverFactory.acquireDriver("chrome");      // pre-warmed if available
+ * 
+ * Remote mode:
+ *   With execution.mode=remote every browser is created as a RemoteWebDriver
+ *   session on the Selenium Grid hubs in grid.urls (see GridSessionFactory).
+ * 
+ * Local driver and browser processes are tracked by ProcessWatchdog, which
+ * reaps leftovers and kills sessions that were never quit.
+ * 
+ * Every session creation is recorded in the run timeline and as a
+ * com.example.Session Flight Recorder event (RunTracer).
+ * 
+ * Pre-warmed sessions:
+ *   When the test plan is known (SessionPrewarmListener), up to prewarm.sessions
+ *   browsers are launched ahead of demand on background threads and warmed up by
+ *   navigating to the base URL. acquireDriver() hands out a ready session and
+ *   schedules the next one, falling back to a cold launch when none is ready.
+ * 
+ * Throttling profiles:
+ *   Tests tagged throttle-<profile> (or all tests with -Dthrottle.profile) get their
+ *   session throttled through CDP when it is acquired (see NetworkThrottling).
+ * 
+ * Browser contexts:
+ *   With browser.contexts.enabled=true, Chrome/Edge tests share one browser process
+ *   and each acquireDriver() returns a driver bound to a new isolated context
+ *   (see SharedBrowser). Pre-warming is skipped in this mode.
  */
 public class WebDriverFactory {
     
@@ -25,74 +58,374 @@ public class WebDriverFactory {
     private static final String BROWSER_FIREFOX = "firefox";
     private static final String BROWSER_EDGE = "edge";
 
+    // Pre-warmed session state (see acquireDriver)
+    private static final ConcurrentLinkedDeque<WarmSession> warmSessions = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger remainingPlannedSessions = new AtomicInteger(0);
+    private static final AtomicInteger warmHits = new AtomicInteger(0);
+    private static final AtomicInteger coldLaunches = new AtomicInteger(0);
+    // Cold acquires that joined a pre-warm launch still in progress instead of starting their own
+    private static final AtomicInteger launchingJoins = new AtomicInteger(0);
+    private static final AtomicLong warmFirstCommandMs = new AtomicLong(0);
+    private static final AtomicLong coldFirstCommandMs = new AtomicLong(0);
+    private static final ThreadLocal<Boolean> lastAcquireWarm = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<String> lastSessionSummary = new ThreadLocal<>();
+    // Pool owned by the current thread's browser lane (MatrixRunner)
+    private static final ThreadLocal<WebDriverPool> lanePool = new ThreadLocal<>();
+
+    /**
+     * Browser session launched in the background ahead of demand
+     */
+    private static class WarmSession {
+        final String browserType;
+        final CompletableFuture<WebDriver> driver;
+
+        WarmSession(String browserType, CompletableFuture<WebDriver> driver) {
+            this.browserType = browserType;
+            this.driver = driver;
+        }
+    }
+
     /**
      * Create WebDriver instance based on browser type
      * If unsupported browser type is provided, Chrome is used as default
+     * Headless mode follows the {env}.headless property (or -D{env}.headless)
      * 
      * @param browserType Type of browser to create (chrome, firefox, edge)
      * @return WebDriver instance initialized with appropriate browser and options
      */
     public static WebDriver createDriver(String browserType) {
+        return createDriver(browserType, ConfigReader.isHeadless());
+    }
+
+    /**
+     * Create WebDriver instance based on browser type with explicit headless flag
+     * Used by load and parallel runners which always drive headless sessions
+     * 
+     * @param browserType Type of browser to create (chrome, firefox, edge)
+     * @param headless true to launch the browser without a visible window
+     * @return WebDriver instance initialized with appropriate browser and options
+     */
+    public static WebDriver createDriver(String browserType, boolean headless) {
         String browser = browserType.toLowerCase();
-        
-        switch (browser) {
-            case BROWSER_CHROME:
-                return createChromeDriver();
-            case BROWSER_FIREFOX:
-                return createFirefoxDriver();
-            case BROWSER_EDGE:
-                return createEdgeDriver();
-            default:
-                System.out.println("Browser not supported: " + browserType + ". Using Chrome as default.");
-                return createChromeDriver();
+        long spanStart = RunTracer.start("session");
+        try {
+            switch (browser) {
+                case BROWSER_CHROME:
+                    return createChromeDriver(headless);
+                case BROWSER_FIREFOX:
+                    return createFirefoxDriver(headless);
+                case BROWSER_EDGE:
+                    return createEdgeDriver(headless);
+                default:
+                    System.out.println("Browser not supported: " + browserType + ". Using Chrome as default.");
+                    return createChromeDriver(headless);
+            }
+        } finally {
+            RunTracer.complete("createDriver", "session", spanStart, browser + (headless ? " (headless)" : ""));
+        }
+    }
+
+    // ========== PRE-WARMED SESSIONS ==========
+
+    /**
+     * Announce how many browser sessions the discovered test plan will need
+     * Starts launching up to prewarm.sessions of them in the background
+     * 
+     * @param browserType Browser the planned tests will use
+     * @param plannedSessions Number of tests that will request a driver
+     */
+    public static void planSessions(String browserType, int plannedSessions) {
+        remainingPlannedSessions.set(plannedSessions);
+        System.out.println("Test plan needs " + plannedSessions + " browser session(s) - pre-warming up to "
+                + getPrewarmCount());
+        refillWarmSessions(browserType);
+    }
+
+    /**
+     * Get a browser session for a test
+     * Returns a pre-warmed session when one is ready (or launching), otherwise
+     * launches a cold one, then tops up the warm queue for upcoming tests
+     * 
+     * The current test's throttling profile, if any, is applied to the session (NetworkThrottling)
+     * 
+     * @param browserType Type of browser (chrome, firefox, edge)
+     * @return WebDriver instance ready for the test
+     */
+    public static WebDriver acquireDriver(String browserType) {
+        WebDriver driver = acquireSession(browserType);
+        NetworkThrottling.apply(driver);
+        return driver;
+    }
+
+    private static WebDriver acquireSession(String browserType) {
+        lastSessionSummary.remove();
+        WebDriverPool pool = lanePool.get();
+        if (pool != null && pool.getBrowserType().equalsIgnoreCase(browserType)) {
+            try {
+                WebDriver driver = pool.acquire();
+                lastAcquireWarm.set(pool.isReused(driver));
+                return driver;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a " + browserType + " session", e);
+            }
+        }
+        if (SharedBrowser.isEnabledFor(browserType)) {
+            lastAcquireWarm.set(false);
+            return SharedBrowser.getInstance(browserType, ConfigReader.isHeadless()).newContext();
+        }
+        remainingPlannedSessions.updateAndGet(n -> Math.max(0, n - 1));
+        WarmSession session = takeWarmSession(browserType);
+        refillWarmSessions(browserType);
+        if (session != null) {
+            // Only a session that finished launching before the test asked counts as pre-warmed
+            boolean ready = session.driver.isDone();
+            WebDriver driver = awaitWarmSession(session);
+            if (driver != null) {
+                lastAcquireWarm.set(ready);
+                if (ready) {
+                    warmHits.incrementAndGet();
+                } else {
+                    coldLaunches.incrementAndGet();
+                    launchingJoins.incrementAndGet();
+                }
+                return driver;
+            }
+        }
+        lastAcquireWarm.set(false);
+        coldLaunches.incrementAndGet();
+        return createDriver(browserType);
+    }
+
+    /**
+     * Give back a session obtained from acquireDriver()
+     * Returns it to the lane's pool when that pool created it, disposes its context when it
+     * lives in the shared browser, otherwise quits it on a background virtual thread
+     * 
+     * @param driver Session to release
+     */
+    public static void releaseDriver(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        WebDriverPool pool = lanePool.get();
+        if (pool != null && pool.owns(driver)) {
+            pool.release(driver);
+            return;
+        }
+        FailureDiagnostics.detach(driver);
+        ScreencastRecorder.detach(driver);
+        NetworkThrottling.forget(driver);
+        if (SharedBrowser.owns(driver)) {
+            AsyncTaskExecutor.run("close browser context", () -> SharedBrowser.closeContext(driver));
+            return;
+        }
+        AsyncTaskExecutor.run("quit browser", () -> {
+            driver.quit();
+            System.out.println("Browser closed successfully");
+        });
+    }
+
+    /**
+     * Bind a session pool to the current thread
+     * acquireDriver()/releaseDriver() on this thread then borrow from and return to it
+     * 
+     * @param pool Pool for this thread's browser, or null to unbind
+     */
+    public static void bindPool(WebDriverPool pool) {
+        if (pool == null) {
+            lanePool.remove();
+        } else {
+            lanePool.set(pool);
+        }
+    }
+
+    /**
+     * Record how long the current test waited from setup start to its first browser command
+     * 
+     * @param elapsedMs Time to first command in milliseconds
+     */
+    public static void recordTimeToFirstCommand(long elapsedMs) {
+        boolean warm = lastAcquireWarm.get();
+        (warm ? warmFirstCommandMs : coldFirstCommandMs).addAndGet(elapsedMs);
+        lastSessionSummary.set("Time to first command: " + elapsedMs + " ms (" + (warm ? "pre-warmed" : "cold") + " session)");
+        StartupBenchmark.recordFirstCommand();
+    }
+
+    /**
+     * Get time-to-first-command summary recorded for the current thread's latest test
+     * 
+     * @return Summary text, or null if no session was acquired on this thread
+     */
+    public static String getLastSessionSummary() {
+        return lastSessionSummary.get();
+    }
+
+    /**
+     * Get overall pre-warm statistics for logs and reports
+     * 
+     * @return Summary of warm hits, cold launches and average time to first command
+     */
+    public static String getPrewarmSummary() {
+        int warm = warmHits.get();
+        int cold = coldLaunches.get();
+        int joins = launchingJoins.get();
+        return "Sessions: " + warm + " pre-warmed, " + cold + " cold"
+                + (joins > 0 ? " (" + joins + " joined a pre-warm still launching)" : "")
+                + " | avg time to first command: warm " + (warm > 0 ? warmFirstCommandMs.get() / warm : 0) + " ms"
+                + ", cold " + (cold > 0 ? coldFirstCommandMs.get() / cold : 0) + " ms";
+    }
+
+    /**
+     * Quit pre-warmed sessions no test picked up
+     * Called when the test plan finishes
+     */
+    public static void discardWarmSessions() {
+        remainingPlannedSessions.set(0);
+        WarmSession session;
+        while ((session = warmSessions.poll()) != null) {
+            quitWhenLaunched(session);
+        }
+    }
+
+    // Tracked by AsyncTaskExecutor, so the quit is drained before the JVM exits
+    private static void quitWhenLaunched(WarmSession session) {
+        AsyncTaskExecutor.run("quit pre-warmed " + session.browserType, () -> {
+            WebDriver driver;
+            try {
+                driver = session.driver.get(2, TimeUnit.MINUTES);
+            } catch (Exception e) {
+                return; // launch failed or never finished - nothing to quit
+            }
+            driver.quit();
+        });
+    }
+
+    private static int getPrewarmCount() {
+        return ConfigReader.getIntProperty("prewarm.sessions", 0);
+    }
+
+    // Keep min(prewarm.sessions, remaining planned tests) sessions launching or ready
+    private static synchronized void refillWarmSessions(String browserType) {
+        if (!AsyncTaskExecutor.isEnabled()) {
+            return;
+        }
+        if (SharedBrowser.isEnabledFor(browserType)) {
+            // New contexts in the shared browser are already cheap
+            return;
+        }
+        int target = Math.min(getPrewarmCount(), remainingPlannedSessions.get());
+        while (warmSessions.size() < target) {
+            CompletableFuture<WebDriver> future = AsyncTaskExecutor.supply("pre-warm " + browserType, () -> {
+                WebDriver driver = createDriver(browserType);
+                try {
+                    // Prime DNS/TLS and HTTP caches before the test needs the browser
+                    driver.get(TestDataManager.getBaseURL());
+                } catch (Exception e) {
+                    System.out.println("Warm-up navigation failed: " + e.getMessage());
+                }
+                return driver;
+            });
+            warmSessions.add(new WarmSession(browserType.toLowerCase(), future));
+        }
+    }
+
+    // Take a ready warm session for this browser, else the oldest one still launching
+    private static WarmSession takeWarmSession(String browserType) {
+        String type = browserType.toLowerCase();
+        for (boolean readyOnly : new boolean[] {true, false}) {
+            for (WarmSession session : warmSessions) {
+                if (session.browserType.equals(type) && (!readyOnly || session.driver.isDone())
+                        && warmSessions.remove(session)) {
+                    return session;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Wait for a taken warm session to finish launching
+    private static WebDriver awaitWarmSession(WarmSession session) {
+        try {
+            return session.driver.get(2, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            quitWhenLaunched(session);
+            return null;
+        } catch (Exception e) {
+            System.out.println("Pre-warmed session unavailable, launching cold: " + e.getMessage());
+            quitWhenLaunched(session);
+            return null;
         }
     }
 
     /**
      * Create Chrome WebDriver with options
      * Disables notifications and popup blocking for stability
-     * Uncomment headless option for headless mode
      * 
-     * @return ChromeDriver instance with configured options
+     * @param headless true to run Chrome in headless mode
+     * @return ChromeDriver instance, or a Grid session in remote mode
      */
-    private static WebDriver createChromeDriver() {
-        WebDriverManager.chromedriver().setup();
+    private static WebDriver createChromeDriver(boolean headless) {
         ChromeOptions options = new ChromeOptions();
-        // Uncomment for headless mode
-        // options.addArguments("--headless");
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
         options.addArguments("--disable-notifications");
         options.addArguments("--disable-popup-blocking");
+        if (GridSessionFactory.isRemote()) {
+            return GridSessionFactory.createSession(options);
+        }
+        WebDriverManager.chromedriver().setup();
         System.out.println("Chrome browser initialized");
-        return new ChromeDriver(options);
+        WebDriver driver = new ChromeDriver(options);
+        ProcessWatchdog.track(driver);
+        return driver;
     }
 
     /**
      * Create Firefox WebDriver with options
-     * Uncomment headless option for headless mode
      * 
-     * @return FirefoxDriver instance with configured options
+     * @param headless true to run Firefox in headless mode
+     * @return FirefoxDriver instance, or a Grid session in remote mode
      */
-    private static WebDriver createFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
+    private static WebDriver createFirefoxDriver(boolean headless) {
         FirefoxOptions options = new FirefoxOptions();
-        // Uncomment for headless mode
-        // options.addArguments("--headless");
+        if (headless) {
+            options.addArguments("--headless");
+        }
+        if (GridSessionFactory.isRemote()) {
+            return GridSessionFactory.createSession(options);
+        }
+        if (FailureDiagnostics.isEnabled()) {
+            // BiDi connection for network/console events (Firefox has no CDP)
+            options.setCapability("webSocketUrl", true);
+        }
+        WebDriverManager.firefoxdriver().setup();
         System.out.println("Firefox browser initialized");
-        return new FirefoxDriver(options);
+        WebDriver driver = new FirefoxDriver(options);
+        ProcessWatchdog.track(driver);
+        return driver;
     }
 
     /**
      * Create Edge WebDriver with options
-     * Uncomment headless option for headless mode
      * 
-     * @return EdgeDriver instance with configured options
+     * @param headless true to run Edge in headless mode
+     * @return EdgeDriver instance, or a Grid session in remote mode
      */
-    private static WebDriver createEdgeDriver() {
-        WebDriverManager.edgedriver().setup();
+    private static WebDriver createEdgeDriver(boolean headless) {
         EdgeOptions options = new EdgeOptions();
-        // Uncomment for headless mode
-        // options.addArguments("--headless");
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (GridSessionFactory.isRemote()) {
+            return GridSessionFactory.createSession(options);
+        }
+        WebDriverManager.edgedriver().setup();
         System.out.println("Edge browser initialized");
-        return new EdgeDriver(options);
+        WebDriver driver = new EdgeDriver(options);
+        ProcessWatchdog.track(driver);
+        return driver;
     }
 }
@@ -0,0 +1,268 @@
+package com.example.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebDriverPool Class
+ * Bounded pool of WebDriver sessions for one browser type
+ * Sessions are created lazily through WebDriverFactory up to the configured size
+ * and handed back to the pool after use instead of being quit
+ *
+ * Usage:
+ *   WebDriverPool pool = new WebDriverPool("chrome", 10, true);
+ *   WebDriver driver = pool.acquire();
+ *   try { ... } finally { pool.release(driver); }
+ *   pool.shutdown();
+ */
+public class WebDriverPool {
+
+    private static final long WAIT_SLICE_MS = 250;
+
+    private final String browserType;
+    private final int maxSize;
+    private final boolean headless;
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final List<WebDriver> all = new ArrayList<>();
+    // Sessions handed back at least once: acquiring one of these is a reuse
+    private final Set<WebDriver> released = ConcurrentHashMap.newKeySet();
+    // Waiters for a session: woken on release, invalidate and shutdown
+    private final Object sessionFreed = new Object();
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor for WebDriverPool
+     *
+     * @param browserType Type of browser for every session in the pool (chrome, firefox, edge)
+     * @param maxSize Maximum number of live sessions
+     * @param headless true to launch sessions without a visible window
+     */
+    public WebDriverPool(String browserType, int maxSize, boolean headless) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1. Got: " + maxSize);
+        }
+        this.browserType = browserType;
+        this.maxSize = maxSize;
+        this.headless = headless;
+    }
+
+    /**
+     * Borrow a session from the pool
+     * Reuses an idle session when available, otherwise launches a new one
+     * Blocks until a session is released or a slot is freed once the pool is at capacity
+     *
+     * @return WebDriver session owned by the caller until released
+     * @throws InterruptedException if interrupted while waiting for a free session
+     * @throws IllegalStateException if the pool is or gets shut down
+     */
+    public WebDriver acquire() throws InterruptedException {
+        return awaitSession(Long.MAX_VALUE);
+    }
+
+    /**
+     * Borrow a session, giving up after the specified timeout
+     *
+     * @param timeout Maximum time to wait
+     * @param unit Unit of the timeout
+     * @return WebDriver session, or null if none became available in time
+     * @throws InterruptedException if interrupted while waiting
+     * @throws IllegalStateException if the pool is or gets shut down
+     */
+    public WebDriver acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long timeoutNanos = unit.toNanos(timeout);
+        return awaitSession(timeoutNanos >= Long.MAX_VALUE / 2 ? Long.MAX_VALUE : System.nanoTime() + timeoutNanos);
+    }
+
+    // An idle session, else a new one in a free slot; waits in slices so a slot freed by
+    // invalidate() is noticed even if its wake-up raced with the checks
+    private WebDriver awaitSession(long deadlineNanos) throws InterruptedException {
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("WebDriverPool for " + browserType + " is shut down");
+            }
+            WebDriver driver = idle.poll();
+            if (driver != null) {
+                return driver;
+            }
+            if (reserveSlot()) {
+                return createReserved();
+            }
+            long remainingMs = deadlineNanos == Long.MAX_VALUE
+                    ? WAIT_SLICE_MS : TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remainingMs <= 0) {
+                return null;
+            }
+            synchronized (sessionFreed) {
+                sessionFreed.wait(Math.min(remainingMs, WAIT_SLICE_MS));
+            }
+        }
+    }
+
+    private void signalWaiters() {
+        synchronized (sessionFreed) {
+            sessionFreed.notifyAll();
+        }
+    }
+
+    /**
+     * Return a session to the pool so another caller can reuse it
+     * Cookies are cleared so the next borrower starts logged out
+     * A session this pool did not create is quit instead of pooled
+     *
+     * @param driver Session previously obtained from acquire()
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (!owns(driver)) {
+            System.err.println("✗ Session not created by the " + browserType + " pool - quitting it instead of pooling");
+            quitQuietly(driver);
+            return;
+        }
+        if (closed) {
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            driver.manage().deleteAllCookies();
+            released.add(driver);
+            idle.offer(driver);
+            signalWaiters();
+        } catch (Exception e) {
+            // Session is broken - drop it so a fresh one is created next time
+            invalidate(driver);
+        }
+    }
+
+    /**
+     * Remove a broken session from the pool and quit it
+     * Frees its slot so a replacement can be created
+     *
+     * @param driver Session to discard
+     */
+    public void invalidate(WebDriver driver) {
+        synchronized (all) {
+            all.remove(driver);
+        }
+        idle.remove(driver);
+        released.remove(driver);
+        signalWaiters();
+        quitQuietly(driver);
+    }
+
+    /**
+     * Quit every session created by this pool
+     */
+    public void shutdown() {
+        closed = true;
+        List<WebDriver> snapshot;
+        synchronized (all) {
+            snapshot = new ArrayList<>(all);
+            all.clear();
+        }
+        idle.clear();
+        released.clear();
+        signalWaiters();
+        for (WebDriver driver : snapshot) {
+            quitQuietly(driver);
+        }
+        System.out.println("WebDriverPool shut down - " + snapshot.size() + " " + browserType + " session(s) closed");
+    }
+
+    /**
+     * Check whether a session was created by this pool
+     *
+     * @param driver Session to check
+     * @return true if the session is one of the pool's live sessions
+     */
+    public boolean owns(WebDriver driver) {
+        synchronized (all) {
+            return driver != null && all.contains(driver);
+        }
+    }
+
+    /**
+     * Check whether a session has been used and released before
+     * Right after acquire() this tells a reused session from a freshly launched one
+     *
+     * @param driver Session from acquire()
+     * @return true if the session came back to the pool at least once
+     */
+    public boolean isReused(WebDriver driver) {
+        return released.contains(driver);
+    }
+
+    /**
+     * Get number of live sessions (idle and borrowed)
+     *
+     * @return Current pool size
+     */
+    public int size() {
+        synchronized (all) {
+            return all.size();
+        }
+    }
+
+    public String getBrowserType() {
+        return browserType;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // Reserve a slot with a null placeholder so concurrent callers never exceed maxSize
+    private boolean reserveSlot() {
+        synchronized (all) {
+            if (all.size() < maxSize) {
+                all.add(null);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // Launch a session into a slot previously reserved by reserveSlot()
+    private WebDriver createReserved() {
+        try {
+            WebDriver created = WebDriverFactory.createDriver(browserType, headless);
+            synchronized (all) {
+                int slot = all.indexOf(null);
+                if (slot < 0) {
+                    // Pool was shut down while the browser was launching
+                    quitQuietly(created);
+                    throw new IllegalStateException("WebDriverPool for " + browserType + " is shut down");
+                }
+                all.set(slot, created);
+            }
+            return created;
+        } catch (RuntimeException e) {
+            synchronized (all) {
+                all.remove(null);
+            }
+            signalWaiters();
+            throw e;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        FailureDiagnostics.detach(driver);
+        ScreencastRecorder.detach(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("✗ Error closing pooled browser: " + e.getMessage());
+        }
+    }
+}
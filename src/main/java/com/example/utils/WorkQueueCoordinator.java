@@ -0,0 +1,524 @@
+package com.example.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * Work Queue Coordinator
+ * Distributes tests over several worker JVMs (WorkQueueWorker) and writes one merged report
+ *
+ * Features:
+ * - Tests discovered once, with the same includeTags/excludeTags filters as mvn test
+ * - Work-stealing queue: each worker gets its own deque of whole test classes (so its
+ *   sessions and class setup stay warm); a worker whose deque is empty steals the last
+ *   test of the fullest deque, so no worker idles while work is left
+ * - Served over HTTP: POST /register, /next (204 when the queue is drained), /result
+ * - Listens on the loopback interface only, unless workqueue.bind.all is set for workers
+ *   on other machines: the queue accepts results without authentication
+ * - Leases: a test not reported within workqueue.lease.seconds is handed out again once
+ *   (a local worker holding the expired lease is stopped); tests left when every spawned
+ *   worker has exited are failed as "worker lost"
+ * - Results streamed to the live progress page as they arrive
+ * - One merged Extent report, one Detailed report and one Slack message for the whole run
+ *
+ * Configuration (config.properties or -D overrides):
+ *   workqueue.port=7070
+ *   workqueue.bind.all=false      (true to accept workers from other machines)
+ *   workqueue.spawn.workers=2     (local worker JVMs to start; 0 = wait for external workers)
+ *   workqueue.workers=2           (deques when workers are started elsewhere)
+ *   workqueue.lease.seconds=900
+ *   workqueue.package=com.example.tests
+ *   workqueue.classes=            (comma separated class names; overrides workqueue.package)
+ *   includeTags / excludeTags
+ *
+ * Usage:
+ *   mvn process-test-classes exec:java -Dexec.mainClass=com.example.utils.WorkQueueCoordinator \
+ *       -Dexec.classpathScope=test -Dworkqueue.spawn.workers=4 -DincludeTags=smoke
+ */
+public class WorkQueueCoordinator {
+
+    private static final String REPORT_PATH = "test-reports/";
+    private static final Json JSON = new Json();
+
+    /**
+     * One schedulable unit: a test method (all invocations of a parameterized method)
+     */
+    private static class WorkItem {
+        final String id;
+        final String name;
+        int attempts = 0;
+        long leaseExpiresAt;
+        String worker;
+
+        WorkItem(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private final List<Deque<WorkItem>> deques = new ArrayList<>();
+    private final Map<String, WorkItem> inFlight = new LinkedHashMap<>();
+    private final Map<String, List<Map<String, Object>>> results = new LinkedHashMap<>();
+    private final Map<String, Integer> testsPerWorker = new LinkedHashMap<>();
+    private final Map<String, Long> workerPids = new HashMap<>();
+    private final List<String> order = new ArrayList<>();
+    private final AtomicInteger nextWorker = new AtomicInteger(0);
+    private final List<Process> spawnedWorkers = new CopyOnWriteArrayList<>();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private final int totalItems;
+    private int steals = 0;
+    private HttpServer server;
+    private long startTime;
+
+    /**
+     * Discover the tests of a request and spread their classes over worker deques
+     *
+     * @param request Discovery request (selectors and tag filters)
+     * @param workers Number of worker deques
+     */
+    public WorkQueueCoordinator(LauncherDiscoveryRequest request, int workers) {
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            deques.add(new ArrayDeque<>());
+        }
+        TestPlan plan = LauncherFactory.create().discover(request);
+        Map<String, List<WorkItem>> byClass = new LinkedHashMap<>();
+        Deque<TestIdentifier> toVisit = new ArrayDeque<>(plan.getRoots());
+        while (!toVisit.isEmpty()) {
+            TestIdentifier identifier = toVisit.pop();
+            TestSource source = identifier.getSource().orElse(null);
+            if (source instanceof MethodSource) {
+                MethodSource method = (MethodSource) source;
+                String simpleName = method.getClassName().substring(method.getClassName().lastIndexOf('.') + 1);
+                byClass.computeIfAbsent(method.getClassName(), k -> new ArrayList<>())
+                        .add(new WorkItem(identifier.getUniqueId(), simpleName + " - " + identifier.getDisplayName()));
+                order.add(identifier.getUniqueId());
+                continue;
+            }
+            List<TestIdentifier> children = new ArrayList<>(plan.getChildren(identifier));
+            Collections.reverse(children); // keep discovery order on the stack
+            children.forEach(toVisit::push);
+        }
+        List<List<WorkItem>> classes = new ArrayList<>(byClass.values());
+        classes.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        int next = 0;
+        int items = 0;
+        for (List<WorkItem> classItems : classes) {
+            // Largest classes first, round-robin, so deques start out roughly even
+            deques.get(next++ % deques.size()).addAll(classItems);
+            items += classItems.size();
+        }
+        this.totalItems = items;
+    }
+
+    /**
+     * Serve the queue until every test has a result, then write the merged report to
+     * test-reports/ and post it to Slack
+     *
+     * @param port HTTP port (0 picks a free one)
+     * @param spawnWorkers Local worker JVMs to start
+     * @return Results of all tests in discovery order
+     * @throws IOException if the server or a worker cannot be started
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    public List<Map<String, Object>> run(int port, int spawnWorkers) throws IOException, InterruptedException {
+        return run(port, spawnWorkers, REPORT_PATH, true);
+    }
+
+    /**
+     * Serve the queue until every test has a result, then write the merged report
+     *
+     * @param port HTTP port (0 picks a free one)
+     * @param spawnWorkers Local worker JVMs to start
+     * @param reportDir Directory for the merged reports and worker logs
+     * @param notify Whether to post the results to Slack
+     * @return Results of all tests in discovery order
+     * @throws IOException if the server or a worker cannot be started
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    public List<Map<String, Object>> run(int port, int spawnWorkers, String reportDir, boolean notify)
+            throws IOException, InterruptedException {
+        startTime = System.currentTimeMillis();
+        InetAddress address = ConfigReader.getBooleanProperty("workqueue.bind.all", false)
+                ? null : InetAddress.getLoopbackAddress();
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.createContext("/register", exchange ->
+                respond(exchange, register(JSON.toType(readBody(exchange), Json.MAP_TYPE))));
+        server.createContext("/next", exchange -> respond(exchange, next(workerOf(exchange))));
+        server.createContext("/result", exchange -> {
+            complete(workerOf(exchange), JSON.toType(readBody(exchange), Json.MAP_TYPE));
+            respond(exchange, Collections.emptyMap());
+        });
+        server.start();
+        String url = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getAddress().getPort();
+        System.out.println("✓ Work queue coordinator: " + totalItems + " test(s) in " + deques.size()
+                + " deque(s) at " + url);
+        // Run inside a test JVM: feed the suite's live page instead of starting and stopping our own
+        boolean ownsLiveServer = LiveProgressServer.getUrl() == null && LiveProgressServer.start() != null;
+        LiveProgressServer.runStarted(totalItems);
+        if (totalItems == 0) {
+            drained.countDown();
+        }
+
+        try {
+            for (int i = 0; i < spawnWorkers; i++) {
+                spawnedWorkers.add(spawnWorker(url, i, reportDir));
+            }
+            while (!drained.await(1, TimeUnit.SECONDS)) {
+                // Leases also expire while no worker asks for work (e.g. the last one hangs)
+                requeueExpiredLeases();
+                if (!spawnedWorkers.isEmpty() && spawnedWorkers.stream().noneMatch(Process::isAlive)) {
+                    failRemaining("No worker left to run this test (worker exited)");
+                }
+            }
+        } finally {
+            // Keep answering /next with 204 until local workers have seen the queue is drained
+            for (Process worker : spawnedWorkers) {
+                if (!worker.waitFor(30, TimeUnit.SECONDS)) {
+                    worker.destroyForcibly();
+                }
+            }
+            server.stop(1);
+            if (ownsLiveServer) {
+                LiveProgressServer.runFinished();
+                LiveProgressServer.stop();
+            }
+        }
+        List<Map<String, Object>> all = getResults();
+        writeReports(all, reportDir, notify);
+        return all;
+    }
+
+    // ========== QUEUE ==========
+
+    private synchronized Map<String, Object> register(Map<String, Object> hello) {
+        String worker = String.valueOf(nextWorker.getAndIncrement());
+        testsPerWorker.put(worker, 0);
+        if (hello.get("pid") instanceof Number) {
+            workerPids.put(worker, ((Number) hello.get("pid")).longValue());
+        }
+        System.out.println("Worker " + worker + " registered");
+        return Collections.singletonMap("worker", worker);
+    }
+
+    /**
+     * Hand out the next test: own deque first, otherwise steal from the fullest one
+     *
+     * @return Work item as JSON, or null when nothing is left to hand out
+     */
+    private synchronized Map<String, Object> next(String worker) {
+        requeueExpiredLeases();
+        Deque<WorkItem> own = deques.get(Math.floorMod(Integer.parseInt(worker), deques.size()));
+        WorkItem item = own.pollFirst();
+        if (item == null) {
+            Deque<WorkItem> fullest = deques.stream().max((a, b) -> Integer.compare(a.size(), b.size())).get();
+            item = fullest.pollLast();
+            if (item != null) {
+                steals++;
+            }
+        }
+        if (item == null) {
+            return null;
+        }
+        item.attempts++;
+        item.worker = worker;
+        item.leaseExpiresAt = System.currentTimeMillis()
+                + TimeUnit.SECONDS.toMillis(ConfigReader.getIntProperty("workqueue.lease.seconds", 900));
+        inFlight.put(item.id, item);
+        LiveProgressServer.testStarted(item.name);
+        Map<String, Object> work = new LinkedHashMap<>();
+        work.put("id", item.id);
+        work.put("name", item.name);
+        return work;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void complete(String worker, Map<String, Object> report) {
+        String id = String.valueOf(report.get("id"));
+        WorkItem item = inFlight.remove(id);
+        if (item == null || results.containsKey(id)) {
+            return; // late result of a test whose lease already moved on
+        }
+        List<Map<String, Object>> testResults = (List<Map<String, Object>>) report.get("results");
+        for (Map<String, Object> result : testResults) {
+            result.put("worker", worker);
+            LiveProgressServer.testFinished(item.name, String.valueOf(result.get("status")),
+                    result.get("message") != null ? String.valueOf(result.get("message")) : null);
+        }
+        results.put(id, testResults);
+        testsPerWorker.merge(worker, 1, Integer::sum);
+        if (results.size() == totalItems) {
+            drained.countDown();
+        }
+    }
+
+    // A worker that hangs or dies keeps its lease; hand the test out again once, then give up
+    private synchronized void requeueExpiredLeases() {
+        long now = System.currentTimeMillis();
+        for (WorkItem item : new ArrayList<>(inFlight.values())) {
+            if (item.leaseExpiresAt < now) {
+                inFlight.remove(item.id);
+                stopSpawnedWorker(item.worker);
+                if (item.attempts < 2) {
+                    System.out.println("Lease expired on worker " + item.worker + ", re-queueing " + item.name);
+                    deques.get(0).addFirst(item);
+                } else {
+                    results.put(item.id, Collections.singletonList(lostResult(item, "Worker lease expired twice")));
+                }
+            }
+        }
+        if (results.size() == totalItems) {
+            drained.countDown();
+        }
+    }
+
+    // Only workers this coordinator started; external workers are left to their owners
+    private void stopSpawnedWorker(String worker) {
+        Long pid = workerPids.remove(worker);
+        if (pid == null) {
+            return;
+        }
+        for (Process process : spawnedWorkers) {
+            if (process.pid() == pid && process.isAlive()) {
+                System.out.println("✗ Stopping worker " + worker + " (pid " + pid + "): its lease expired");
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private synchronized void failRemaining(String reason) {
+        for (Deque<WorkItem> deque : deques) {
+            for (WorkItem item : deque) {
+                results.put(item.id, Collections.singletonList(lostResult(item, reason)));
+            }
+            deque.clear();
+        }
+        for (WorkItem item : inFlight.values()) {
+            results.putIfAbsent(item.id, Collections.singletonList(lostResult(item, reason)));
+        }
+        inFlight.clear();
+        drained.countDown();
+    }
+
+    private static Map<String, Object> lostResult(WorkItem item, String reason) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", item.id);
+        result.put("name", item.name);
+        result.put("status", "FAIL");
+        result.put("startedAt", System.currentTimeMillis());
+        result.put("durationMs", 0);
+        result.put("message", reason);
+        result.put("worker", item.worker != null ? item.worker : "-");
+        return result;
+    }
+
+    private synchronized List<Map<String, Object>> getResults() {
+        List<Map<String, Object>> all = new ArrayList<>();
+        for (String id : order) {
+            all.addAll(results.getOrDefault(id, Collections.emptyList()));
+        }
+        return all;
+    }
+
+    // ========== REPORTS ==========
+
+    private void writeReports(List<Map<String, Object>> all, String reportDir, boolean notify) {
+        new File(reportDir).mkdirs();
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        String reportFile = new File(reportDir, "CombinedTestReport_" + timestamp + ".html").getPath();
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFile);
+        sparkReporter.config().setTheme(Theme.DARK);
+        sparkReporter.config().setDocumentTitle("Combined Test Execution Report");
+        sparkReporter.config().setReportName("Selenium Test Automation - Distributed Run");
+        sparkReporter.config().setOfflineMode(true);
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        extent.setSystemInfo("OS", System.getProperty("os.name"));
+        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
+        extent.setSystemInfo("Browser", TestDataManager.getBrowserType());
+        extent.setSystemInfo("Environment", ConfigReader.getEnvironment());
+        extent.setSystemInfo("Work Queue", getSummary());
+
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        SimpleDateFormat time = new SimpleDateFormat("HH:mm:ss");
+        List<DetailedReportGenerator.TestCaseDetail> details = new ArrayList<>();
+        for (Map<String, Object> result : all) {
+            String name = String.valueOf(result.get("name"));
+            String status = String.valueOf(result.get("status"));
+            long startedAt = ((Number) result.get("startedAt")).longValue();
+            long durationMs = ((Number) result.get("durationMs")).longValue();
+            Object message = result.get("message");
+
+            ExtentTest test = extent.createTest(name);
+            test.getModel().setStartTime(new Date(startedAt));
+            test.getModel().setEndTime(new Date(startedAt + durationMs));
+            test.assignDevice(TestDataManager.getBrowserType());
+            test.assignCategory("worker-" + result.get("worker"));
+            test.info("Worker: " + result.get("worker"));
+            if ("PASS".equals(status)) {
+                test.pass("Test passed successfully");
+                passed++;
+            } else if ("FAIL".equals(status)) {
+                test.fail("Test failed with exception: " + message);
+                failed++;
+            } else {
+                test.skip(message != null ? String.valueOf(message) : "Test skipped");
+                skipped++;
+            }
+            details.add(new DetailedReportGenerator.TestCaseDetail(name, status, durationMs,
+                    time.format(new Date(startedAt)), time.format(new Date(startedAt + durationMs))));
+        }
+        extent.flush();
+        System.out.println("✓ Merged Extent Report generated: " + reportFile);
+        DetailedReportGenerator.generateDetailedReport(details, reportDir);
+        if (notify) {
+            SlackNotifier.sendTestResults(all.size(), passed, failed, skipped, System.currentTimeMillis() - startTime, reportFile);
+        }
+    }
+
+    /**
+     * Get distribution statistics for logs and reports
+     *
+     * @return Tests per worker and number of steals
+     */
+    public synchronized String getSummary() {
+        return "Tests per worker " + testsPerWorker + " | " + steals + " stolen"
+                + " | wall time " + (System.currentTimeMillis() - startTime) / 1000 + " s";
+    }
+
+    // ========== HTTP / PROCESSES ==========
+
+    private static String workerOf(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getQuery();
+        return query != null && query.startsWith("worker=") ? query.substring("worker=".length()) : "0";
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // null body means "queue drained" (204)
+    private static void respond(HttpExchange exchange, Map<String, ?> body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = JSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Start a worker JVM on this machine with the same classpath and -D settings
+     * Output goes to {reportDir}/workers/worker-{n}.log
+     */
+    private static Process spawnWorker(String coordinatorUrl, int index, String reportDir) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(Paths.get(System.getProperty("java.home"), "bin", "java").toString()));
+        for (Map.Entry<Object, Object> property : new HashMap<>(System.getProperties()).entrySet()) {
+            String key = String.valueOf(property.getKey());
+            if (isForwardedProperty(key)) {
+                command.add("-D" + key + "=" + property.getValue());
+            }
+        }
+        command.addAll(StartupBenchmark.getJvmOptions());
+        command.add("-Dworkqueue.coordinator.url=" + coordinatorUrl);
+        command.add("-cp");
+        command.add(StartupBenchmark.getClasspath());
+        command.add(WorkQueueWorker.class.getName());
+
+        File log = new File(reportDir, "workers/worker-" + index + ".log");
+        log.getParentFile().mkdirs();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        System.out.println("Started worker JVM " + index + " (pid " + process.pid() + "), log: " + log.getPath());
+        return process;
+    }
+
+    // Config overrides only; JVM, Maven and surefire internals stay with the coordinator
+    private static boolean isForwardedProperty(String key) {
+        String[] internal = {"java.", "jdk.", "sun.", "os.", "user.", "file.", "line.", "path.", "native.",
+                "stdout.", "stderr.", "surefire", "basedir", "localRepository", "maven.", "classworlds.",
+                "library.", "awt.", "workqueue.coordinator.url"};
+        for (String prefix : internal) {
+            if (key.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LauncherDiscoveryRequest buildRequest() {
+        LauncherDiscoveryRequestBuilder builder = LauncherDiscoveryRequestBuilder.request();
+        String classes = ConfigReader.getOverridableProperty("workqueue.classes", "").trim();
+        if (!classes.isEmpty()) {
+            for (String className : classes.split(",")) {
+                builder.selectors(selectClass(className.trim()));
+            }
+        } else {
+            builder.selectors(TagIndex.selectTests(ConfigReader.getOverridableProperty("workqueue.package", "com.example.tests")));
+        }
+        return MatrixRunner.withTagFilters(builder).build();
+    }
+
+    /**
+     * Entry point for distributed runs
+     * Exits with status 1 if any test failed
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int spawn = ConfigReader.getIntProperty("workqueue.spawn.workers", 2);
+        int workers = spawn > 0 ? spawn : ConfigReader.getIntProperty("workqueue.workers", 2);
+        WorkQueueCoordinator coordinator = new WorkQueueCoordinator(buildRequest(), workers);
+        List<Map<String, Object>> results = coordinator.run(ConfigReader.getIntProperty("workqueue.port", 7070), spawn);
+
+        long failures = results.stream().filter(result -> "FAIL".equals(result.get("status"))).count();
+        System.out.println("\n=== Distributed Run Results ===");
+        System.out.println("total: " + results.size() + " | failed: " + failures + " | " + coordinator.getSummary());
+        System.exit(failures > 0 ? 1 : 0);
+    }
+}
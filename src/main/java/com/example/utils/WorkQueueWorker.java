@@ -0,0 +1,217 @@
+package com.example.utils;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+
+/**
+ * Work Queue Worker
+ * Worker JVM of a distributed run: pulls one test at a time from a WorkQueueCoordinator,
+ * runs it and streams the result back
+ *
+ * Features:
+ * - Own WebDriverPool: browser sessions are reused across the tests this worker runs
+ * - Tests run through the normal JUnit launcher, so retries, quarantine, change-impact
+ *   selection and the watchdog behave as in a local run
+ * - No report or Slack message of its own: the coordinator writes the merged report
+ *
+ * Configuration (config.properties or -D overrides):
+ *   workqueue.coordinator.url=http://localhost:7070
+ *   workqueue.sessions.per.worker=1
+ *
+ * Usage (normally spawned by WorkQueueCoordinator):
+ *   mvn process-test-classes exec:java -Dexec.mainClass=com.example.utils.WorkQueueWorker \
+ *       -Dexec.classpathScope=test -Dworkqueue.coordinator.url=http://coordinator-host:7070
+ *   (a coordinator only accepts workers from other machines with -Dworkqueue.bind.all=true)
+ */
+public class WorkQueueWorker {
+
+    private static final MediaType JSON_TYPE = MediaType.get("application/json; charset=utf-8");
+    private static final Json JSON = new Json();
+    private static volatile boolean active = false;
+
+    private final String coordinatorUrl;
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * Constructor for WorkQueueWorker
+     *
+     * @param coordinatorUrl Base URL of the coordinator
+     */
+    public WorkQueueWorker(String coordinatorUrl) {
+        this.coordinatorUrl = coordinatorUrl.replaceAll("/+$", "");
+    }
+
+    /**
+     * Check whether this JVM runs tests for a coordinator
+     * Stays true after run() returns so the shutdown-hook report flush is skipped too
+     *
+     * @return true once WorkQueueWorker.run() has started
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Register with the coordinator and run tests until the queue is empty
+     *
+     * @return Number of tests this worker ran
+     * @throws IOException if the coordinator cannot be reached
+     */
+    public int run() throws IOException {
+        Map<String, Object> hello = new LinkedHashMap<>();
+        hello.put("pid", ProcessHandle.current().pid()); // lets the coordinator stop us if we hang
+        Map<String, Object> registration = post("/register", hello);
+        String workerId = String.valueOf(registration.get("worker"));
+        String browser = TestDataManager.getBrowserType();
+        WebDriverPool pool = new WebDriverPool(browser,
+                ConfigReader.getIntProperty("workqueue.sessions.per.worker", 1), ConfigReader.isHeadless());
+        active = true;
+        int executed = 0;
+        try {
+            Thread.currentThread().setName("worker-" + workerId);
+            WebDriverFactory.bindPool(pool);
+            System.out.println("=== Worker " + workerId + " started (" + browser + ") ===");
+            Launcher launcher = LauncherFactory.create();
+            Map<String, Object> work;
+            while ((work = post("/next?worker=" + workerId, new LinkedHashMap<>())) != null) {
+                String uniqueId = String.valueOf(work.get("id"));
+                ResultCollector collector = new ResultCollector();
+                launcher.execute(LauncherDiscoveryRequestBuilder.request().selectors(selectUniqueId(uniqueId)).build(),
+                        collector);
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("id", uniqueId);
+                report.put("results", collector.getResults(uniqueId, String.valueOf(work.get("name"))));
+                post("/result?worker=" + workerId, report);
+                executed++;
+            }
+        } finally {
+            WebDriverFactory.bindPool(null);
+            pool.shutdown();
+            RunTracer.writeTrace();
+            FlightRecorderEvents.stopRecording();
+        }
+        System.out.println("=== Worker " + workerId + " done: " + executed + " test(s) ===");
+        return executed;
+    }
+
+    /**
+     * Collects the results of the test being run
+     */
+    private static class ResultCollector implements TestExecutionListener {
+        private final List<Map<String, Object>> results = new ArrayList<>();
+        private final Map<String, Long> startTimes = new LinkedHashMap<>();
+
+        @Override
+        public void executionStarted(TestIdentifier testIdentifier) {
+            if (testIdentifier.isTest()) {
+                startTimes.put(testIdentifier.getUniqueId(), System.currentTimeMillis());
+            }
+        }
+
+        @Override
+        public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+            if (testIdentifier.isTest()) {
+                results.add(result(testIdentifier, "SKIP", System.currentTimeMillis(), reason));
+            }
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+            if (!testIdentifier.isTest() || FlakyTestRetryExtension.isRetriedAttempt(testExecutionResult)) {
+                return;
+            }
+            String status = testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL ? "PASS"
+                    : testExecutionResult.getStatus() == TestExecutionResult.Status.ABORTED ? "SKIP" : "FAIL";
+            String message = testExecutionResult.getThrowable()
+                    .map(t -> t.getClass().getSimpleName() + ": " + t.getMessage()).orElse(null);
+            results.add(result(testIdentifier, status,
+                    startTimes.getOrDefault(testIdentifier.getUniqueId(), System.currentTimeMillis()), message));
+        }
+
+        private static Map<String, Object> result(TestIdentifier testIdentifier, String status, long startedAt, String message) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", testIdentifier.getUniqueId());
+            result.put("name", testIdentifier.getSource()
+                    .filter(MethodSource.class::isInstance)
+                    .map(source -> ((MethodSource) source).getJavaClass().getSimpleName() + " - ")
+                    .orElse("") + testIdentifier.getDisplayName());
+            result.put("status", status);
+            result.put("startedAt", startedAt);
+            result.put("durationMs", System.currentTimeMillis() - startedAt);
+            result.put("message", message);
+            return result;
+        }
+
+        // A work item may hold several tests (parameterized methods); one filtered out
+        // on this worker (e.g. quarantined) still needs a result
+        List<Map<String, Object>> getResults(String uniqueId, String name) {
+            if (results.isEmpty()) {
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("id", uniqueId);
+                result.put("name", name);
+                result.put("status", "SKIP");
+                result.put("startedAt", System.currentTimeMillis());
+                result.put("durationMs", 0);
+                result.put("message", "Not executed on worker (filtered out)");
+                results.add(result);
+            }
+            return results;
+        }
+    }
+
+    // POST JSON; returns the response object, or null for 204 No Content
+    private Map<String, Object> post(String path, Map<String, Object> body) throws IOException {
+        Request request = new Request.Builder()
+                .url(coordinatorUrl + path)
+                .post(RequestBody.create(JSON.toJson(body), JSON_TYPE))
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            if (response.code() == 204) {
+                return null;
+            }
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Coordinator answered " + response.code() + " for " + path);
+            }
+            return JSON.toType(response.body().string(), Json.MAP_TYPE);
+        }
+    }
+
+    /**
+     * Entry point for worker JVMs
+     * Exits with status 1 if the coordinator could not be reached
+     */
+    public static void main(String[] args) {
+        // The coordinator serves live progress for the whole run
+        System.setProperty("live.server.enabled", "false");
+        try {
+            new WorkQueueWorker(ConfigReader.getOverridableProperty("workqueue.coordinator.url", "http://localhost:7070")).run();
+            System.exit(0);
+        } catch (IOException e) {
+            System.err.println("✗ Worker lost its coordinator: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
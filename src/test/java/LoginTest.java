@@ -1,16 +1,18 @@
 package com.example.tests;
 
-import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.*;
 import com.example.base.BaseClass;
 import com.example.pages.Login;
 import com.example.utils.TestDataManager;
 import com.example.utils.ExtentReportListener;
+import com.example.utils.RiskBasedOrderer;
+import com.example.utils.RetryingTest;
+import com.example.utils.TestImpactSelector;
+import com.example.utils.ResourceWatchdogExtension;
 import static com.example.utils.Tags.*;
 
 /**
@@ -27,12 +29,15 @@ import static com.example.utils.Tags.*;
  * 5. testLoginWithEmptyCredentials - Test edge case
  * 
  * Tests are ordered to verify basic functionality first, then proceed to login tests
+ * RiskBasedOrderer moves P0 and recently failing tests ahead; @Order breaks ties
  */
 @ExtendWith(ExtentReportListener.class)
+@ExtendWith(TestImpactSelector.class)
+@ExtendWith(ResourceWatchdogExtension.class)
 @Tag(REGRESSION)
 @Tag(LOGIN)
 @Tag(UI)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(RiskBasedOrderer.class)
 public class LoginTest extends BaseClass {
 
     /**
@@ -43,7 +48,7 @@ public class LoginTest extends BaseClass {
      */
     @Tag(SMOKE)
     @Tag(P0)
-    @Test
+    @RetryingTest
     @Order(1)
     public void testLoginPageTitle() {
         // Launch the browser with URL from test data manager
@@ -77,7 +82,7 @@ public class LoginTest extends BaseClass {
 
     @Tag(SMOKE)
     @Tag(P0)
-    @Test
+    @RetryingTest
     @Order(2)
     public void testLoginPageURL() {
         // Launch the browser with URL from test data manager
@@ -111,7 +116,7 @@ public class LoginTest extends BaseClass {
     @Tag(SMOKE)
     @Tag(POSITIVE)
     @Tag(P0)
-    @Test
+    @RetryingTest
     @Order(3)
     public void testLoginWithValidCredentials() {
         // Launch the browser with URL from test data manager
@@ -147,7 +152,7 @@ public class LoginTest extends BaseClass {
     @Tag(REGRESSION)
     @Tag(NEGATIVE)
     @Tag(P1)
-    @Test
+    @RetryingTest
     @Order(4)
     public void testLoginWithInvalidCredentials() {
         // Launch the browser with URL from test data manager
@@ -183,7 +188,7 @@ public class LoginTest extends BaseClass {
     @Tag(REGRESSION)
     @Tag(EDGE_CASE)
     @Tag(P2)
-    @Test
+    @RetryingTest
     @Order(5)
     public void testLoginWithEmptyCredentials() {
         // Launch the browser with URL from test data manager
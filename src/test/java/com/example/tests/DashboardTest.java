@@ -1,10 +1,8 @@
 package com.example.tests;
 
-import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.junit.jupiter.api.Assertions.*;
@@ -14,6 +12,10 @@ import com.example.pages.Login;
 import com.example.pages.Dashboard;
 import com.example.utils.TestDataManager;
 import com.example.utils.ExtentReportListener;
+import com.example.utils.RiskBasedOrderer;
+import com.example.utils.RetryingTest;
+import com.example.utils.TestImpactSelector;
+import com.example.utils.ResourceWatchdogExtension;
 import static com.example.utils.Tags.*;
 
 /**
@@ -30,13 +32,16 @@ import static com.example.utils.Tags.*;
  * 5. testLoginWithEmptyCredentials - Test edge case
  * 
  * Tests are ordered to verify basic functionality first, then proceed to login tests
+ * RiskBasedOrderer moves P0 and recently failing tests ahead; @Order breaks ties
  */
 @ExtendWith(ExtentReportListener.class)
+@ExtendWith(TestImpactSelector.class)
+@ExtendWith(ResourceWatchdogExtension.class)
 @Tag(REGRESSION)
 @Tag(DASHBOARD)
 @Tag(UI)
 @Tag(NAVIGATION)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestMethodOrder(RiskBasedOrderer.class)
 public class DashboardTest extends BaseClass {
 
     private Login loginPage;
@@ -60,7 +65,7 @@ public class DashboardTest extends BaseClass {
      */
     @Tag(SMOKE)
     @Tag(P0)
-    @Test
+    @RetryingTest
     @Order(1)
     public void testDashboardMenus() {
         System.out.println("\n=== Test Priority: 1 - Verify Dashboard Menu ===");
@@ -0,0 +1,135 @@
+package com.example.tests;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.example.utils.ElementCache;
+import com.example.utils.ExtentReportListener;
+import static com.example.utils.Tags.*;
+
+/**
+ * Element Cache Test
+ * Runs ElementCache against a fake driver that counts getCurrentUrl calls and hands out
+ * elements that go stale when the fake page re-renders
+ */
+@ExtendWith(ExtentReportListener.class)
+@Tag(INTEGRATION)
+public class ElementCacheTest {
+
+    private static final By USERNAME = By.id("username");
+    private static final By PASSWORD = By.id("password");
+
+    private final AtomicInteger urlReads = new AtomicInteger();
+    private String currentUrl;
+    private int generation;
+    private ElementCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        currentUrl = "http://localhost/practice-test-login/";
+        generation = 0;
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {WebDriver.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getCurrentUrl":
+                            urlReads.incrementAndGet();
+                            return currentUrl;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "fake driver";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        cache = new ElementCache(driver);
+    }
+
+    // Element of the current page render; any use after a re-render is stale
+    private WebElement element() {
+        int renderedIn = generation;
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "element rendered in " + renderedIn;
+                        default:
+                            if (renderedIn != generation) {
+                                throw new StaleElementReferenceException("element is not attached to the page document");
+                            }
+                            return true; // isDisplayed / isEnabled
+                    }
+                });
+    }
+
+    @Tag(P2)
+    @Test
+    public void testCachedElementIsReused() {
+        assertNull(cache.lookup(USERNAME, WebElement::isDisplayed), "Nothing cached yet");
+        WebElement username = element();
+        cache.put(USERNAME, username);
+
+        assertSame(username, cache.lookup(USERNAME, WebElement::isDisplayed));
+        assertSame(username, cache.lookup(USERNAME, element -> element.isDisplayed() && element.isEnabled()));
+        assertNull(cache.lookup(PASSWORD, WebElement::isDisplayed), "Other locators are not affected");
+        assertEquals(1, urlReads.get(), "URL is read once when the first element is cached, not per lookup");
+    }
+
+    @Tag(P2)
+    @Test
+    public void testStaleElementIsDroppedAndFoundAgain() {
+        cache.put(USERNAME, element());
+        generation++; // page re-rendered
+
+        assertNull(cache.lookup(USERNAME, WebElement::isDisplayed), "Stale handle must not be returned");
+        WebElement refound = element();
+        cache.put(USERNAME, refound);
+        assertSame(refound, cache.lookup(USERNAME, WebElement::isDisplayed));
+
+        // Stale during the action itself: BasePage evicts it and finds the element again
+        generation++;
+        cache.evictStale(USERNAME);
+        assertNull(cache.lookup(USERNAME, element -> true));
+    }
+
+    @Tag(P2)
+    @Test
+    public void testUrlChangeAfterClickInvalidatesCache() {
+        WebElement username = element();
+        cache.put(USERNAME, username);
+        cache.put(PASSWORD, element());
+
+        // Click that stays on the page: URL compared once, cache kept
+        cache.navigationPossible();
+        assertSame(username, cache.lookup(USERNAME, WebElement::isDisplayed));
+        assertSame(username, cache.lookup(USERNAME, WebElement::isDisplayed));
+        assertEquals(2, urlReads.get(), "One read on put, one after the click");
+
+        // Click that navigates: everything cached for the old page is dropped
+        cache.navigationPossible();
+        currentUrl = "http://localhost/logged-in-successfully/";
+        assertNull(cache.lookup(USERNAME, WebElement::isDisplayed));
+        assertNull(cache.lookup(PASSWORD, WebElement::isDisplayed));
+        assertEquals(3, urlReads.get());
+
+        // Elements cached on the new page are compared against the new URL
+        WebElement logout = element();
+        cache.put(By.linkText("Log out"), logout);
+        cache.navigationPossible();
+        assertSame(logout, cache.lookup(By.linkText("Log out"), WebElement::isDisplayed));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.tests;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import static org.junit.jupiter.api.Assertions.*;
+import com.example.pages.Login;
+import com.example.utils.ExtentReportListener;
+import com.example.utils.GridSessionFactory;
+import com.example.utils.TestDataManager;
+import com.example.utils.WebDriverFactory;
+import static com.example.utils.Tags.*;
+
+/**
+ * Grid Remote Driver Test
+ * Verifies remote mode against Selenium Grid booted in-process (GridStandaloneServer)
+ * and the local LoginStubServer
+ */
+@ExtendWith(ExtentReportListener.class)
+@Tag(INTEGRATION)
+@Tag(LOGIN)
+public class GridRemoteDriverTest {
+
+    private static LoginStubServer server;
+    private static String gridUrl;
+
+    @BeforeAll
+    public static void startGrid() throws Exception {
+        server = LoginStubServer.start();
+        gridUrl = GridStandaloneServer.start();
+        System.setProperty("execution.mode", "remote");
+        System.setProperty("grid.urls", gridUrl);
+        System.setProperty("grid.retry.backoff.ms", "200");
+    }
+
+    @AfterAll
+    public static void restoreLocalMode() {
+        System.clearProperty("execution.mode");
+        System.clearProperty("grid.urls");
+        System.clearProperty("grid.retry.backoff.ms");
+        server.stop();
+    }
+
+    @Tag(P2)
+    @Test
+    public void testHubSelectionSkipsUnreachableHub() {
+        String browserName = "firefox".equals(TestDataManager.getBrowserType()) ? "firefox" : "chrome";
+        assertTrue(GridSessionFactory.countFreeSlots(gridUrl, browserName) >= 0, "In-process Grid should be ready");
+        assertEquals(-1, GridSessionFactory.countFreeSlots("http://127.0.0.1:1", browserName),
+                "Unreachable hub should report no capacity");
+
+        System.setProperty("grid.urls", "http://127.0.0.1:1," + gridUrl);
+        try {
+            assertEquals(gridUrl, GridSessionFactory.selectHub(browserName), "Session should go to the reachable hub");
+            assertEquals(gridUrl, GridSessionFactory.selectHub(browserName), "Selection should not alternate onto a dead hub");
+        } finally {
+            System.setProperty("grid.urls", gridUrl);
+        }
+    }
+
+    @Tag(P1)
+    @Test
+    public void testRemoteLoginOnInProcessGrid() {
+        WebDriver driver = WebDriverFactory.createDriver(TestDataManager.getBrowserType(), true);
+        try {
+            assertTrue(driver instanceof RemoteWebDriver, "Remote mode should create a RemoteWebDriver");
+            driver.get(server.getUrl());
+            Login login = new Login(driver);
+            login.login(TestDataManager.getValidUsername(), TestDataManager.getValidPassword());
+            assertTrue(login.isLoginSuccessful(), "Login through the Grid session should succeed");
+            assertNotNull(GridSessionFactory.getSummary(), "Grid session statistics should be recorded");
+        } finally {
+            driver.quit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.tests;
+
+import com.example.utils.GridSessionFactory;
+import org.openqa.selenium.grid.Main;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * Grid Standalone Server
+ * Boots Selenium Grid in standalone mode (hub and node in one) inside the test JVM
+ * on a free localhost port, so remote mode can be verified without outside services
+ * The node detects browsers installed on this machine
+ *
+ * Grid has no stop API when embedded; the server lives until the test JVM exits,
+ * so it is started once and shared
+ *
+ * Usage:
+ *   String gridUrl = GridStandaloneServer.start();
+ */
+public class GridStandaloneServer {
+
+    private static String url;
+
+    /**
+     * Start the Grid once per JVM and wait until it reports ready
+     *
+     * @return Grid URL (http://127.0.0.1:{port})
+     * @throws Exception if the Grid does not become ready within 60 seconds
+     */
+    public static synchronized String start() throws Exception {
+        if (url != null) {
+            return url;
+        }
+        int port = findFreePort();
+        Main.main(new String[] {"standalone", "--host", "127.0.0.1", "--port", String.valueOf(port)});
+        String gridUrl = "http://127.0.0.1:" + port;
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (GridSessionFactory.countFreeSlots(gridUrl, "chrome") < 0
+                && GridSessionFactory.countFreeSlots(gridUrl, "firefox") < 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Selenium Grid did not become ready at " + gridUrl);
+            }
+            Thread.sleep(250);
+        }
+        System.out.println("✓ Selenium Grid standalone ready at " + gridUrl);
+        url = gridUrl;
+        return url;
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import com.example.utils.ExtentReportListener;
+import com.example.utils.LoadTestResult;
+import com.example.utils.LoadTestRunner;
+import com.example.utils.TestDataManager;
+import static com.example.utils.Tags.*;
+
+/**
+ * Load Test Runner Test
+ * Drives a short multi-user load run against the local LoginStubServer
+ * Verifies samples, percentiles and the time-series output file
+ */
+@ExtendWith(ExtentReportListener.class)
+@Tag(PERFORMANCE)
+@Tag(LOGIN)
+@Tag(SLOW)
+public class LoadTestRunnerTest {
+
+    private LoginStubServer server;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = LoginStubServer.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Tag(P2)
+    @Test
+    public void testConcurrentLoginLoadAgainstStubServer() throws Exception {
+        LoadTestRunner runner = new LoadTestRunner(server.getUrl(), TestDataManager.getBrowserType(),
+                2, 8000, 2000, 2000, 200);
+
+        LoadTestResult result = runner.run();
+        System.out.println(result.getSummary());
+
+        assertTrue(result.getTotalCount() > 0, "Load run should record login samples");
+        assertEquals(0, result.getErrorCount(), "All logins against the stub server should succeed");
+        assertTrue(result.getPercentile(50) <= result.getPercentile(95), "p50 should not exceed p95");
+        assertTrue(result.getPercentile(95) <= result.getPercentile(99), "p95 should not exceed p99");
+
+        File csv = new File("target/load-test-stub.csv");
+        result.writeTimeSeries(csv.getPath());
+        assertTrue(csv.length() > 0, "Time series file should be written");
+    }
+}
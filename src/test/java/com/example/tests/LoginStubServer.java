@@ -0,0 +1,121 @@
+package com.example.tests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.example.utils.TestDataManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Login Stub Server
+ * Local stand-in for the practice login application
+ * Serves a login form with the same locators as config.properties (id:username,
+ * id:password, id:submit, className:post-title, id:error) so framework features
+ * can be verified on localhost without outside services
+ *
+ * Usage:
+ *   LoginStubServer server = LoginStubServer.start();
+ *   String url = server.getUrl();
+ *   ...
+ *   server.stop();
+ */
+public class LoginStubServer {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private LoginStubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Start the stub server on a free localhost port
+     *
+     * @return Running server
+     * @throws IOException if the port cannot be bound
+     */
+    public static LoginStubServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", LoginStubServer::handle);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.start();
+        return new LoginStubServer(server, executor);
+    }
+
+    /**
+     * Get URL of the login page
+     *
+     * @return http://127.0.0.1:{port}/practice-test-login/
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/practice-test-login/";
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String html;
+        if ("POST".equals(exchange.getRequestMethod())) {
+            Map<String, String> form = parseForm(exchange.getRequestBody());
+            boolean valid = TestDataManager.getValidUsername().equals(form.get("username"))
+                    && TestDataManager.getValidPassword().equals(form.get("password"));
+            html = valid ? dashboardPage() : loginPage("<div id=\"error\" class=\"show\">Your username is invalid!</div>");
+        } else {
+            html = loginPage("");
+        }
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String loginPage(String error) {
+        return "<!DOCTYPE html><html><head><title>Test Login | Practice Test Automation</title></head><body>"
+                + "<form method=\"post\">"
+                + "<input id=\"username\" name=\"username\" type=\"text\">"
+                + "<input id=\"password\" name=\"password\" type=\"password\">"
+                + "<button id=\"submit\" type=\"submit\">Submit</button>"
+                + "</form>" + error + "</body></html>";
+    }
+
+    private static String dashboardPage() {
+        return "<!DOCTYPE html><html><head><title>Logged In Successfully | Practice Test Automation</title></head><body>"
+                + "<ul id=\"menu-primary-items\"><li><a href=\"#\">Home</a></li><li><a href=\"#\">Practice</a></li>"
+                + "<li><a href=\"#\">Courses</a></li><li><a href=\"#\">Blog</a></li><li><a href=\"#\">Contact</a></li></ul>"
+                + "<h1 class=\"post-title\">Logged In Successfully</h1></body></html>";
+    }
+
+    private static Map<String, String> parseForm(InputStream in) throws IOException {
+        java.io.ByteArrayOutputStream buffer = new java.io.ByteArrayOutputStream();
+        byte[] chunk = new byte[1024];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        String body = new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2) {
+                form.put(URLDecoder.decode(parts[0], "UTF-8"), URLDecoder.decode(parts[1], "UTF-8"));
+            }
+        }
+        return form;
+    }
+}
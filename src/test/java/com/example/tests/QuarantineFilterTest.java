@@ -0,0 +1,55 @@
+package com.example.tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.junit.jupiter.api.Assertions.*;
+import com.example.utils.ExtentReportListener;
+import com.example.utils.QuarantineFilter;
+import static com.example.utils.Tags.*;
+
+/**
+ * Quarantine Filter Test
+ * Checks which -DincludeTags expressions switch quarantine off: only those that select wip
+ */
+@ExtendWith(ExtentReportListener.class)
+@Tag(INTEGRATION)
+public class QuarantineFilterTest {
+
+    private final String previousIncludeTags = System.getProperty("includeTags");
+
+    @AfterEach
+    public void restoreIncludeTags() {
+        if (previousIncludeTags == null) {
+            System.clearProperty("includeTags");
+        } else {
+            System.setProperty("includeTags", previousIncludeTags);
+        }
+    }
+
+    private static boolean quarantineActiveFor(String includeTags) {
+        System.setProperty("includeTags", includeTags);
+        return QuarantineFilter.isQuarantineActive();
+    }
+
+    @Tag(P2)
+    @Test
+    public void testExcludingWipKeepsQuarantine() {
+        assertTrue(quarantineActiveFor(""));
+        assertTrue(quarantineActiveFor("smoke"));
+        assertTrue(quarantineActiveFor("smoke & !wip"));
+        assertTrue(quarantineActiveFor("!wip"));
+        assertTrue(quarantineActiveFor("(smoke | sanity) & !(wip | slow)"));
+    }
+
+    @Tag(P2)
+    @Test
+    public void testSelectingWipDisablesQuarantine() {
+        assertFalse(quarantineActiveFor("wip"));
+        assertFalse(quarantineActiveFor("WIP"));
+        assertFalse(quarantineActiveFor("smoke | wip"));
+        assertFalse(quarantineActiveFor("smoke, wip"));
+        assertFalse(quarantineActiveFor("!!wip"));
+    }
+}
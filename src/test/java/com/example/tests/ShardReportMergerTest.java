@@ -0,0 +1,82 @@
+package com.example.tests;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import com.example.utils.ExtentReportListener;
+import com.example.utils.ShardReportMerger;
+import static com.example.utils.Tags.*;
+
+/**
+ * Shard Report Merger Test
+ * Merges two synthetic shards (surefire XML, one with a TestResults file)
+ * and verifies counts, critical path and the merged report
+ */
+@ExtendWith(ExtentReportListener.class)
+@Tag(INTEGRATION)
+public class ShardReportMergerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Tag(P2)
+    @Test
+    public void testMergeCountsTestsAndFindsCriticalPath() throws Exception {
+        Path shard1 = Files.createDirectories(tempDir.resolve("shard-1/target/surefire-reports"));
+        Files.write(shard1.resolve("TEST-com.example.tests.LoginTest.xml"), (
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<testsuite name=\"com.example.tests.LoginTest\" time=\"4.5\" tests=\"3\" errors=\"1\" skipped=\"0\" failures=\"1\">\n"
+                + "  <properties><property name=\"env\" value=\"dev\"/></properties>\n"
+                + "  <testcase name=\"testValidLogin\" classname=\"com.example.tests.LoginTest\" time=\"1.5\"/>\n"
+                + "  <testcase name=\"testInvalidLogin\" classname=\"com.example.tests.LoginTest\" time=\"2\">\n"
+                + "    <failure message=\"expected error message\" type=\"AssertionFailedError\">stack trace</failure>\n"
+                + "    <system-out>lots of output</system-out>\n"
+                + "  </testcase>\n"
+                + "  <testcase name=\"testLogout\" classname=\"com.example.tests.LoginTest\" time=\"1\">\n"
+                + "    <error message=\"no such element\" type=\"NoSuchElementException\"/>\n"
+                + "  </testcase>\n"
+                + "</testsuite>\n").getBytes("UTF-8"));
+        // Shard 1 ran from 10:00:00 to 10:00:30 (setup and browser start included)
+        Path reports1 = Files.createDirectories(tempDir.resolve("shard-1/test-reports"));
+        Files.write(reports1.resolve("TestResults_2026-01-01_10-00-30.tsv"), (
+                "# testName\tstatus\texecutionTimeMs\tstartTime\tendTime\n"
+                + "LoginTest - testValidLogin()\tPASS\t1500\t10:00:00\t10:00:10\n"
+                + "LoginTest - testLogout()\tFAIL\t1000\t10:00:20\t10:00:30\n").getBytes("UTF-8"));
+
+        Path shard2 = Files.createDirectories(tempDir.resolve("shard-2"));
+        Files.write(shard2.resolve("TEST-com.example.tests.DashboardTest.xml"), (
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<testsuite name=\"com.example.tests.DashboardTest\" time=\"12\" tests=\"2\" errors=\"0\" skipped=\"1\" failures=\"0\">\n"
+                + "  <testcase name=\"testDashboard\" classname=\"com.example.tests.DashboardTest\" time=\"12\"/>\n"
+                + "  <testcase name=\"testWidgets\" classname=\"com.example.tests.DashboardTest\" time=\"0\">\n"
+                + "    <skipped message=\"Cached\"/>\n"
+                + "  </testcase>\n"
+                + "</testsuite>\n").getBytes("UTF-8"));
+
+        Path reportDir = tempDir.resolve("merged");
+        ShardReportMerger.Summary summary = new ShardReportMerger()
+                .merge(Arrays.asList(tempDir.resolve("shard-1"), tempDir.resolve("shard-2")), reportDir);
+
+        assertEquals(5, summary.total);
+        assertEquals(2, summary.passed);
+        assertEquals(1, summary.failed);
+        assertEquals(1, summary.errors);
+        assertEquals(1, summary.skipped);
+        assertEquals(16_500, summary.totalTestMs);
+        assertEquals(30_000L, summary.shardWallMs.get("shard-1"), "Wall time from the TestResults file");
+        assertEquals(12_000L, summary.shardWallMs.get("shard-2"), "Summed test time without a TestResults file");
+        assertEquals("shard-1", summary.criticalShard);
+        assertEquals(30_000, summary.criticalPathMs);
+        assertTrue(summary.slowestTests.get(0).startsWith("DashboardTest - testDashboard"), summary.slowestTests.toString());
+        assertTrue(new File(summary.reportFile).exists(), "Merged report written: " + summary.reportFile);
+        assertTrue(summary.reportFile.startsWith(reportDir.toString()), summary.reportFile);
+        String[] written = reportDir.toFile().list((dir, name) -> name.endsWith(".html") || name.endsWith(".tsv"));
+        assertEquals(3, written.length, "Merged, Detailed and TestResults files in the output directory: " + Arrays.toString(written));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.tests;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.List;
+import com.example.utils.ExtentReportListener;
+import com.example.utils.TagExpression;
+import static com.example.utils.Tags.*;
+
+/**
+ * Tag Expression Test
+ * Compiles -DincludeTags style expressions against a fixed tag bit order
+ * and checks them against hand-built tag bitmasks
+ */
+@ExtendWith(ExtentReportListener.class)
+@Tag(INTEGRATION)
+public class TagExpressionTest {
+
+    // bit 0: smoke, bit 1: sanity, bit 2: p0, bit 3: slow, bit 4: wip
+    private static final List<String> TAG_NAMES = Arrays.asList(SMOKE, SANITY, P0, SLOW, WIP);
+
+    private static final long NO_TAGS = 0;
+    private static final long SMOKE_BIT = 1;
+    private static final long SANITY_BIT = 1 << 1;
+    private static final long P0_BIT = 1 << 2;
+    private static final long SLOW_BIT = 1 << 3;
+    private static final long WIP_BIT = 1 << 4;
+
+    private static boolean matches(String expression, long bits) {
+        return TagExpression.compile(expression, TAG_NAMES).matches(bits);
+    }
+
+    @Tag(P2)
+    @Test
+    public void testAndBindsTighterThanOr() {
+        // smoke | (sanity & p0), not (smoke | sanity) & p0
+        assertTrue(matches("smoke | sanity & p0", SMOKE_BIT));
+        assertTrue(matches("smoke | sanity & p0", SANITY_BIT | P0_BIT));
+        assertFalse(matches("smoke | sanity & p0", SANITY_BIT));
+        assertTrue(matches("sanity & p0 | smoke", SMOKE_BIT));
+        assertTrue(matches("smoke, sanity", SANITY_BIT));
+    }
+
+    @Tag(P2)
+    @Test
+    public void testNotAndParentheses() {
+        assertTrue(matches("!slow", SMOKE_BIT));
+        assertFalse(matches("!slow", SMOKE_BIT | SLOW_BIT));
+        assertTrue(matches("!!slow", SLOW_BIT));
+        assertTrue(matches("smoke & !slow", SMOKE_BIT));
+        assertFalse(matches("smoke & !slow", SMOKE_BIT | SLOW_BIT));
+
+        assertFalse(matches("(smoke | sanity) & p0", SMOKE_BIT));
+        assertTrue(matches("(smoke | sanity) & p0", SANITY_BIT | P0_BIT));
+        assertTrue(matches("(smoke | sanity) & !wip", SMOKE_BIT));
+        assertFalse(matches("(smoke | sanity) & !wip", SMOKE_BIT | WIP_BIT));
+        assertTrue(matches("!(slow | wip)", P0_BIT));
+        assertFalse(matches("!(slow | wip)", WIP_BIT));
+    }
+
+    @Tag(P2)
+    @Test
+    public void testAnyAndNone() {
+        assertTrue(matches("any()", P0_BIT));
+        assertFalse(matches("any()", NO_TAGS));
+        assertTrue(matches("none()", NO_TAGS));
+        assertFalse(matches("none()", SMOKE_BIT));
+        assertTrue(matches("none() | smoke", SMOKE_BIT));
+        assertTrue(matches("SMOKE", SMOKE_BIT), "tag names are case-insensitive");
+    }
+
+    @Tag(P2)
+    @Test
+    public void testSelectsTagOnlyOutsideNegation() {
+        assertTrue(TagExpression.compile("wip", TAG_NAMES).selectsTag(WIP));
+        assertTrue(TagExpression.compile("smoke | (p0 & wip)", TAG_NAMES).selectsTag(WIP));
+        assertTrue(TagExpression.compile("!(!wip)", TAG_NAMES).selectsTag(WIP));
+        assertFalse(TagExpression.compile("smoke & !wip", TAG_NAMES).selectsTag(WIP));
+        assertFalse(TagExpression.compile("!(slow | wip)", TAG_NAMES).selectsTag(WIP));
+        assertFalse(TagExpression.compile("smoke", TAG_NAMES).selectsTag(WIP));
+    }
+
+    @Tag(P2)
+    @Test
+    public void testRejectsUnknownTagsAndSyntaxErrors() {
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> TagExpression.compile("smoke & smokey", TAG_NAMES));
+        assertTrue(unknown.getMessage().contains("Unknown tag 'smokey'"), unknown.getMessage());
+        assertTrue(unknown.getMessage().contains("known tags: smoke, sanity"), unknown.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.compile("(smoke | sanity", TAG_NAMES));
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.compile("smoke &", TAG_NAMES));
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.compile("smoke)", TAG_NAMES));
+        assertThrows(IllegalArgumentException.class, () -> TagExpression.compile("", TAG_NAMES));
+    }
+}
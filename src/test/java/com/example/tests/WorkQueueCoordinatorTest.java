@@ -0,0 +1,74 @@
+package com.example.tests;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import com.example.utils.ExtentReportListener;
+import com.example.utils.WorkQueueCoordinator;
+import static com.example.utils.Tags.*;
+
+/**
+ * Work Queue Coordinator Test
+ * Runs a small distributed run on this machine: the coordinator in the test JVM
+ * and two spawned WorkQueueWorker JVMs pulling the stub tests below from it
+ * Reports go to a temporary directory and nothing is posted to Slack
+ */
+@ExtendWith(ExtentReportListener.class)
+@Tag(INTEGRATION)
+@Tag(SLOW)
+public class WorkQueueCoordinatorTest {
+
+    /**
+     * Payload of the distributed run: no browser, no report of its own
+     * Nested, so surefire does not run it on its own
+     */
+    @Tag(INTEGRATION)
+    public static class PayloadA {
+        @Test
+        public void testFirst() {
+        }
+
+        @Test
+        public void testSecond() {
+        }
+    }
+
+    @Tag(INTEGRATION)
+    public static class PayloadB {
+        @Test
+        public void testThird() {
+        }
+    }
+
+    @Tag(P2)
+    @Test
+    public void testWorkersDrainQueueAndReportEveryTest(@TempDir Path reportDir) throws Exception {
+        WorkQueueCoordinator coordinator = new WorkQueueCoordinator(LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(PayloadA.class), selectClass(PayloadB.class))
+                .build(), 2);
+
+        List<Map<String, Object>> results = coordinator.run(0, 2, reportDir.toString(), false);
+
+        List<String> names = results.stream().map(result -> String.valueOf(result.get("name"))).collect(Collectors.toList());
+        assertEquals(3, results.size(), "One result per discovered test: " + names);
+        assertTrue(names.contains("PayloadB - testThird()"), names.toString());
+        for (Map<String, Object> result : results) {
+            assertEquals("PASS", result.get("status"), "Stub test did not pass on its worker: " + result);
+            assertNotEquals("-", result.get("worker"), "Test was never handed to a worker: " + result);
+        }
+        assertTrue(coordinator.getSummary().contains("Tests per worker {0="), coordinator.getSummary());
+
+        String[] reports = reportDir.toFile().list((dir, name) -> name.endsWith(".html"));
+        assertEquals(2, reports.length, "Combined and Detailed report in the output directory");
+        assertTrue(new File(reportDir.toFile(), "workers/worker-0.log").exists(), "Worker logs in the output directory");
+    }
+}